@@ -0,0 +1,63 @@
+package org.verapdf.wcag.algorithms.semanticalgorithms;
+
+import org.openjdk.jmh.annotations.*;
+import org.verapdf.wcag.algorithms.entities.IDocument;
+import org.verapdf.wcag.algorithms.entities.JsonToPdfTree;
+import org.verapdf.wcag.algorithms.semanticalgorithms.AccumulatedNodeSemanticChecker.Step;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.StaticContainers;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ValidationContext;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each step of {@link AccumulatedNodeSemanticChecker#checkSemanticDocument} separately.
+ * Every invocation loads a fresh document and runs all previous steps on it, so only the selected step
+ * is measured. The contrast ratio step needs the source pdf file and does nothing here. Run with {@code mvn -Pjmh test-compile exec:exec}, JMH options may be passed
+ * in {@code -Djmh.args="..."}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SemanticCheckerStageBenchmark {
+
+	@Param({"/files/tables/TLC2-Tables.json",
+	        "/files/tables/PDFUA-Ref-2-05_BookChapter-german.json",
+	        "/files/lists/PDFUA-Ref-2-03_AcademicAbstract.json",
+	        "/files/paragraphs/lwg_footnote.json",
+	        "/files/TOC/libra_table_of_content.json"})
+	public String fileName;
+
+	@Param
+	public Step stage;
+
+	private final AccumulatedNodeSemanticChecker checker = new AccumulatedNodeSemanticChecker();
+	private ValidationContext context;
+
+	@Setup(Level.Invocation)
+	public void setUp() throws IOException {
+		IDocument document = JsonToPdfTree.getDocument(fileName);
+		context = new ValidationContext(document);
+		StaticContainers.setContext(context);
+		for (Step previousStep : Step.values()) {
+			if (previousStep == stage) {
+				break;
+			}
+			checker.runStep(previousStep, context);
+		}
+	}
+
+	@TearDown(Level.Invocation)
+	public void tearDown() {
+		StaticContainers.clearContext();
+	}
+
+	@Benchmark
+	public ValidationContext runStage() {
+		checker.runStep(stage, context);
+		return context;
+	}
+}
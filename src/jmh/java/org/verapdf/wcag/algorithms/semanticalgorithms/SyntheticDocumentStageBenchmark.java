@@ -0,0 +1,60 @@
+package org.verapdf.wcag.algorithms.semanticalgorithms;
+
+import org.openjdk.jmh.annotations.*;
+import org.verapdf.wcag.algorithms.entities.IDocument;
+import org.verapdf.wcag.algorithms.entities.SyntheticDocumentGenerator;
+import org.verapdf.wcag.algorithms.semanticalgorithms.AccumulatedNodeSemanticChecker.Step;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.StaticContainers;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ValidationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how each stage of the checker scales with the document size on synthetic documents.
+ * Large documents take long to prepare, so every iteration runs the selected stage once.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class SyntheticDocumentStageBenchmark {
+
+	private static final long SEED = 20211018L;
+
+	@Param({"10", "1000", "50000"})
+	public int pagesNumber;
+
+	@Param
+	public Step stage;
+
+	private final AccumulatedNodeSemanticChecker checker = new AccumulatedNodeSemanticChecker();
+	private ValidationContext context;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		SyntheticDocumentGenerator generator = new SyntheticDocumentGenerator(SEED);
+		generator.setPagesNumber(pagesNumber);
+		IDocument document = generator.generate();
+		context = new ValidationContext(document);
+		StaticContainers.setContext(context);
+		for (Step previousStep : Step.values()) {
+			if (previousStep == stage) {
+				break;
+			}
+			checker.runStep(previousStep, context);
+		}
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDown() {
+		StaticContainers.clearContext();
+	}
+
+	@Benchmark
+	public ValidationContext runStage() {
+		checker.runStep(stage, context);
+		return context;
+	}
+}
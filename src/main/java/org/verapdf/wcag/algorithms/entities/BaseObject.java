@@ -3,23 +3,25 @@ package org.verapdf.wcag.algorithms.entities;
 import org.verapdf.wcag.algorithms.entities.geometry.BoundingBox;
 import org.verapdf.wcag.algorithms.entities.geometry.MultiBoundingBox;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
 public class BaseObject implements IObject {
 
 	private BoundingBox boundingBox;
-	private final List<Integer> errorCodes;
-	private final List<List<Object>> errorArguments;
+	private List<Integer> errorCodes;
+	private List<List<Object>> errorArguments;
 	private Long recognizedStructureId = null;
 
 	public BaseObject(BoundingBox boundingBox) {
 		this.boundingBox = boundingBox;
-		this.errorCodes = new LinkedList<>();
-		this.errorArguments = new LinkedList<>();
 	}
 
+	/**
+	 * Error codes are added to the given lists, a null list is created on the first error code.
+	 */
 	public BaseObject(BoundingBox boundingBox, List<Integer> errorCodes, List<List<Object>> errorArguments) {
 		this.boundingBox = boundingBox;
 		this.errorCodes = errorCodes;
@@ -82,14 +84,59 @@ public class BaseObject implements IObject {
 
 	@Override
 	public List<Integer> getErrorCodes() {
+		createErrorCodes();
 		return errorCodes;
 	}
 
 	@Override
 	public List<List<Object>> getErrorArguments() {
+		createErrorCodes();
 		return errorArguments;
 	}
 
+	@Override
+	public int getErrorCodesNumber() {
+		return errorCodes != null ? errorCodes.size() : 0;
+	}
+
+	@Override
+	public boolean hasErrorCode(int errorCode) {
+		if (errorCodes instanceof ErrorCodesList) {
+			return ((ErrorCodesList) errorCodes).containsErrorCode(errorCode);
+		}
+		return errorCodes != null && errorCodes.contains(errorCode);
+	}
+
+	@Override
+	public void addErrorCode(int errorCode, List<Object> arguments) {
+		createErrorCodes();
+		errorCodes.add(errorCode);
+		errorArguments.add(arguments);
+	}
+
+	@Override
+	public void removeErrorCodesAfterIndex(int index) {
+		if (errorCodes != null && index < errorCodes.size()) {
+			errorCodes.subList(index, errorCodes.size()).clear();
+		}
+		if (errorArguments != null && index < errorArguments.size()) {
+			errorArguments.subList(index, errorArguments.size()).clear();
+		}
+	}
+
+	private void createErrorCodes() {
+		if (errorCodes == null) {
+			errorCodes = new ErrorCodesList();
+		}
+		if (errorArguments == null) {
+			errorArguments = new ArrayList<>(Math.max(errorCodes.size(), 1));
+			// codes of a given list without arguments
+			for (int i = 0; i < errorCodes.size(); i++) {
+				errorArguments.add(Collections.emptyList());
+			}
+		}
+	}
+
 	@Override
 	public Long getRecognizedStructureId() {
 		return recognizedStructureId;
@@ -2,48 +2,32 @@ package org.verapdf.wcag.algorithms.entities;
 
 import java.util.Iterator;
 
+/**
+ * Iterates over the tree nodes in post-order.
+ */
 public class DFSTreeNodeIterator implements Iterator<INode> {
 
-	private final INode root;
-	private int childIndex;
-	private DFSTreeNodeIterator innerCurrentIterator;
+	private final TreeNodeStack stack = new TreeNodeStack();
 
 	public DFSTreeNodeIterator(INode root) {
-		this.root = root;
-		this.childIndex = -1;
-		nextInnerIterator();
+		if (root != null) {
+			stack.push(root);
+		}
 	}
 
 	@Override
 	public boolean hasNext() {
-		return innerCurrentIterator != null;
+		return !stack.isEmpty();
 	}
 
 	@Override
 	public INode next() {
-		if (innerCurrentIterator == null) {
+		if (stack.isEmpty()) {
 			return null;
 		}
-		if (!innerCurrentIterator.hasNext()) {
-			nextInnerIterator();
-			if (!innerCurrentIterator.hasNext()) {
-				innerCurrentIterator = null;
-				return root;
-			}
-		}
-
-		return innerCurrentIterator.next();
-	}
-
-	private void nextInnerIterator() {
-		if (root == null) {
-			return;
-		}
-		++childIndex;
-		if (childIndex < root.getChildren().size()) {
-			innerCurrentIterator = new DFSTreeNodeIterator(root.getChildren().get(childIndex));
-		} else {
-			innerCurrentIterator = new DFSTreeNodeIterator(null);
+		for (INode child = stack.nextChild(); child != null; child = stack.nextChild()) {
+			stack.push(child);
 		}
+		return stack.pop();
 	}
 }
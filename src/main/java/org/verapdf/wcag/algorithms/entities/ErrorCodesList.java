@@ -0,0 +1,82 @@
+package org.verapdf.wcag.algorithms.entities;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * List of error codes backed by an int array.
+ */
+class ErrorCodesList extends AbstractList<Integer> implements RandomAccess {
+
+	private static final int INITIAL_CAPACITY = 2;
+
+	private int[] errorCodes = new int[INITIAL_CAPACITY];
+	private int size = 0;
+
+	@Override
+	public Integer get(int index) {
+		return getErrorCode(index);
+	}
+
+	public int getErrorCode(int index) {
+		checkIndex(index, size);
+		return errorCodes[index];
+	}
+
+	@Override
+	public Integer set(int index, Integer errorCode) {
+		int previous = getErrorCode(index);
+		errorCodes[index] = errorCode;
+		return previous;
+	}
+
+	@Override
+	public void add(int index, Integer errorCode) {
+		checkIndex(index, size + 1);
+		int code = errorCode;
+		if (size == errorCodes.length) {
+			errorCodes = Arrays.copyOf(errorCodes, 2 * size);
+		}
+		System.arraycopy(errorCodes, index, errorCodes, index + 1, size - index);
+		errorCodes[index] = code;
+		size++;
+		modCount++;
+	}
+
+	@Override
+	public Integer remove(int index) {
+		int previous = getErrorCode(index);
+		System.arraycopy(errorCodes, index + 1, errorCodes, index, size - index - 1);
+		size--;
+		modCount++;
+		return previous;
+	}
+
+	@Override
+	protected void removeRange(int fromIndex, int toIndex) {
+		System.arraycopy(errorCodes, toIndex, errorCodes, fromIndex, size - toIndex);
+		size -= toIndex - fromIndex;
+		modCount++;
+	}
+
+	public boolean containsErrorCode(int errorCode) {
+		for (int i = 0; i < size; i++) {
+			if (errorCodes[i] == errorCode) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	private static void checkIndex(int index, int size) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+}
@@ -6,6 +6,8 @@ import java.util.List;
 
 public interface INode extends IObject {
 
+	int NO_NODE_ID = -1;
+
 	SemanticType getSemanticType();
 
 	void setSemanticType(SemanticType semanticType);
@@ -34,6 +36,20 @@ public interface INode extends IObject {
 
 	Integer getIndex();
 
+	/**
+	 * @return dense id of the node in the tree, assigned during document preprocessing, or {@link #NO_NODE_ID}
+	 * if not assigned. Nodes without an id are looked up by identity.
+	 */
+	default int getNodeId() {
+		return NO_NODE_ID;
+	}
+
+	/**
+	 * Nodes that do not store an id ignore it and keep {@link #NO_NODE_ID}.
+	 */
+	default void setNodeId(int nodeId) {
+	}
+
 	boolean isRoot();
 
 	void addChild(INode child);
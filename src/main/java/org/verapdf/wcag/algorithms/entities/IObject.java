@@ -34,6 +34,26 @@ public interface IObject {
 
 	public List<List<Object>> getErrorArguments();
 
+	default int getErrorCodesNumber() {
+		return getErrorCodes().size();
+	}
+
+	default boolean hasErrorCode(int errorCode) {
+		return getErrorCodes().contains(errorCode);
+	}
+
+	default void addErrorCode(int errorCode, List<Object> arguments) {
+		getErrorCodes().add(errorCode);
+		getErrorArguments().add(arguments);
+	}
+
+	default void removeErrorCodesAfterIndex(int index) {
+		for (int i = getErrorCodesNumber() - 1; i >= index; i--) {
+			getErrorCodes().remove(i);
+			getErrorArguments().remove(i);
+		}
+	}
+
 	void setRecognizedStructureId(Long id);
 
 	Long getRecognizedStructureId();
@@ -6,8 +6,19 @@ public interface ITree extends Iterable<INode> {
 
 	INode getRoot();
 
+	/**
+	 * Iterates over the tree nodes in post-order.
+	 */
 	@Override
 	default Iterator<INode> iterator() {
 		return new DFSTreeNodeIterator(getRoot());
 	}
+
+	default Iterable<INode> preOrder() {
+		return () -> new PreOrderTreeNodeIterator(getRoot());
+	}
+
+	default void accept(ITreeNodeVisitor visitor) {
+		TreeNodeStack.walk(getRoot(), visitor);
+	}
 }
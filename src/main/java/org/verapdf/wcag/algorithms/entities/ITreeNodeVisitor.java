@@ -0,0 +1,20 @@
+package org.verapdf.wcag.algorithms.entities;
+
+public interface ITreeNodeVisitor {
+
+	/**
+	 * Called before the children of the node are visited.
+	 *
+	 * @param depth depth of the node relative to the root of the traversal
+	 * @return false to skip the children of the node
+	 */
+	boolean enter(INode node, int depth);
+
+	/**
+	 * Called after the children of the node are visited.
+	 *
+	 * @param depth depth of the node relative to the root of the traversal
+	 */
+	default void exit(INode node, int depth) {
+	}
+}
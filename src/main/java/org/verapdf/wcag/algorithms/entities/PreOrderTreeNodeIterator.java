@@ -0,0 +1,38 @@
+package org.verapdf.wcag.algorithms.entities;
+
+import java.util.Iterator;
+
+/**
+ * Iterates over the tree nodes in pre-order.
+ */
+public class PreOrderTreeNodeIterator implements Iterator<INode> {
+
+	private final TreeNodeStack stack = new TreeNodeStack();
+	private INode root;
+
+	public PreOrderTreeNodeIterator(INode root) {
+		this.root = root;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (root != null) {
+			return true;
+		}
+		while (!stack.isEmpty() && !stack.hasNextChild()) {
+			stack.pop();
+		}
+		return !stack.isEmpty();
+	}
+
+	@Override
+	public INode next() {
+		if (!hasNext()) {
+			return null;
+		}
+		INode node = root != null ? root : stack.nextChild();
+		root = null;
+		stack.push(node);
+		return node;
+	}
+}
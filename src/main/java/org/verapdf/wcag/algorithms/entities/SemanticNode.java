@@ -17,6 +17,7 @@ public class SemanticNode extends BaseObject implements INode {
 	private final List<INode> children;
 	private final SemanticType initialSemanticType;
 	private int depth;
+	private int nodeId = NO_NODE_ID;
 	private boolean hasLowestDepthError = false;
 	private IAttributesDictionary attributesDictionary;
 
@@ -31,7 +32,7 @@ public class SemanticNode extends BaseObject implements INode {
 	}
 
 	public SemanticNode(SemanticType initialSemanticType, Integer objectKeyNumber) {
-		this(initialSemanticType, new LinkedList<>(), new LinkedList<>(), objectKeyNumber);
+		this(initialSemanticType, null, null, objectKeyNumber);
 	}
 
 	public SemanticNode(SemanticType initialSemanticType, List<Integer> errorCodes, List<List<Object>> errorArguments,
@@ -114,6 +115,16 @@ public class SemanticNode extends BaseObject implements INode {
 		this.index = index;
 	}
 
+	@Override
+	public int getNodeId() {
+		return nodeId;
+	}
+
+	@Override
+	public void setNodeId(int nodeId) {
+		this.nodeId = nodeId;
+	}
+
 	@Override
 	public Integer getObjectKeyNumber() {
 		return objectKeyNumber;
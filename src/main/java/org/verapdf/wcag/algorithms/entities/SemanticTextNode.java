@@ -1,5 +1,6 @@
 package org.verapdf.wcag.algorithms.entities;
 
+import org.verapdf.wcag.algorithms.entities.content.TextBlock;
 import org.verapdf.wcag.algorithms.entities.content.TextChunk;
 import org.verapdf.wcag.algorithms.entities.content.TextColumn;
 import org.verapdf.wcag.algorithms.entities.content.TextLine;
@@ -109,6 +110,13 @@ public class SemanticTextNode extends SemanticNode {
         return linesNumber;
     }
 
+    /**
+     * @return text chunks of all lines of the node, the chunks are iterated without copying the lines
+     */
+    public Iterable<TextChunk> getTextChunks() {
+        return TextChunksIterator::new;
+    }
+
     public int getColumnsNumber() {
         return getColumns().size();
     }
@@ -116,7 +124,7 @@ public class SemanticTextNode extends SemanticNode {
     public TextLine getFirstLine() {
         if (!getColumns().isEmpty()) {
             TextColumn firstColumn = getFirstColumn();
-            if (!firstColumn.getLines().isEmpty()) {
+            if (firstColumn.getLinesNumber() != 0) {
                 return firstColumn.getFirstLine();
             }
         }
@@ -228,15 +236,11 @@ public class SemanticTextNode extends SemanticNode {
 
     private double calculateFontWeight() {
         Map<Double, Double> fontWeightMap = new HashMap<>();
-        for (TextColumn column : getColumns()) {
-            for (TextLine line : column.getLines()) {
-                for (TextChunk chunk : line.getTextChunks()) {
-                    if (!TextChunkUtils.isWhiteSpaceChunk(chunk)) {
-                        Double weightLength = fontWeightMap.get(chunk.getFontWeight());
-                        fontWeightMap.put(chunk.getFontWeight(),
-                                ((weightLength == null) ? 0 : weightLength) + chunk.getTextLength());
-                    }
-                }
+        for (TextChunk chunk : getTextChunks()) {
+            if (!TextChunkUtils.isWhiteSpaceChunk(chunk)) {
+                Double weightLength = fontWeightMap.get(chunk.getFontWeight());
+                fontWeightMap.put(chunk.getFontWeight(),
+                        ((weightLength == null) ? 0 : weightLength) + chunk.getTextLength());
             }
         }
         if (!fontWeightMap.isEmpty()) {
@@ -255,7 +259,7 @@ public class SemanticTextNode extends SemanticNode {
     public TextLine getNonSpaceLine(int lineNumber) {
         int number = 0;
         for (TextColumn column : getColumns()) {
-            for (TextLine line : column.getLines()) {
+            for (TextLine line : column.getTextLines()) {
                 if (!line.isEmpty() && !line.isSpaceLine()) {
                     if (number == lineNumber) {
                         return line;
@@ -274,7 +278,7 @@ public class SemanticTextNode extends SemanticNode {
     public TextLine getNonSpaceLine(int lineNumber, int pageNumber) {
         int number = 0;
         for (TextColumn column : getColumns()) {
-            for (TextLine line : column.getLines()) {
+            for (TextLine line : column.getTextLines()) {
                 if (!line.isEmpty() && !line.isSpaceLine() && Objects.equals(line.getPageNumber(), pageNumber)) {
                     if (number == lineNumber) {
                         return line;
@@ -303,16 +307,12 @@ public class SemanticTextNode extends SemanticNode {
     private double calculateFontSize() {
         Map<Double, Double> fontSizeMap = new HashMap<>();
         maxFontSize = 0.0;
-        for (TextColumn column : getColumns()) {
-            for (TextLine line : column.getLines()) {
-                for (TextChunk chunk : line.getTextChunks()) {
-                    if (!TextChunkUtils.isWhiteSpaceChunk(chunk)) {
-                        Double sizeLength = fontSizeMap.get(chunk.getFontSize());
-                        fontSizeMap.put(chunk.getFontSize(),
-                                ((sizeLength == null) ? 0 : sizeLength) + chunk.getTextLength());
-                        maxFontSize = Math.max(maxFontSize, chunk.getFontSize());
-                    }
-                }
+        for (TextChunk chunk : getTextChunks()) {
+            if (!TextChunkUtils.isWhiteSpaceChunk(chunk)) {
+                Double sizeLength = fontSizeMap.get(chunk.getFontSize());
+                fontSizeMap.put(chunk.getFontSize(),
+                        ((sizeLength == null) ? 0 : sizeLength) + chunk.getTextLength());
+                maxFontSize = Math.max(maxFontSize, chunk.getFontSize());
             }
         }
         if (!fontSizeMap.isEmpty()) {
@@ -333,15 +333,11 @@ public class SemanticTextNode extends SemanticNode {
 
     private double calculateItalicAngle() {
         Map<Double, Double> italicAngleMap = new HashMap<>();
-        for (TextColumn column : getColumns()) {
-            for (TextLine line : column.getLines()) {
-                for (TextChunk chunk : line.getTextChunks()) {
-                    if (!TextChunkUtils.isWhiteSpaceChunk(chunk)) {
-                        Double sizeLength = italicAngleMap.get(chunk.getItalicAngle());
-                        italicAngleMap.put(chunk.getItalicAngle(),
-                                ((sizeLength == null) ? 0 : sizeLength) + chunk.getTextLength());
-                    }
-                }
+        for (TextChunk chunk : getTextChunks()) {
+            if (!TextChunkUtils.isWhiteSpaceChunk(chunk)) {
+                Double sizeLength = italicAngleMap.get(chunk.getItalicAngle());
+                italicAngleMap.put(chunk.getItalicAngle(),
+                        ((sizeLength == null) ? 0 : sizeLength) + chunk.getTextLength());
             }
         }
         if (!italicAngleMap.isEmpty()) {
@@ -362,16 +358,12 @@ public class SemanticTextNode extends SemanticNode {
 
     private double[] calculateTextColor() {
         Map<List<Double>, Double> textColorMap = new HashMap<>();
-        for (TextColumn column : getColumns()) {
-            for (TextLine line : column.getLines()) {
-                for (TextChunk chunk : line.getTextChunks()) {
-                    if (!TextChunkUtils.isWhiteSpaceChunk(chunk)) {
-                        List<Double> currentFontColor = Arrays.stream(chunk.getFontColor()).boxed().collect(Collectors.toList());
-                        Double fontNameLength = textColorMap.get(currentFontColor);
-                        textColorMap.put(currentFontColor,
-                                         (fontNameLength == null ? 0 : fontNameLength) + chunk.getTextLength());
-                    }
-                }
+        for (TextChunk chunk : getTextChunks()) {
+            if (!TextChunkUtils.isWhiteSpaceChunk(chunk)) {
+                List<Double> currentFontColor = Arrays.stream(chunk.getFontColor()).boxed().collect(Collectors.toList());
+                Double fontNameLength = textColorMap.get(currentFontColor);
+                textColorMap.put(currentFontColor,
+                                 (fontNameLength == null ? 0 : fontNameLength) + chunk.getTextLength());
             }
         }
         if (!textColorMap.isEmpty()) {
@@ -394,15 +386,11 @@ public class SemanticTextNode extends SemanticNode {
 
     private String calculateFontName() {
         Map<String, Double> fontNameMap = new HashMap<>();
-        for (TextColumn column : getColumns()) {
-            for (TextLine line : column.getLines()) {
-                for (TextChunk chunk : line.getTextChunks()) {
-                    if (!TextChunkUtils.isWhiteSpaceChunk(chunk)) {
-                        Double fontNameLength = fontNameMap.get(chunk.getFontName());
-                        fontNameMap.put(chunk.getFontName(),
-                                ((fontNameLength == null) ? 0 : fontNameLength) + chunk.getTextLength());
-                    }
-                }
+        for (TextChunk chunk : getTextChunks()) {
+            if (!TextChunkUtils.isWhiteSpaceChunk(chunk)) {
+                Double fontNameLength = fontNameMap.get(chunk.getFontName());
+                fontNameMap.put(chunk.getFontName(),
+                        ((fontNameLength == null) ? 0 : fontNameLength) + chunk.getTextLength());
             }
         }
         if (!fontNameMap.isEmpty()) {
@@ -435,18 +423,14 @@ public class SemanticTextNode extends SemanticNode {
 
     private double[] calculateBackgroundColor() {
         Map<List<Double>, Double> backgroundColorMap = new HashMap<>();
-        for (TextColumn column : getColumns()) {
-            for (TextLine line : column.getLines()) {
-                for (TextChunk chunk : line.getTextChunks()) {
-                    if (!TextChunkUtils.isWhiteSpaceChunk(chunk) && chunk.getBackgroundColor() != null) {
-                        List<Double> currentBackgroundColor = Arrays.stream(chunk.getBackgroundColor()).boxed()
-                                                                    .collect(Collectors.toList());
-                        Double backgroundColorLength = backgroundColorMap.get(currentBackgroundColor);
-                        backgroundColorMap.put(currentBackgroundColor,
-                                               (backgroundColorLength == null ? 0 : backgroundColorLength)
-                                               + chunk.getTextLength());
-                    }
-                }
+        for (TextChunk chunk : getTextChunks()) {
+            if (!TextChunkUtils.isWhiteSpaceChunk(chunk) && chunk.getBackgroundColor() != null) {
+                List<Double> currentBackgroundColor = Arrays.stream(chunk.getBackgroundColor()).boxed()
+                                                            .collect(Collectors.toList());
+                Double backgroundColorLength = backgroundColorMap.get(currentBackgroundColor);
+                backgroundColorMap.put(currentBackgroundColor,
+                                       (backgroundColorLength == null ? 0 : backgroundColorLength)
+                                       + chunk.getTextLength());
             }
         }
         if (!backgroundColorMap.isEmpty()) {
@@ -461,13 +445,9 @@ public class SemanticTextNode extends SemanticNode {
     }
 
     public boolean isSpaceNode() {
-        for (TextColumn column : getColumns()) {
-            for (TextLine line : column.getLines()) {
-                for (TextChunk chunk : line.getTextChunks()) {
-                    if (!TextChunkUtils.isWhiteSpaceChunk(chunk)) {
-                        return false;
-                    }
-                }
+        for (TextChunk chunk : getTextChunks()) {
+            if (!TextChunkUtils.isWhiteSpaceChunk(chunk)) {
+                return false;
             }
         }
         return true;
@@ -512,6 +492,44 @@ public class SemanticTextNode extends SemanticNode {
         return result;
     }
 
+    private class TextChunksIterator implements Iterator<TextChunk> {
+        private int columnIndex = 0;
+        private int blockIndex = 0;
+        private int lineIndex = 0;
+        private int chunkIndex = 0;
+
+        @Override
+        public boolean hasNext() {
+            while (columnIndex < columns.size()) {
+                List<TextBlock> blocks = columns.get(columnIndex).getBlocks();
+                while (blockIndex < blocks.size()) {
+                    List<TextLine> lines = blocks.get(blockIndex).getLines();
+                    while (lineIndex < lines.size()) {
+                        if (chunkIndex < lines.get(lineIndex).getTextChunks().size()) {
+                            return true;
+                        }
+                        lineIndex++;
+                        chunkIndex = 0;
+                    }
+                    blockIndex++;
+                    lineIndex = 0;
+                }
+                columnIndex++;
+                blockIndex = 0;
+            }
+            return false;
+        }
+
+        @Override
+        public TextChunk next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return columns.get(columnIndex).getBlocks().get(blockIndex).getLines().get(lineIndex).getTextChunks()
+                          .get(chunkIndex++);
+        }
+    }
+
     @Override
     public String toString() {
         if (columns.isEmpty()) {
@@ -0,0 +1,83 @@
+package org.verapdf.wcag.algorithms.entities;
+
+import java.util.Arrays;
+
+/**
+ * Depth-first traversal state: an explicit stack of nodes and indexes of their next children, so stepping
+ * does not allocate or recurse. Children are read only when they are reached, as the tree may be changed
+ * during the traversal.
+ */
+final class TreeNodeStack {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private INode[] nodes = new INode[INITIAL_CAPACITY];
+	private int[] childIndexes = new int[INITIAL_CAPACITY];
+	private int size = 0;
+
+	void push(INode node) {
+		if (size == nodes.length) {
+			nodes = Arrays.copyOf(nodes, 2 * size);
+			childIndexes = Arrays.copyOf(childIndexes, 2 * size);
+		}
+		nodes[size] = node;
+		childIndexes[size++] = 0;
+	}
+
+	INode pop() {
+		INode node = nodes[--size];
+		nodes[size] = null;
+		return node;
+	}
+
+	boolean hasNextChild() {
+		return childIndexes[size - 1] < nodes[size - 1].getChildren().size();
+	}
+
+	/**
+	 * @return next child of the node on the top of the stack, or null if all its children are visited
+	 */
+	INode nextChild() {
+		INode node = nodes[size - 1];
+		int childIndex = childIndexes[size - 1];
+		if (childIndex >= node.getChildren().size()) {
+			return null;
+		}
+		childIndexes[size - 1] = childIndex + 1;
+		return node.getChildren().get(childIndex);
+	}
+
+	/**
+	 * @return depth of the node on the top of the stack relative to the root of the traversal
+	 */
+	int depth() {
+		return size - 1;
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	static void walk(INode root, ITreeNodeVisitor visitor) {
+		if (root == null) {
+			return;
+		}
+		TreeNodeStack stack = new TreeNodeStack();
+		if (!visitor.enter(root, 0)) {
+			visitor.exit(root, 0);
+			return;
+		}
+		stack.push(root);
+		while (!stack.isEmpty()) {
+			INode child = stack.nextChild();
+			if (child == null) {
+				int depth = stack.depth();
+				visitor.exit(stack.pop(), depth);
+			} else if (visitor.enter(child, stack.depth() + 1)) {
+				stack.push(child);
+			} else {
+				visitor.exit(child, stack.depth() + 1);
+			}
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package org.verapdf.wcag.algorithms.entities.content;
 
+import org.verapdf.wcag.algorithms.entities.IDocument;
 import org.verapdf.wcag.algorithms.entities.INode;
 import org.verapdf.wcag.algorithms.entities.SemanticFigure;
 import org.verapdf.wcag.algorithms.entities.enums.SemanticType;
@@ -11,8 +12,14 @@ public class LinesCollection {
 	private final Map<Integer, SortedSet<LineChunk>> horizontalLines;
 	private final Map<Integer, SortedSet<LineChunk>> verticalLines;
 	private final Map<Integer, SortedSet<LineChunk>> squares;
+	private final IDocument document;
 
 	public LinesCollection() {
+		this(null);
+	}
+
+	public LinesCollection(IDocument document) {
+		this.document = document;
 		horizontalLines = new HashMap<>();
 		verticalLines = new HashMap<>();
 		squares = new HashMap<>();
@@ -31,11 +38,16 @@ public class LinesCollection {
 		return horizontalLines;
 	}
 
+	private IDocument getDocument() {
+		return document != null ? document : StaticContainers.getDocument();
+	}
+
 	private void parseLines() {
-		for (int pageNumber = 0; pageNumber < StaticContainers.getDocument().getNumberOfPages(); pageNumber++) {
-			parseLines(pageNumber);
+		IDocument document = getDocument();
+		for (int pageNumber = 0; pageNumber < document.getNumberOfPages(); pageNumber++) {
+			parseLines(document, pageNumber);
 		}
-		parseLines(StaticContainers.getDocument().getTree().getRoot());
+		parseLines(document.getTree().getRoot());
 	}
 
 	private void parseLines(INode node) {
@@ -62,11 +74,11 @@ public class LinesCollection {
 		}
 	}
 
-	private void parseLines(Integer pageNumber) {
+	private void parseLines(IDocument document, Integer pageNumber) {
 		SortedSet<LineChunk> horizontalLines = new TreeSet<>(new LineChunk.HorizontalLineComparator());
 		SortedSet<LineChunk> verticalLines = new TreeSet<>(new LineChunk.VerticalLineComparator());
 		SortedSet<LineChunk> squares = new TreeSet<>(new LineChunk.VerticalLineComparator());
-		for (IChunk chunk : StaticContainers.getDocument().getArtifacts(pageNumber)) {
+		for (IChunk chunk : document.getArtifacts(pageNumber)) {
 			if (chunk instanceof LineChunk) {
 				LineChunk lineChunk = (LineChunk) chunk;
 				if (lineChunk.isHorizontalLine()) {
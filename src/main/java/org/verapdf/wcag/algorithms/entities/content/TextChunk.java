@@ -5,7 +5,6 @@ import org.verapdf.wcag.algorithms.entities.geometry.BoundingBox;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.TextChunkUtils;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class TextChunk extends TextInfoChunk {
     private String value;
@@ -19,7 +18,8 @@ public class TextChunk extends TextInfoChunk {
     private double[] backgroundColor;
     private boolean isUnderlinedText = false;
     private TextFormat textFormat = TextFormat.NORMAL;
-    private List<Double> symbolEnds;
+    private double[] symbolEnds;
+    private int symbolEndsNumber = 0;
 
     public TextChunk() {
     }
@@ -39,7 +39,7 @@ public class TextChunk extends TextInfoChunk {
         if (symbolEnds == null) {
             adjustSymbolEndsToBoundingBox(null);
         } else {
-            this.symbolEnds = symbolEnds;
+            setSymbolEnds(symbolEnds);
         }
     }
 
@@ -55,7 +55,13 @@ public class TextChunk extends TextInfoChunk {
 
     public TextChunk(TextChunk chunk) {
         this(chunk.getBoundingBox(), chunk.value, chunk.fontName, chunk.fontSize, chunk.fontWeight, chunk.italicAngle,
-                chunk.baseLine, chunk.fontColor, chunk.symbolEnds, chunk.slantDegree);
+                chunk.baseLine, chunk.fontColor, chunk.slantDegree);
+        if (chunk.symbolEnds != null) {
+            this.symbolEnds = Arrays.copyOf(chunk.symbolEnds, chunk.symbolEndsNumber);
+            this.symbolEndsNumber = chunk.symbolEndsNumber;
+        } else {
+            adjustSymbolEndsToBoundingBox(null);
+        }
     }
 
     @Override
@@ -147,43 +153,94 @@ public class TextChunk extends TextInfoChunk {
         this.textFormat = textFormat;
     }
 
+    /**
+     * @return view of the symbol ends backed by this chunk, or null if the chunk has no symbol ends
+     */
     public List<Double> getSymbolEnds() {
-        return symbolEnds;
+        return symbolEnds != null ? new SymbolEndsView() : null;
     }
 
     public void setSymbolEnds(List<Double> symbolEnds) {
-        this.symbolEnds = symbolEnds;
+        if (symbolEnds == null) {
+            this.symbolEnds = null;
+            this.symbolEndsNumber = 0;
+            return;
+        }
+        this.symbolEnds = new double[symbolEnds.size()];
+        this.symbolEndsNumber = 0;
+        for (Double symbolEnd : symbolEnds) {
+            this.symbolEnds[symbolEndsNumber++] = symbolEnd;
+        }
+    }
+
+    public int getSymbolEndsNumber() {
+        return symbolEndsNumber;
+    }
+
+    public double getSymbolEnd(int index) {
+        if (index < 0 || index >= symbolEndsNumber) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + symbolEndsNumber);
+        }
+        return symbolEnds[index];
+    }
+
+    /**
+     * Appends symbol ends of the given chunk starting from the given index.
+     */
+    public void addSymbolEnds(TextChunk chunk, int fromIndex) {
+        int number = chunk.symbolEndsNumber - fromIndex;
+        if (number <= 0) {
+            return;
+        }
+        ensureSymbolEndsCapacity(symbolEndsNumber + number);
+        System.arraycopy(chunk.symbolEnds, fromIndex, symbolEnds, symbolEndsNumber, number);
+        symbolEndsNumber += number;
     }
 
     public Double getSymbolStartCoordinate(int index) {
-        return index >= 0 && index < this.symbolEnds.size() - 1 ? this.symbolEnds.get(index) : null;
+        return index >= 0 && index < this.symbolEndsNumber - 1 ? this.symbolEnds[index] : null;
     }
 
     public Double getSymbolEndCoordinate(int index) {
-        return index >= 0 && index < this.symbolEnds.size() - 1 ? this.symbolEnds.get(index + 1) : null;
+        return index >= 0 && index < this.symbolEndsNumber - 1 ? this.symbolEnds[index + 1] : null;
     }
 
     public Double getSymbolWidth(int index) {
-        return index >= 0 && index < this.symbolEnds.size() - 1 ?
-               this.symbolEnds.get(index + 1) - this.symbolEnds.get(index) : null;
+        return index >= 0 && index < this.symbolEndsNumber - 1 ?
+               this.symbolEnds[index + 1] - this.symbolEnds[index] : null;
     }
 
     public void adjustSymbolEndsToBoundingBox(List<Double> symbolEnds) {
         double textStart = getTextStart();
         double textEnd = getTextEnd();
         if (symbolEnds == null) {
-            this.symbolEnds = new ArrayList<>(value.length() + 1);
+            this.symbolEnds = new double[value.length() + 1];
             double symbolEnd = textStart;
-            this.symbolEnds.add(symbolEnd);
+            this.symbolEnds[0] = symbolEnd;
             double averageWidth = (textEnd - textStart) / value.length();
             for (int i = 0; i < value.length(); i++) {
                 symbolEnd += averageWidth;
-                this.symbolEnds.add(symbolEnd);
+                this.symbolEnds[i + 1] = symbolEnd;
             }
+            this.symbolEndsNumber = this.symbolEnds.length;
             return;
         }
         double multiplier = (textEnd - textStart) / (symbolEnds.get(symbolEnds.size() - 1) - symbolEnds.get(0));
-        this.symbolEnds = symbolEnds.stream().map(e -> textStart + e * multiplier).collect(Collectors.toList());
+        double[] adjustedSymbolEnds = new double[symbolEnds.size()];
+        int index = 0;
+        for (Double symbolEnd : symbolEnds) {
+            adjustedSymbolEnds[index++] = textStart + symbolEnd * multiplier;
+        }
+        this.symbolEnds = adjustedSymbolEnds;
+        this.symbolEndsNumber = adjustedSymbolEnds.length;
+    }
+
+    private void ensureSymbolEndsCapacity(int capacity) {
+        if (symbolEnds == null) {
+            symbolEnds = new double[capacity];
+        } else if (symbolEnds.length < capacity) {
+            symbolEnds = Arrays.copyOf(symbolEnds, Math.max(capacity, symbolEnds.length + (symbolEnds.length >> 1)));
+        }
     }
 
     public double getAverageSymbolWidth() {
@@ -242,6 +299,48 @@ public class TextChunk extends TextInfoChunk {
         return result;
     }
 
+    private class SymbolEndsView extends AbstractList<Double> implements RandomAccess {
+
+        @Override
+        public Double get(int index) {
+            return getSymbolEnd(index);
+        }
+
+        @Override
+        public Double set(int index, Double element) {
+            Double previous = getSymbolEnd(index);
+            symbolEnds[index] = element;
+            return previous;
+        }
+
+        @Override
+        public void add(int index, Double element) {
+            if (index < 0 || index > symbolEndsNumber) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + symbolEndsNumber);
+            }
+            double symbolEnd = element;
+            ensureSymbolEndsCapacity(symbolEndsNumber + 1);
+            System.arraycopy(symbolEnds, index, symbolEnds, index + 1, symbolEndsNumber - index);
+            symbolEnds[index] = symbolEnd;
+            symbolEndsNumber++;
+            modCount++;
+        }
+
+        @Override
+        public Double remove(int index) {
+            Double previous = getSymbolEnd(index);
+            System.arraycopy(symbolEnds, index + 1, symbolEnds, index, symbolEndsNumber - index - 1);
+            symbolEndsNumber--;
+            modCount++;
+            return previous;
+        }
+
+        @Override
+        public int size() {
+            return symbolEndsNumber;
+        }
+    }
+
     @Override
     public String toString() {
         return "TextChunk{" +
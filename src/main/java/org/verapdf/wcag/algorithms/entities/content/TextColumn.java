@@ -1,7 +1,9 @@
 package org.verapdf.wcag.algorithms.entities.content;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 
 public class TextColumn extends TextInfoChunk {
@@ -65,14 +67,24 @@ public class TextColumn extends TextInfoChunk {
 		return null;
 	}
 
+	/**
+	 * @return new list of the lines of all blocks, use {@link #getTextLines()} to iterate them without copying
+	 */
 	public List<TextLine> getLines() {
-    	List<TextLine> textLines = new ArrayList<>();
-    	for (TextBlock textBlock : textBlocks) {
-    		textLines.addAll(textBlock.getLines());
-	    }
+		List<TextLine> textLines = new ArrayList<>(getLinesNumber());
+		for (TextBlock textBlock : textBlocks) {
+			textLines.addAll(textBlock.getLines());
+		}
 		return textLines;
 	}
 
+	/**
+	 * @return lines of all blocks, changes of the blocks are visible in the iterators created after them
+	 */
+	public Iterable<TextLine> getTextLines() {
+		return TextLinesIterator::new;
+	}
+
     public TextLine getFirstLine() {
         if (textBlocks.isEmpty()) {
             return null;
@@ -135,7 +147,11 @@ public class TextColumn extends TextInfoChunk {
     }
 
     public int getLinesNumber() {
-        return textBlocks.stream().mapToInt(TextBlock::getLinesNumber).sum();
+        int linesNumber = 0;
+        for (TextBlock textBlock : textBlocks) {
+            linesNumber += textBlock.getLinesNumber();
+        }
+        return linesNumber;
     }
 
     public void add(TextColumn column) {
@@ -151,6 +167,31 @@ public class TextColumn extends TextInfoChunk {
     	return textBlocks.size() == 1;
     }
 
+	private class TextLinesIterator implements Iterator<TextLine> {
+		private int blockIndex = 0;
+		private int lineIndex = 0;
+
+		@Override
+		public boolean hasNext() {
+			while (blockIndex < textBlocks.size()) {
+				if (lineIndex < textBlocks.get(blockIndex).getLines().size()) {
+					return true;
+				}
+				blockIndex++;
+				lineIndex = 0;
+			}
+			return false;
+		}
+
+		@Override
+		public TextLine next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return textBlocks.get(blockIndex).getLines().get(lineIndex++);
+		}
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder stringBuilder = new StringBuilder();
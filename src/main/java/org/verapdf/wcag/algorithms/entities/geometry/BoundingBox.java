@@ -3,11 +3,26 @@ package org.verapdf.wcag.algorithms.entities.geometry;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.ContextUtils;
 
 import java.util.Arrays;
-import java.util.Objects;
 
+/**
+ * Page numbers are kept as primitive ints with {@link #NO_PAGE_NUMBER} for no page, the boxed getters and setters
+ * use null for it. The protected page number fields are ints since 1.29, subclasses that assigned them as Integer
+ * should use {@link #setPageNumbers(int, int)} instead.
+ */
 public class BoundingBox {
-    protected Integer pageNumber;
-    protected Integer lastPageNumber;
+
+    public static final int NO_PAGE_NUMBER = Integer.MIN_VALUE;
+
+    private static final Integer[] PAGE_NUMBERS = new Integer[4096];
+
+    static {
+        for (int pageNumber = 0; pageNumber < PAGE_NUMBERS.length; pageNumber++) {
+            PAGE_NUMBERS[pageNumber] = pageNumber;
+        }
+    }
+
+    protected int pageNumber = NO_PAGE_NUMBER;
+    protected int lastPageNumber = NO_PAGE_NUMBER;
     protected double leftX;
     protected double bottomY;
     protected double rightX;
@@ -21,7 +36,7 @@ public class BoundingBox {
 
     public BoundingBox(Integer pageNumber) {
         init(Double.MAX_VALUE, Double.MAX_VALUE, 0, 0);
-        this.pageNumber = this.lastPageNumber = pageNumber;
+        setPageNumbers(toPageNumber(pageNumber), toPageNumber(pageNumber));
     }
 
     public BoundingBox(double[] bbox) {
@@ -30,13 +45,12 @@ public class BoundingBox {
 
     public BoundingBox(Integer pageNumber, double[] bbox) {
         init(Math.min(bbox[0], bbox[2]), Math.min(bbox[1], bbox[3]), Math.max(bbox[0], bbox[2]), Math.max(bbox[1], bbox[3]));
-        this.pageNumber = this.lastPageNumber = pageNumber;
+        setPageNumbers(toPageNumber(pageNumber), toPageNumber(pageNumber));
     }
 
     public BoundingBox(Integer pageNumber, Integer lastPageNumber, double[] bbox) {
         init(bbox[0], bbox[1], bbox[2], bbox[3]);
-        this.pageNumber = pageNumber;
-        this.lastPageNumber = lastPageNumber;
+        setPageNumbers(toPageNumber(pageNumber), toPageNumber(lastPageNumber));
     }
 
     public BoundingBox(double left, double bottom, double right, double top) {
@@ -45,13 +59,12 @@ public class BoundingBox {
 
     public BoundingBox(Integer pageNumber, double left, double bottom, double right, double top) {
         init(left, bottom, right, top);
-        this.pageNumber = this.lastPageNumber = pageNumber;
+        setPageNumbers(toPageNumber(pageNumber), toPageNumber(pageNumber));
     }
 
     public BoundingBox(Integer pageNumber, Integer lastPageNumber, double left, double bottom, double right, double top) {
         init(left, bottom, right, top);
-        this.pageNumber = pageNumber;
-        this.lastPageNumber = lastPageNumber;
+        setPageNumbers(toPageNumber(pageNumber), toPageNumber(lastPageNumber));
     }
 
     public BoundingBox(BoundingBox o) {
@@ -59,62 +72,91 @@ public class BoundingBox {
     }
 
     public void setPageNumber(Integer pageNumber) {
-        this.pageNumber = pageNumber;
-        if (lastPageNumber == null || lastPageNumber < pageNumber) {
-            this.lastPageNumber = pageNumber;
-        }
+        int page = toPageNumber(pageNumber);
+        int lastPage = getLastPageNumberValue();
+        setPageNumbers(page, lastPage == NO_PAGE_NUMBER || lastPage < page ? page : lastPage);
     }
 
     public void setLastPageNumber(Integer lastPageNumber) {
-        this.lastPageNumber = lastPageNumber;
+        setPageNumbers(getPageNumberValue(), toPageNumber(lastPageNumber));
     }
 
     public Integer getPageNumber() {
-        return pageNumber;
+        return toInteger(pageNumber);
     }
 
     public Integer getLastPageNumber() {
+        return toInteger(lastPageNumber);
+    }
+
+    /**
+     * @return page number, or {@link #NO_PAGE_NUMBER} if it is not set
+     */
+    public int getPageNumberValue() {
+        return pageNumber;
+    }
+
+    /**
+     * @return last page number, or {@link #NO_PAGE_NUMBER} if it is not set
+     */
+    public int getLastPageNumberValue() {
         return lastPageNumber;
     }
 
+    protected void setPageNumbers(int pageNumber, int lastPageNumber) {
+        this.pageNumber = pageNumber;
+        this.lastPageNumber = lastPageNumber;
+    }
+
     public static BoundingBox union(BoundingBox first, BoundingBox second) {
         BoundingBox result = new BoundingBox(first);
         return result.union(second);
     }
 
     public BoundingBox union(BoundingBox second) {
-        if (second == null || second.pageNumber == null) {
+        if (second == null || second.getPageNumberValue() == NO_PAGE_NUMBER) {
             return this;
         }
-        if (pageNumber == null) {
+        if (getPageNumberValue() == NO_PAGE_NUMBER) {
             init(second);
             return this;
         }
+        unionCoordinates(second);
+        return this;
+    }
+
+    protected void unionCoordinates(BoundingBox second) {
         if (second.leftX < this.leftX) {
             this.leftX = second.leftX;
         }
         if (this.rightX < second.rightX) {
             this.rightX = second.rightX;
         }
-        if (this.pageNumber.equals(second.pageNumber)) {
+        int page = getPageNumberValue();
+        int lastPage = getLastPageNumberValue();
+        int secondPage = second.getPageNumberValue();
+        int secondLastPage = second.getLastPageNumberValue();
+        if (page == secondPage) {
             this.topY = Math.max(this.topY, second.topY);
         }
-        else if (second.pageNumber < this.pageNumber) {
+        else if (secondPage < page) {
             this.topY = second.topY;
-            this.pageNumber = second.pageNumber;
+            page = secondPage;
         }
-        if (this.lastPageNumber.equals(second.lastPageNumber)) {
+        if (lastPage == secondLastPage) {
             this.bottomY = Math.min(this.bottomY, second.bottomY);
         }
-        else if (this.lastPageNumber < second.lastPageNumber) {
+        else if (lastPage < secondLastPage) {
             this.bottomY = second.bottomY;
-            this.lastPageNumber = second.lastPageNumber;
+            lastPage = secondLastPage;
+        }
+        if (page != getPageNumberValue() || lastPage != getLastPageNumberValue()) {
+            setPageNumbers(page, lastPage);
         }
-        return this;
     }
 
     public BoundingBox normalize() {
-        if (pageNumber.equals(lastPageNumber)) {
+        if (getPageNumberValue() == getLastPageNumberValue()) {
             return normalize(leftX, bottomY, rightX, topY);
         }
         return normalize(leftX, rightX);
@@ -125,7 +167,7 @@ public class BoundingBox {
     }
 
     public double getHeight() {
-        return (pageNumber != null && pageNumber.equals(lastPageNumber) && topY > bottomY) ? topY - bottomY : 0;
+        return (isOnePageBoundingBox() && topY > bottomY) ? topY - bottomY : 0;
     }
 
     @Override
@@ -140,7 +182,8 @@ public class BoundingBox {
         result = 31 * result + (int) (temp ^ (temp >>> 32));
         temp = Double.doubleToLongBits(topY);
         result = 31 * result + (int) (temp ^ (temp >>> 32));
-        result = 31 * result + Objects.hash(pageNumber, lastPageNumber);
+        // the same as Objects.hash of boxed page numbers
+        result = 31 * result + 31 * (31 + hashCode(getPageNumberValue())) + hashCode(getLastPageNumberValue());
         return result;
     }
 
@@ -155,11 +198,11 @@ public class BoundingBox {
 
         BoundingBox that = (BoundingBox) o;
 
-        if (!Objects.equals(pageNumber, that.pageNumber)) {
+        if (getPageNumberValue() != that.getPageNumberValue()) {
             return false;
         }
 
-        if (!Objects.equals(lastPageNumber, that.lastPageNumber)) {
+        if (getLastPageNumberValue() != that.getLastPageNumberValue()) {
             return false;
         }
 
@@ -180,7 +223,7 @@ public class BoundingBox {
     }
 
     public boolean overlaps(BoundingBox other, double eps) {
-        if (pageNumber == null || other.pageNumber == null) {
+        if (getPageNumberValue() == NO_PAGE_NUMBER || other.getPageNumberValue() == NO_PAGE_NUMBER) {
             return false;
         }
         return !notOverlaps(other, eps);
@@ -191,13 +234,17 @@ public class BoundingBox {
     }
 
     public boolean notOverlaps(BoundingBox other, double eps) {
-        if (pageNumber == null || other.pageNumber == null) {
+        int page = getPageNumberValue();
+        int otherPage = other.getPageNumberValue();
+        if (page == NO_PAGE_NUMBER || otherPage == NO_PAGE_NUMBER) {
             return true;
         }
+        int lastPage = getLastPageNumberValue();
+        int otherLastPage = other.getLastPageNumberValue();
         return leftX > (other.rightX + eps) || (rightX + eps) < other.leftX
-                || pageNumber > other.lastPageNumber || lastPageNumber < other.pageNumber
-                || (bottomY > (other.topY + eps) && lastPageNumber.equals(other.pageNumber))
-                || ((topY + eps) < other.bottomY && pageNumber.equals(other.lastPageNumber));
+                || page > otherLastPage || lastPage < otherPage
+                || (bottomY > (other.topY + eps) && lastPage == otherPage)
+                || ((topY + eps) < other.bottomY && page == otherLastPage);
     }
 
     public boolean contains(BoundingBox other) {
@@ -205,23 +252,26 @@ public class BoundingBox {
     }
 
     public boolean contains(BoundingBox other, double horizontalOffset, double verticalOffset) {
-        if (pageNumber == null || other.pageNumber == null) {
+        int page = getPageNumberValue();
+        int otherPage = other.getPageNumberValue();
+        if (page == NO_PAGE_NUMBER || otherPage == NO_PAGE_NUMBER) {
             return false;
         }
+        int lastPage = getLastPageNumberValue();
+        int otherLastPage = other.getLastPageNumberValue();
         return leftX < (other.leftX + horizontalOffset) && other.rightX < (rightX + horizontalOffset)
-               && (pageNumber < other.pageNumber
-                   || (pageNumber.equals(other.pageNumber) && other.topY < (topY + verticalOffset)))
-               && (lastPageNumber > other.lastPageNumber
-                   || (lastPageNumber.equals(other.lastPageNumber) && bottomY < (other.bottomY + verticalOffset)));
+               && (page < otherPage || (page == otherPage && other.topY < (topY + verticalOffset)))
+               && (lastPage > otherLastPage
+                   || (lastPage == otherLastPage && bottomY < (other.bottomY + verticalOffset)));
     }
 
     public boolean weaklyContains(BoundingBox fullRectangle) {
-        if (pageNumber == null || fullRectangle.pageNumber == null) {
+        int page = getPageNumberValue();
+        int fullRectanglePage = fullRectangle.getPageNumberValue();
+        if (page == NO_PAGE_NUMBER || fullRectanglePage == NO_PAGE_NUMBER) {
             return false;
         }
-        if (pageNumber.equals(fullRectangle.pageNumber)
-                && lastPageNumber.equals(fullRectangle.pageNumber)
-                && pageNumber.equals(lastPageNumber)) {
+        if (page == fullRectanglePage && getLastPageNumberValue() == fullRectanglePage) {
             BoundingBox part = cross(fullRectangle);
             return part != null && part.getArea() >= fullRectangle.getArea() * 0.7;
         }
@@ -253,20 +303,25 @@ public class BoundingBox {
         if (rightX > other.rightX + horizontalOffset) {
             rightX = other.rightX + horizontalOffset;
         }
-        if (pageNumber < other.pageNumber) {
-            pageNumber = other.pageNumber;
+        int page = getPageNumberValue();
+        int lastPage = getLastPageNumberValue();
+        int otherPage = other.getPageNumberValue();
+        int otherLastPage = other.getLastPageNumberValue();
+        if (page < otherPage) {
             topY = other.topY;
         }
-        else if (pageNumber.equals(other.pageNumber) && other.topY + verticalOffset < topY) {
+        else if (page == otherPage && other.topY + verticalOffset < topY) {
             topY = other.topY + verticalOffset;
         }
-        if (lastPageNumber > other.lastPageNumber) {
-            lastPageNumber = other.lastPageNumber;
+        if (lastPage > otherLastPage) {
             bottomY = other.bottomY;
         }
-        else if (lastPageNumber.equals(other.lastPageNumber) && bottomY < other.bottomY - verticalOffset) {
+        else if (lastPage == otherLastPage && bottomY < other.bottomY - verticalOffset) {
             bottomY = other.bottomY - verticalOffset;
         }
+        if (page < otherPage || lastPage > otherLastPage) {
+            setPageNumbers(Math.max(page, otherPage), Math.min(lastPage, otherLastPage));
+        }
 
         return this;
     }
@@ -316,28 +371,31 @@ public class BoundingBox {
     }
 
     public Double getRightX(int pageNumber) {
-        if (this.pageNumber <= pageNumber && this.lastPageNumber >= pageNumber) {
+        if (containsPage(pageNumber)) {
             return getRightX();
         }
         return null;
     }
 
     public Double getLeftX(int pageNumber) {
-        if (this.pageNumber <= pageNumber && this.lastPageNumber >= pageNumber) {
+        if (containsPage(pageNumber)) {
             return getLeftX();
         }
         return null;
     }
 
     public boolean isEmpty() {
-        return pageNumber == null
-                ||leftX > (rightX + EPSILON) || lastPageNumber < pageNumber
-                || (pageNumber.equals(lastPageNumber) && bottomY > (topY + EPSILON));
+        int page = getPageNumberValue();
+        int lastPage = getLastPageNumberValue();
+        return page == NO_PAGE_NUMBER
+                ||leftX > (rightX + EPSILON) || lastPage < page
+                || (page == lastPage && bottomY > (topY + EPSILON));
     }
 
     public BoundingBox scale(double coeffX, double coeffY) {
         rightX = leftX + (rightX - leftX) * coeffX;
-        if (pageNumber == null || pageNumber.equals(lastPageNumber)) {
+        int page = getPageNumberValue();
+        if (page == NO_PAGE_NUMBER || page == getLastPageNumberValue()) {
             topY = bottomY + (topY - bottomY) * coeffY;
         }
         return this;
@@ -358,23 +416,28 @@ public class BoundingBox {
 
     public void init(BoundingBox rect) {
         init(rect.leftX, rect.bottomY, rect.rightX, rect.topY);
-        pageNumber = rect.pageNumber;
-        lastPageNumber = rect.lastPageNumber;
+        setPageNumbers(rect.getPageNumberValue(), rect.getLastPageNumberValue());
     }
 
     public BoundingBox getBoundingBox(int pageNumber) {
-        if (this.pageNumber > pageNumber || this.lastPageNumber < pageNumber) {
+        if (!containsPage(pageNumber)) {
             return null;
         }
         return this;
     }
 
     public boolean isOnePageBoundingBox() {
-        return pageNumber != null && Objects.equals(pageNumber, lastPageNumber);
+        int page = getPageNumberValue();
+        return page != NO_PAGE_NUMBER && page == getLastPageNumberValue();
     }
 
     public boolean isSeveralPagesBoundingBox() {
-        return pageNumber != null && !Objects.equals(pageNumber, lastPageNumber);
+        int page = getPageNumberValue();
+        return page != NO_PAGE_NUMBER && page != getLastPageNumberValue();
+    }
+
+    protected boolean containsPage(int pageNumber) {
+        return getPageNumberValue() <= pageNumber && getLastPageNumberValue() >= pageNumber;
     }
 
 
@@ -400,6 +463,21 @@ public class BoundingBox {
         return this;
     }
 
+    private static int toPageNumber(Integer pageNumber) {
+        return pageNumber != null ? pageNumber : NO_PAGE_NUMBER;
+    }
+
+    private static Integer toInteger(int pageNumber) {
+        if (pageNumber == NO_PAGE_NUMBER) {
+            return null;
+        }
+        return pageNumber >= 0 && pageNumber < PAGE_NUMBERS.length ? PAGE_NUMBERS[pageNumber] : Integer.valueOf(pageNumber);
+    }
+
+    private static int hashCode(int pageNumber) {
+        return pageNumber != NO_PAGE_NUMBER ? pageNumber : 0;
+    }
+
     public String getLocation() {
         return ContextUtils.getContext(this);
     }
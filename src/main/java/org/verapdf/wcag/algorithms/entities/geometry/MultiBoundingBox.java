@@ -1,57 +1,64 @@
 package org.verapdf.wcag.algorithms.entities.geometry;
 
-import java.util.LinkedList;
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
+/**
+ * Bounding box keeping the bounding boxes it was united from. The boxes are kept in an immutable binary tree
+ * whose subtrees are shared with the united multi bounding boxes, so a union does not copy their boxes.
+ */
 public class MultiBoundingBox extends BoundingBox {
 
-    private List<BoundingBox> boundingBoxes = new LinkedList<>();
+    // BoundingBox or Concatenation, not initialized here as it is set by init called from the super constructor
+    private Object boundingBoxes;
 
     public MultiBoundingBox() {
         init(Double.MAX_VALUE, Double.MAX_VALUE, 0, 0);
-        boundingBoxes.add(new BoundingBox());
+        add(new BoundingBox());
     }
 
     public MultiBoundingBox(int pageNumber) {
         init(Double.MAX_VALUE, Double.MAX_VALUE, 0, 0);
-        this.pageNumber = this.lastPageNumber = pageNumber;
-        boundingBoxes.add(new BoundingBox(pageNumber));
+        setPageNumbers(pageNumber, pageNumber);
+        add(new BoundingBox(pageNumber));
     }
 
     public MultiBoundingBox(double[] bbox) {
         init(bbox[0], bbox[1], bbox[2], bbox[3]);
-        boundingBoxes.add(new BoundingBox(bbox));
+        add(new BoundingBox(bbox));
     }
 
     public MultiBoundingBox(int pageNumber, double[] bbox) {
         init(bbox[0], bbox[1], bbox[2], bbox[3]);
-        this.pageNumber = this.lastPageNumber = pageNumber;
-        boundingBoxes.add(new BoundingBox(pageNumber, bbox));
+        setPageNumbers(pageNumber, pageNumber);
+        add(new BoundingBox(pageNumber, bbox));
     }
 
     public MultiBoundingBox(int pageNumber, int lastPageNumber, double[] bbox) {
         init(bbox[0], bbox[1], bbox[2], bbox[3]);
-        this.pageNumber = pageNumber;
-        this.lastPageNumber = lastPageNumber;
-        boundingBoxes.add(new BoundingBox(pageNumber, lastPageNumber, bbox));
+        setPageNumbers(pageNumber, lastPageNumber);
+        add(new BoundingBox(pageNumber, lastPageNumber, bbox));
     }
 
     public MultiBoundingBox(double left, double bottom, double right, double top) {
         init(left, bottom, right, top);
-        boundingBoxes.add(new BoundingBox(left, bottom, right, top));
+        add(new BoundingBox(left, bottom, right, top));
     }
 
     public MultiBoundingBox(int pageNumber, double left, double bottom, double right, double top) {
         init(left, bottom, right, top);
-        this.pageNumber = this.lastPageNumber = pageNumber;
-        boundingBoxes.add(new BoundingBox(pageNumber, left, bottom, right, top));
+        setPageNumbers(pageNumber, pageNumber);
+        add(new BoundingBox(pageNumber, left, bottom, right, top));
     }
 
     public MultiBoundingBox(int pageNumber, int lastPageNumber, double left, double bottom, double right, double top) {
         init(left, bottom, right, top);
-        this.pageNumber = pageNumber;
-        this.lastPageNumber = lastPageNumber;
-        boundingBoxes.add(new BoundingBox(pageNumber, lastPageNumber, left, bottom, right, top));
+        setPageNumbers(pageNumber, lastPageNumber);
+        add(new BoundingBox(pageNumber, lastPageNumber, left, bottom, right, top));
     }
 
     public MultiBoundingBox(BoundingBox o) {
@@ -65,47 +72,31 @@ public class MultiBoundingBox extends BoundingBox {
 
     @Override
     public MultiBoundingBox union(BoundingBox second) {
-        if (second == null || second.getPageNumber() == null) {
+        if (second == null || second.getPageNumberValue() == NO_PAGE_NUMBER) {
             return this;
         }
-        if (pageNumber == null) {
+        if (getPageNumberValue() == NO_PAGE_NUMBER) {
             init(second);
             return this;
         }
         if (second instanceof MultiBoundingBox) {
-            boundingBoxes.addAll(((MultiBoundingBox)second).boundingBoxes);
+            boundingBoxes = new Concatenation(boundingBoxes, ((MultiBoundingBox)second).boundingBoxes);
         } else {
-            boundingBoxes.add(new BoundingBox(second));
-        }
-
-        if (second.leftX < this.leftX) {
-            this.leftX = second.leftX;
-        }
-        if (this.rightX < second.rightX) {
-            this.rightX = second.rightX;
-        }
-        if (this.pageNumber.equals(second.pageNumber)) {
-            this.topY = Math.max(this.topY, second.topY);
-        }
-        else if (second.pageNumber < this.pageNumber) {
-            this.topY = second.topY;
-            this.pageNumber = second.pageNumber;
-        }
-        if (this.lastPageNumber.equals(second.lastPageNumber)) {
-            this.bottomY = Math.min(this.bottomY, second.bottomY);
-        }
-        else if (this.lastPageNumber < second.lastPageNumber) {
-            this.bottomY = second.bottomY;
-            this.lastPageNumber = second.lastPageNumber;
+            add(new BoundingBox(second));
         }
+        unionCoordinates(second);
         return this;
     }
 
     //ToDo: cross methods
 
+    private void add(BoundingBox boundingBox) {
+        boundingBoxes = new Concatenation(boundingBoxes, boundingBox);
+    }
+
     @Override
     public BoundingBox scale(double coeffX, double coeffY) {
-        for (BoundingBox boundingBox : boundingBoxes) {
+        for (BoundingBox boundingBox : getBoundingBoxes()) {
             boundingBox.scale(coeffX, coeffY);
         }
         return super.scale(coeffX, coeffY);
@@ -113,7 +104,7 @@ public class MultiBoundingBox extends BoundingBox {
 
     @Override
     public BoundingBox move(double xShift, double yShift) {
-        for (BoundingBox boundingBox : boundingBoxes) {
+        for (BoundingBox boundingBox : getBoundingBoxes()) {
             boundingBox.move(xShift, yShift);
         }
         return super.move(xShift, yShift);
@@ -123,11 +114,10 @@ public class MultiBoundingBox extends BoundingBox {
     public void init(BoundingBox rect) {
         super.init(rect);
 
-        boundingBoxes = new LinkedList<>();
         if (rect instanceof MultiBoundingBox) {
-            boundingBoxes.addAll(((MultiBoundingBox)rect).boundingBoxes);
+            boundingBoxes = ((MultiBoundingBox)rect).boundingBoxes;
         } else {
-            boundingBoxes.add(new BoundingBox(rect));
+            boundingBoxes = new BoundingBox(rect);
         }
     }
 
@@ -135,25 +125,27 @@ public class MultiBoundingBox extends BoundingBox {
     public void init(double left, double bottom, double right, double top) {
         super.init(left, bottom, right, top);
 
-        boundingBoxes = new LinkedList<>();
-        boundingBoxes.add(new BoundingBox(this));
+        boundingBoxes = new BoundingBox(this);
     }
 
+    /**
+     * @return unmodifiable view of the united bounding boxes
+     */
     public List<BoundingBox> getBoundingBoxes() {
-        return boundingBoxes;
+        return new BoundingBoxesView();
     }
 
     @Override
     public BoundingBox getBoundingBox(int pageNumber) {
-        if (this.pageNumber > pageNumber || this.lastPageNumber < pageNumber) {
+        if (!containsPage(pageNumber)) {
             return null;
         }
-        if (this.pageNumber == pageNumber && this.lastPageNumber == pageNumber) {
+        if (getPageNumberValue() == pageNumber && getLastPageNumberValue() == pageNumber) {
             return this;
         }
         BoundingBox boundingBox = null;
-        for (BoundingBox box : boundingBoxes) {
-            if (box.getPageNumber() == pageNumber) {
+        for (BoundingBox box : getBoundingBoxes()) {
+            if (box.getPageNumberValue() == pageNumber) {
                 if (boundingBox == null) {
                     boundingBox = new MultiBoundingBox();
                 }
@@ -165,14 +157,14 @@ public class MultiBoundingBox extends BoundingBox {
 
     @Override
     public Double getRightX(int pageNumber) {
-        if (this.pageNumber > pageNumber || this.lastPageNumber < pageNumber) {
+        if (!containsPage(pageNumber)) {
             return null;
         }
-        if (this.pageNumber == pageNumber && this.lastPageNumber == pageNumber) {
+        if (getPageNumberValue() == pageNumber && getLastPageNumberValue() == pageNumber) {
             return getRightX();
         }
         Double maxRight = null;
-        for (BoundingBox box : boundingBoxes) {
+        for (BoundingBox box : getBoundingBoxes()) {
             Double right = box.getRightX(pageNumber);
             if (maxRight == null || (right != null && maxRight < right)) {
                 maxRight = right;
@@ -183,14 +175,14 @@ public class MultiBoundingBox extends BoundingBox {
 
     @Override
     public Double getLeftX(int pageNumber) {
-        if (this.pageNumber > pageNumber || this.lastPageNumber < pageNumber) {
+        if (!containsPage(pageNumber)) {
             return null;
         }
-        if (this.pageNumber == pageNumber && this.lastPageNumber == pageNumber) {
+        if (getPageNumberValue() == pageNumber && getLastPageNumberValue() == pageNumber) {
             return getLeftX();
         }
         Double minLeft = null;
-        for (BoundingBox box : boundingBoxes) {
+        for (BoundingBox box : getBoundingBoxes()) {
             Double left = box.getLeftX(pageNumber);
             if (minLeft == null || (left != null && minLeft > left)) {
                 minLeft = left;
@@ -198,4 +190,73 @@ public class MultiBoundingBox extends BoundingBox {
         }
         return minLeft;
     }
+
+    private static int size(Object boundingBoxes) {
+        return boundingBoxes instanceof Concatenation ? ((Concatenation) boundingBoxes).size : 1;
+    }
+
+    private static final class Concatenation {
+
+        private final Object first;
+        private final Object second;
+        private final int size;
+
+        private Concatenation(Object first, Object second) {
+            this.first = first;
+            this.second = second;
+            this.size = size(first) + size(second);
+        }
+    }
+
+    private class BoundingBoxesView extends AbstractList<BoundingBox> {
+
+        @Override
+        public BoundingBox get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            Object node = boundingBoxes;
+            while (node instanceof Concatenation) {
+                Concatenation concatenation = (Concatenation) node;
+                int firstSize = MultiBoundingBox.size(concatenation.first);
+                if (index < firstSize) {
+                    node = concatenation.first;
+                } else {
+                    node = concatenation.second;
+                    index -= firstSize;
+                }
+            }
+            return (BoundingBox) node;
+        }
+
+        @Override
+        public int size() {
+            return MultiBoundingBox.size(boundingBoxes);
+        }
+
+        @Override
+        public Iterator<BoundingBox> iterator() {
+            Deque<Object> nodes = new ArrayDeque<>();
+            nodes.push(boundingBoxes);
+            return new Iterator<BoundingBox>() {
+                @Override
+                public boolean hasNext() {
+                    return !nodes.isEmpty();
+                }
+
+                @Override
+                public BoundingBox next() {
+                    if (nodes.isEmpty()) {
+                        throw new NoSuchElementException();
+                    }
+                    Object node = nodes.pop();
+                    while (node instanceof Concatenation) {
+                        nodes.push(((Concatenation) node).second);
+                        node = ((Concatenation) node).first;
+                    }
+                    return (BoundingBox) node;
+                }
+            };
+        }
+    }
 }
@@ -3,21 +3,38 @@ package org.verapdf.wcag.algorithms.entities.maps;
 import org.verapdf.wcag.algorithms.entities.INode;
 import org.verapdf.wcag.algorithms.entities.enums.SemanticType;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
+/**
+ * Maps tree nodes to their accumulated nodes. Nodes are compared by identity: nodes with an assigned node id
+ * are stored in an array indexed by this id, other nodes are kept in an identity map.
+ */
 public class AccumulatedNodeMapper {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private INode[] accumulatedNodes;
     private final Map<INode, INode> nodeToAccumulatedNodeMap;
 
     public AccumulatedNodeMapper() {
-        nodeToAccumulatedNodeMap = new HashMap<>();
+        this(INITIAL_CAPACITY);
+    }
+
+    public AccumulatedNodeMapper(int nodesNumber) {
+        accumulatedNodes = new INode[Math.max(nodesNumber, 1)];
+        nodeToAccumulatedNodeMap = new IdentityHashMap<>();
     }
 
     public INode get(INode node) {
         if (node == null) {
             return null;
         }
-        if (!nodeToAccumulatedNodeMap.containsKey(node)) {
+        int nodeId = node.getNodeId();
+        if (nodeId >= 0 && nodeId < accumulatedNodes.length && accumulatedNodes[nodeId] != null) {
+            return accumulatedNodes[nodeId];
+        }
+        if (nodeToAccumulatedNodeMap.isEmpty() || !nodeToAccumulatedNodeMap.containsKey(node)) {
             return node;
         }
         return nodeToAccumulatedNodeMap.get(node);
@@ -27,7 +44,21 @@ public class AccumulatedNodeMapper {
         if (node == null) {
             return;
         }
-        nodeToAccumulatedNodeMap.put(node, accumulatedNode);
+        int nodeId = node.getNodeId();
+        if (nodeId < 0 || accumulatedNode == null) {
+            if (nodeId >= 0 && nodeId < accumulatedNodes.length) {
+                accumulatedNodes[nodeId] = null;
+            }
+            nodeToAccumulatedNodeMap.put(node, accumulatedNode);
+            return;
+        }
+        if (nodeId >= accumulatedNodes.length) {
+            accumulatedNodes = Arrays.copyOf(accumulatedNodes, Math.max(nodeId + 1, 2 * accumulatedNodes.length));
+        }
+        accumulatedNodes[nodeId] = accumulatedNode;
+        if (!nodeToAccumulatedNodeMap.isEmpty()) {
+            nodeToAccumulatedNodeMap.remove(node);
+        }
     }
 
     public void updateNode(INode node, INode accumulatedNode, double correctSemanticScore, SemanticType semanticType) {
@@ -18,7 +18,7 @@ public class Table extends InfoChunk {
     private static final double ROW_WIDTH_FACTOR = 1.2; // Validation parameter
     private static final double INTER_TABLE_GAP_FACTOR = 1.8; // Parameter for table separation
 
-    private Long id = StaticContainers.getNextID();
+    private Long id;
     private List<TableRow> rows;
 
     private Double validationScore = null;
@@ -27,6 +27,11 @@ public class Table extends InfoChunk {
     private INode bodyNode;
 
     public Table(List<TableCluster> headers) {
+        this(headers, StaticContainers.getNextID());
+    }
+
+    public Table(List<TableCluster> headers, Long id) {
+        this.id = id;
         rows = new ArrayList<>();
         TableRow headersRow = new TableRow(SemanticType.TABLE_HEADERS, id);
         for (TableCluster header : headers) {
@@ -2,32 +2,47 @@ package org.verapdf.wcag.algorithms.entities.tables;
 
 import org.verapdf.wcag.algorithms.entities.geometry.BoundingBox;
 import org.verapdf.wcag.algorithms.entities.tables.tableBorders.TableBorder;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.StaticContainers;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ValidationContext;
 
-import java.util.List;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.function.IntConsumer;
 
+/**
+ * Table borders of the document by pages. Lookups by bounding box use a grid of the borders of each page built
+ * with the collection, so {@link #invalidate()} has to be called after the borders are changed.
+ */
 public class TableBordersCollection {
 
     private final List<SortedSet<TableBorder>> tableBorders;
+    private final List<TableBordersIndex> indexes;
 
     public TableBordersCollection() {
         tableBorders = new ArrayList<>();
+        indexes = new ArrayList<>();
     }
 
     public TableBordersCollection(List<List<TableBorderBuilder>> tableBorderBuilders) {
+        this(tableBorderBuilders, StaticContainers.getContext());
+    }
+
+    public TableBordersCollection(List<List<TableBorderBuilder>> tableBorderBuilders, ValidationContext context) {
         tableBorders = new ArrayList<>(tableBorderBuilders.size());
+        indexes = new ArrayList<>(tableBorderBuilders.size());
         for (List<TableBorderBuilder> builders : tableBorderBuilders) {
             SortedSet<TableBorder> borders = new TreeSet<>(new TableBorder.TableBordersComparator());
             for (TableBorderBuilder builder : builders) {
-                TableBorder border = new TableBorder(builder);
+                TableBorder border = new TableBorder(builder, context.getNextID());
                 if (!border.isBadTable()) {
                     borders.add(border);
                 }
             }
             tableBorders.add(borders);
         }
+        invalidate();
     }
 
     public List<SortedSet<TableBorder>> getTableBorders() {
@@ -41,14 +56,123 @@ public class TableBordersCollection {
         return new TreeSet<>();
     }
 
+    /**
+     * Rebuilds the grids used by {@link #getTableBorder(BoundingBox)}, should be called after the borders
+     * or pages of the collection are changed.
+     */
+    public void invalidate() {
+        indexes.clear();
+        for (SortedSet<TableBorder> borders : tableBorders) {
+            indexes.add(new TableBordersIndex(borders));
+        }
+    }
+
     public TableBorder getTableBorder(BoundingBox boundingBox) {
-        SortedSet<TableBorder> tableBorders = getTableBorders(boundingBox.getPageNumber());
+        Integer pageNumber = boundingBox.getPageNumber();
+        SortedSet<TableBorder> tableBorders = getTableBorders(pageNumber);
+        if (tableBorders.isEmpty()) {
+            return null;
+        }
+        if (pageNumber < indexes.size() && pageNumber.equals(boundingBox.getLastPageNumber()) &&
+                boundingBox.getLeftX() <= boundingBox.getRightX() &&
+                boundingBox.getBottomY() <= boundingBox.getTopY()) {
+            return indexes.get(pageNumber).getTableBorder(boundingBox);
+        }
         for (TableBorder tableBorder : tableBorders) {
-            if (tableBorder.getBoundingBox().contains(boundingBox, TableBorder.TABLE_BORDER_EPSILON,
-                    TableBorder.TABLE_BORDER_EPSILON)) {
+            if (contains(tableBorder, boundingBox)) {
                 return tableBorder;
             }
         }
         return null;
     }
+
+    private static boolean contains(TableBorder tableBorder, BoundingBox boundingBox) {
+        return tableBorder.getBoundingBox().contains(boundingBox, TableBorder.TABLE_BORDER_EPSILON,
+                TableBorder.TABLE_BORDER_EPSILON);
+    }
+
+    /**
+     * Uniform grid over the table borders of one page. A border containing a box (up to
+     * {@link TableBorder#TABLE_BORDER_EPSILON}) also contains its center, so a lookup only checks the borders
+     * registered in the cell of that center, in the order of the page set.
+     */
+    private static class TableBordersIndex {
+
+        private static final double INDEX_EPSILON = 2 * TableBorder.TABLE_BORDER_EPSILON;
+
+        private final TableBorder[] borders;
+        private final int[][] cells;
+        private final int columns;
+        private final int rows;
+        private final double minX;
+        private final double minY;
+        private final double cellWidth;
+        private final double cellHeight;
+
+        private TableBordersIndex(SortedSet<TableBorder> tableBorders) {
+            borders = tableBorders.toArray(new TableBorder[0]);
+            double maxX = -Double.MAX_VALUE;
+            double maxY = -Double.MAX_VALUE;
+            double left = Double.MAX_VALUE;
+            double bottom = Double.MAX_VALUE;
+            for (TableBorder border : borders) {
+                BoundingBox box = border.getBoundingBox();
+                left = Math.min(left, box.getLeftX() - INDEX_EPSILON);
+                bottom = Math.min(bottom, box.getBottomY() - INDEX_EPSILON);
+                maxX = Math.max(maxX, box.getRightX() + INDEX_EPSILON);
+                maxY = Math.max(maxY, box.getTopY() + INDEX_EPSILON);
+            }
+            minX = left;
+            minY = bottom;
+            int size = Math.max(1, (int) Math.ceil(Math.sqrt(borders.length)));
+            columns = size;
+            rows = size;
+            cellWidth = Math.max((maxX - minX) / columns, Double.MIN_NORMAL);
+            cellHeight = Math.max((maxY - minY) / rows, Double.MIN_NORMAL);
+            int[] counts = new int[columns * rows];
+            for (TableBorder border : borders) {
+                forEachCell(border.getBoundingBox(), cell -> counts[cell]++);
+            }
+            cells = new int[columns * rows][];
+            for (int cell = 0; cell < cells.length; cell++) {
+                cells[cell] = new int[counts[cell]];
+                counts[cell] = 0;
+            }
+            for (int i = 0; i < borders.length; i++) {
+                int borderIndex = i;
+                forEachCell(borders[i].getBoundingBox(), cell -> cells[cell][counts[cell]++] = borderIndex);
+            }
+        }
+
+        private void forEachCell(BoundingBox box, IntConsumer consumer) {
+            int fromColumn = getColumn(box.getLeftX() - INDEX_EPSILON);
+            int toColumn = getColumn(box.getRightX() + INDEX_EPSILON);
+            int fromRow = getRow(box.getBottomY() - INDEX_EPSILON);
+            int toRow = getRow(box.getTopY() + INDEX_EPSILON);
+            for (int row = fromRow; row <= toRow; row++) {
+                for (int column = fromColumn; column <= toColumn; column++) {
+                    consumer.accept(row * columns + column);
+                }
+            }
+        }
+
+        private int getColumn(double x) {
+            return Math.max(0, Math.min(columns - 1, (int) Math.floor((x - minX) / cellWidth)));
+        }
+
+        private int getRow(double y) {
+            return Math.max(0, Math.min(rows - 1, (int) Math.floor((y - minY) / cellHeight)));
+        }
+
+        private TableBorder getTableBorder(BoundingBox boundingBox) {
+            double centerX = 0.5 * (boundingBox.getLeftX() + boundingBox.getRightX());
+            double centerY = 0.5 * (boundingBox.getBottomY() + boundingBox.getTopY());
+            for (int borderIndex : cells[getRow(centerY) * columns + getColumn(centerX)]) {
+                if (contains(borders[borderIndex], boundingBox)) {
+                    return borders[borderIndex];
+                }
+            }
+            return null;
+        }
+    }
 }
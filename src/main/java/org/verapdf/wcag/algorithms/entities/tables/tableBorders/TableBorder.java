@@ -31,6 +31,10 @@ public class TableBorder extends BaseObject {
     private boolean isBadTable = false;
 
     public TableBorder(TableBorderBuilder builder) {
+        this(builder, StaticContainers.getNextID());
+    }
+
+    public TableBorder(TableBorderBuilder builder, Long recognizedStructureId) {
         super(new BoundingBox(builder.getBoundingBox()));
         xCoordinates = new LinkedList<>();
         xWidths = new LinkedList<>();
@@ -39,7 +43,7 @@ public class TableBorder extends BaseObject {
         yWidths = new LinkedList<>();
         calculateYCoordinates(builder);
         createMatrix(builder);
-        setRecognizedStructureId(StaticContainers.getNextID());
+        setRecognizedStructureId(recognizedStructureId);
     }
 
     private void calculateXCoordinates(TableBorderBuilder builder) {
@@ -1,112 +1,242 @@
 package org.verapdf.wcag.algorithms.semanticalgorithms;
 
 import org.verapdf.wcag.algorithms.entities.IDocument;
+import org.verapdf.wcag.algorithms.entities.INode;
 import org.verapdf.wcag.algorithms.entities.ITree;
 import org.verapdf.wcag.algorithms.entities.tables.TableBordersCollection;
 import org.verapdf.wcag.algorithms.semanticalgorithms.consumers.*;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ContrastRatioOptions;
 import org.verapdf.wcag.algorithms.semanticalgorithms.containers.StaticContainers;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ValidationContext;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.PageRasterProvider;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.WCAGStageMetricsRecorder;
 
 import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 public class AccumulatedNodeSemanticChecker implements ISemanticsChecker {
 
 	private static final Logger LOGGER = Logger.getLogger(AccumulatedNodeSemanticChecker.class.getCanonicalName());
 
+	private final ExecutorService executorService;
+
+	public AccumulatedNodeSemanticChecker() {
+		this(null);
+	}
+
+	/**
+	 * @param executorService executor for page-parallel stages, or null to run them sequentially
+	 */
+	public AccumulatedNodeSemanticChecker(ExecutorService executorService) {
+		this.executorService = executorService;
+	}
+
 	@Override
 	public void checkSemanticDocument(IDocument document, String fileName) {
 		StaticContainers.updateContainers(document);
+		checkSemanticDocument(StaticContainers.getContext(), fileName);
+	}
 
-		ITree tree = document.getTree();
-		if (tree == null) {
-			return;
-		}
-
-		LinesPreprocessingConsumer linesPreprocessingConsumer = new LinesPreprocessingConsumer();
-		if (!startNextStep(linesPreprocessingConsumer)) {
-			return;
-		}
-		linesPreprocessingConsumer.findTableBorders();
-		StaticContainers.setTableBordersCollection(new TableBordersCollection(linesPreprocessingConsumer.getTableBorders()));
+	/**
+	 * Checks the document taking rendered pages for contrast ratio detection from the provider instead of
+	 * the pdf file.
+	 *
+	 * @param rasterProvider provider of rendered pages, or null to skip contrast ratio detection.
+	 *                       The provider is not closed by the checker
+	 */
+	public void checkSemanticDocumentWithRasters(IDocument document, PageRasterProvider rasterProvider) {
+		StaticContainers.updateContainers(document);
+		checkSemanticDocumentWithRasters(StaticContainers.getContext(), rasterProvider);
+	}
 
-		SemanticDocumentPreprocessingConsumer semanticDocumentValidator = new SemanticDocumentPreprocessingConsumer();
-		if (!startNextStep(semanticDocumentValidator)) {
-			return;
-		}
-		tree.forEach(semanticDocumentValidator);
-		StaticContainers.setStructElementsNumber(semanticDocumentValidator.getStructElementsNumber());
-		StaticContainers.setTextChunksNumber(semanticDocumentValidator.getTextChunksNumber());
-
-		if (fileName != null) {
-			try (ContrastRatioConsumer contrastRatioConsumer = new ContrastRatioConsumer(fileName)) {
-				if (!startNextStep(contrastRatioConsumer)) {
-					return;
-				}
-				contrastRatioConsumer.calculateContrast(document.getTree());
-			} catch (IOException e) {
-				e.printStackTrace();
-				LOGGER.warning(e.getMessage());
-			}
-		}
+	public void checkSemanticDocument(ValidationContext context, String fileName) {
+		checkSemanticDocument(context, fileName, null);
+	}
 
-		AccumulatedNodeConsumer semanticDetectionValidator = new AccumulatedNodeConsumer();
-		if (!startNextStep(semanticDetectionValidator)) {
-			return;
-		}
-		tree.forEach(semanticDetectionValidator);
+	public void checkSemanticDocumentWithRasters(ValidationContext context, PageRasterProvider rasterProvider) {
+		checkSemanticDocument(context, null, rasterProvider);
+	}
 
-		HeadingCaptionConsumer headingCaptionConsumer = new HeadingCaptionConsumer();
-		if (!startNextStep(headingCaptionConsumer)) {
-			return;
+	private void checkSemanticDocument(ValidationContext context, String fileName, PageRasterProvider rasterProvider) {
+		ValidationContext previousContext = StaticContainers.hasContext() ? StaticContainers.getContext() : null;
+		StaticContainers.setContext(context);
+		try {
+			checkSemanticDocument(context, context.getDocument(), fileName, rasterProvider);
+		} finally {
+			StaticContainers.setContext(previousContext);
 		}
-		tree.forEach(headingCaptionConsumer);
+	}
 
-		TOCDetectionConsumer tocDetectionConsumer = new TOCDetectionConsumer();
-		if (!startNextStep(tocDetectionConsumer)) {
+	private void checkSemanticDocument(ValidationContext context, IDocument document, String fileName,
+	                                   PageRasterProvider rasterProvider) {
+		ITree tree = document.getTree();
+		if (tree == null) {
 			return;
 		}
-		tree.forEach(tocDetectionConsumer);
-
-		ListDetectionConsumer listDetectionConsumer = new ListDetectionConsumer();
-		if (!startNextStep(listDetectionConsumer)) {
-			return;
+		context.getWCAGValidationInfo().clearStageMetrics();
+		for (Step step : Step.values()) {
+			if (!runStep(step, context, tree, fileName, rasterProvider)) {
+				return;
+			}
 		}
-		tree.forEach(listDetectionConsumer);
+		context.getWCAGValidationInfo().setCurrentConsumer(null);
+	}
 
-		TableBorderConsumer tableBorderConsumer = new TableBorderConsumer();
-		if (!startNextStep(tableBorderConsumer)) {
-			return;
-		}
-		tableBorderConsumer.recognizeTables(tree);
+	/**
+	 * Runs one step of the checker on the document of the context and records its metrics. The steps depend on
+	 * the results of the previous ones, so they have to be run in the order of {@link Step#values()}.
+	 * The contrast ratio step needs the source pdf file and does nothing here.
+	 *
+	 * @return false if the processing was aborted
+	 */
+	public boolean runStep(Step step, ValidationContext context) {
+		return runStep(step, context, context.getDocument().getTree(), null, null);
+	}
 
-		TableChecker tableChecker = new TableChecker();
-		if (!startNextStep(tableChecker)) {
-			return;
+	private boolean runStep(Step step, ValidationContext context, ITree tree, String fileName,
+	                        PageRasterProvider rasterProvider) {
+		WCAGStageMetricsRecorder recorder = WCAGStageMetricsRecorder.start();
+		switch (step) {
+			case LINES_PREPROCESSING:
+				LinesPreprocessingConsumer linesPreprocessingConsumer = new LinesPreprocessingConsumer(context);
+				if (!startNextStep(context, linesPreprocessingConsumer)) {
+					return false;
+				}
+				if (executorService != null) {
+					linesPreprocessingConsumer.findTableBorders(executorService);
+				} else {
+					linesPreprocessingConsumer.findTableBorders();
+				}
+				context.setTableBordersCollection(new TableBordersCollection(
+						linesPreprocessingConsumer.getTableBorders(), context));
+				finishStep(context, linesPreprocessingConsumer, recorder, -1);
+				return true;
+			case SEMANTIC_PREPROCESSING:
+				SemanticDocumentPreprocessingConsumer semanticDocumentValidator =
+						new SemanticDocumentPreprocessingConsumer(context);
+				if (!runTreeStep(context, tree, semanticDocumentValidator, recorder)) {
+					return false;
+				}
+				context.setStructElementsNumber(semanticDocumentValidator.getStructElementsNumber());
+				context.setTextChunksNumber(semanticDocumentValidator.getTextChunksNumber());
+				return true;
+			case CONTRAST_RATIO:
+				if (rasterProvider == null && fileName == null) {
+					return true;
+				}
+				try (ContrastRatioConsumer contrastRatioConsumer = rasterProvider != null ?
+				                                                   new ContrastRatioConsumer(context, rasterProvider) :
+				                                                   new ContrastRatioConsumer(context, fileName)) {
+					if (!startNextStep(context, contrastRatioConsumer)) {
+						return false;
+					}
+					ContrastRatioOptions options = context.getContrastRatioOptions();
+					if (options.isGroupedByPages()) {
+						contrastRatioConsumer.calculateContrastByPages(tree, options.getRenderersNumber());
+					} else {
+						contrastRatioConsumer.calculateContrast(tree);
+					}
+					finishStep(context, contrastRatioConsumer, recorder, -1);
+				} catch (IOException e) {
+					e.printStackTrace();
+					LOGGER.warning(e.getMessage());
+				}
+				return true;
+			case PARAGRAPH_ACCUMULATION:
+				return runTreeStep(context, tree, new AccumulatedNodeConsumer(context), recorder);
+			case HEADING_CAPTION:
+				return runTreeStep(context, tree, new HeadingCaptionConsumer(context), recorder);
+			case TOC:
+				return runTreeStep(context, tree, new TOCDetectionConsumer(context), recorder);
+			case LISTS:
+				return runTreeStep(context, tree, new ListDetectionConsumer(context), recorder);
+			case TABLE_BORDERS:
+				TableBorderConsumer tableBorderConsumer = new TableBorderConsumer(context);
+				if (!startNextStep(context, tableBorderConsumer)) {
+					return false;
+				}
+				tableBorderConsumer.recognizeTables(tree);
+				finishStep(context, tableBorderConsumer, recorder, -1);
+				return true;
+			case TABLE_CHECKER:
+				return runTreeStep(context, tree, new TableChecker(context), recorder);
+			case CLUSTER_TABLES:
+				ClusterTableConsumer tableFinder = new ClusterTableConsumer(context);
+				if (!startNextStep(context, tableFinder)) {
+					return false;
+				}
+				tableFinder.findTables(tree.getRoot());
+				finishStep(context, tableFinder, recorder, -1);
+				return true;
+			case POSTPROCESSING:
+				SemanticDocumentPostprocessingConsumer documentPostprocessingConsumer =
+						new SemanticDocumentPostprocessingConsumer(context);
+				if (!startNextStep(context, documentPostprocessingConsumer)) {
+					return false;
+				}
+				documentPostprocessingConsumer.runPostprocessingChecks(tree);
+				finishStep(context, documentPostprocessingConsumer, recorder, -1);
+				return true;
+			default:
+				throw new IllegalArgumentException("Unknown step " + step);
 		}
-		tree.forEach(tableChecker);
+	}
 
-		ClusterTableConsumer tableFinder = new ClusterTableConsumer();
-		if (!startNextStep(tableFinder)) {
-			return;
+	private static <T extends WCAGConsumer & Consumer<INode>> boolean runTreeStep(ValidationContext context, ITree tree,
+	                                                                              T consumer,
+	                                                                              WCAGStageMetricsRecorder recorder) {
+		if (!startNextStep(context, consumer)) {
+			return false;
 		}
-		tableFinder.findTables(tree.getRoot());
+		long visitedNodesNumber = forEach(tree, consumer);
+		finishStep(context, consumer, recorder, visitedNodesNumber);
+		return true;
+	}
 
-		SemanticDocumentPostprocessingConsumer documentPostprocessingConsumer = new SemanticDocumentPostprocessingConsumer();
-		if (!startNextStep(documentPostprocessingConsumer)) {
-			return;
+	private static long forEach(ITree tree, Consumer<INode> consumer) {
+		long visitedNodesNumber = 0;
+		for (INode node : tree) {
+			consumer.accept(node);
+			visitedNodesNumber++;
 		}
-		documentPostprocessingConsumer.runPostprocessingChecks(tree);
+		return visitedNodesNumber;
+	}
 
-		StaticContainers.getWCAGValidationInfo().setCurrentConsumer(null);
+	private static void finishStep(ValidationContext context, WCAGConsumer consumer, WCAGStageMetricsRecorder recorder,
+	                               long visitedNodesNumber) {
+		context.getWCAGValidationInfo().addStageMetrics(recorder.finish(consumer, visitedNodesNumber));
 	}
 
 	public static boolean startNextStep(WCAGConsumer consumer) {
-		if (StaticContainers.getWCAGValidationInfo().getAbortProcessing()) {
-			StaticContainers.getWCAGValidationInfo().setAbortProcessing(false);
-			StaticContainers.getWCAGValidationInfo().setCurrentConsumer(null);
+		return startNextStep(consumer.getContext(), consumer);
+	}
+
+	public static boolean startNextStep(ValidationContext context, WCAGConsumer consumer) {
+		if (context.getWCAGValidationInfo().getAbortProcessing()) {
+			context.getWCAGValidationInfo().setAbortProcessing(false);
+			context.getWCAGValidationInfo().setCurrentConsumer(null);
 			return false;
 		}
-		StaticContainers.getWCAGValidationInfo().setCurrentConsumer(consumer);
+		context.getWCAGValidationInfo().setCurrentConsumer(consumer);
 		return true;
 	}
+
+	/**
+	 * Steps of the checker in the order they are run.
+	 */
+	public enum Step {
+		LINES_PREPROCESSING,
+		SEMANTIC_PREPROCESSING,
+		CONTRAST_RATIO,
+		PARAGRAPH_ACCUMULATION,
+		HEADING_CAPTION,
+		TOC,
+		LISTS,
+		TABLE_BORDERS,
+		TABLE_CHECKER,
+		CLUSTER_TABLES,
+		POSTPROCESSING
+	}
 }
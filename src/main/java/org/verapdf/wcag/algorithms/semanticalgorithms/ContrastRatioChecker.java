@@ -3,11 +3,12 @@ package org.verapdf.wcag.algorithms.semanticalgorithms;
 import org.verapdf.wcag.algorithms.entities.ITree;
 import org.verapdf.wcag.algorithms.entities.enums.TextType;
 import org.verapdf.wcag.algorithms.semanticalgorithms.consumers.ContrastRatioConsumer;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.ColorHistogram;
 
-import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -79,43 +80,18 @@ public class ContrastRatioChecker {
 		return false;
 	}
 
-	private double relativeLuminosity(Color color) {
-		double normalizedRed = normalizeColorComponent(color.getRed());
-		double normalizeGreen = normalizeColorComponent(color.getGreen());
-		double normalizeBlue = normalizeColorComponent(color.getBlue());
-		return 0.2126 * normalizedRed + 0.7152 * normalizeGreen + 0.0722 * normalizeBlue;
-	}
-
-	private double normalizeColorComponent(int colorComponent) {
-		double doubleColorComponent = colorComponent / 255.;
-		return doubleColorComponent < 0.03928 ? doubleColorComponent / 12.92 :
-		       Math.pow(((doubleColorComponent + 0.055) / 1.055), 2.4);
-	}
-
 	private List<DataPoint> getLuminosityPresenceList(BufferedImage bim) {
-		int width = bim.getWidth();
-		int height = bim.getHeight();
-		Map<Color, DataPoint> colorMap = new HashMap<>();
-
-		for (int i = 0; i < width; i++) {
-			for (int j = 0; j < height; j++) {
-				int rgb = bim.getRGB(i, j); //always returns TYPE_INT_ARGB
-				int alpha = (rgb >> 24) & 0xFF;// not used for now, should remove?
-				int red = (rgb >> 16) & 0xFF;
-				int green = (rgb >> 8) & 0xFF;
-				int blue = (rgb) & 0xFF;
-				Color color = new Color(red, green, blue);
-
-				if (colorMap.containsKey(color)) {
-					colorMap.get(color).totalOccurrence++;
-				} else {
-					double relativeLuminosity = relativeLuminosity(color);
-					colorMap.put(color, new DataPoint(relativeLuminosity));
-				}
-			}
+		ColorHistogram histogram = new ColorHistogram();
+		histogram.compute(bim);
+		List<DataPoint> dataPoints = new ArrayList<>(histogram.size());
+		for (int i = 0; i < histogram.size(); i++) {
+			DataPoint dataPoint = new DataPoint(histogram.getRelativeLuminosity(i));
+			dataPoint.setTotalOccurrence(histogram.getCount(i));
+			dataPoints.add(dataPoint);
 		}
-
-		return new ArrayList<>(new TreeSet<>(colorMap.values()));
+		// relative luminosity is different for different colors
+		dataPoints.sort(Comparator.naturalOrder());
+		return dataPoints;
 	}
 
 	private List<DataPoint> findLocalMaximums(List<DataPoint> source) {
@@ -5,7 +5,7 @@ import org.verapdf.wcag.algorithms.entities.content.*;
 import org.verapdf.wcag.algorithms.entities.enums.SemanticType;
 import org.verapdf.wcag.algorithms.entities.enums.TextFormat;
 import org.verapdf.wcag.algorithms.entities.geometry.MultiBoundingBox;
-import org.verapdf.wcag.algorithms.semanticalgorithms.containers.StaticContainers;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ValidationContext;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.*;
 
 import java.util.*;
@@ -24,11 +24,15 @@ public class AccumulatedNodeConsumer extends WCAGConsumer implements Consumer<IN
 	public AccumulatedNodeConsumer() {
 	}
 
+	public AccumulatedNodeConsumer(ValidationContext context) {
+		super(context);
+	}
+
 	@Override
 	public void accept(INode node) {
 
 		if (node.getChildren().isEmpty()) {
-			StaticContainers.getAccumulatedNodeMapper().updateNode(node, node, 1.0, node.getSemanticType());
+			context.getAccumulatedNodeMapper().updateNode(node, node, 1.0, node.getSemanticType());
 			return;
 		}
 
@@ -48,7 +52,7 @@ public class AccumulatedNodeConsumer extends WCAGConsumer implements Consumer<IN
 	}
 
 	private void checkSemanticSpanChildren(INode node) {
-		INode accumulatedNode = StaticContainers.getAccumulatedNodeMapper().get(node);
+		INode accumulatedNode = context.getAccumulatedNodeMapper().get(node);
 		if (!(accumulatedNode instanceof SemanticTextNode)) {
 			return;
 		}
@@ -63,7 +67,7 @@ public class AccumulatedNodeConsumer extends WCAGConsumer implements Consumer<IN
 				continue;
 			}
 			for (TextColumn textColumn : ((SemanticSpan)child).getColumns()) {
-				for (TextLine textLine : textColumn.getLines()) {
+				for (TextLine textLine : textColumn.getTextLines()) {
 					for (TextChunk textChunk : textLine.getTextChunks()) {
 						if (TextChunkUtils.isWhiteSpaceChunk(textChunk)) {
 							continue;
@@ -88,7 +92,7 @@ public class AccumulatedNodeConsumer extends WCAGConsumer implements Consumer<IN
 	private void acceptSemanticImage(INode node) {
 		SemanticFigure figureNode = null;
 		for (INode child : node.getChildren()) {
-			INode accumulatedChild = StaticContainers.getAccumulatedNodeMapper().get(child);
+			INode accumulatedChild = context.getAccumulatedNodeMapper().get(child);
 			if (accumulatedChild instanceof SemanticTextNode) {
 				if (!((SemanticTextNode)accumulatedChild).isEmpty() && !((SemanticTextNode)accumulatedChild).isSpaceNode()) {
 					return;
@@ -103,14 +107,14 @@ public class AccumulatedNodeConsumer extends WCAGConsumer implements Consumer<IN
 			}
 		}
 		if (figureNode != null) {
-			StaticContainers.getAccumulatedNodeMapper().updateNode(node, figureNode, 1.0, SemanticType.FIGURE);
+			context.getAccumulatedNodeMapper().updateNode(node, figureNode, 1.0, SemanticType.FIGURE);
 		}
 	}
 
 	private void acceptSemanticAnnot(INode node) {
 		SemanticAnnot annot = null;
 		for (INode child : node.getChildren()) {
-			INode accumulatedChild = StaticContainers.getAccumulatedNodeMapper().get(child);
+			INode accumulatedChild = context.getAccumulatedNodeMapper().get(child);
 			if (accumulatedChild instanceof SemanticTextNode) {
 				if (!((SemanticTextNode)accumulatedChild).isEmpty() && !((SemanticTextNode)accumulatedChild).isSpaceNode()) {
 					return;
@@ -124,7 +128,7 @@ public class AccumulatedNodeConsumer extends WCAGConsumer implements Consumer<IN
 			}
 		}
 		if (annot != null) {
-			StaticContainers.getAccumulatedNodeMapper().updateNode(node, annot, 1.0, SemanticType.ANNOT);
+			context.getAccumulatedNodeMapper().updateNode(node, annot, 1.0, SemanticType.ANNOT);
 		}
 	}
 
@@ -137,7 +141,7 @@ public class AccumulatedNodeConsumer extends WCAGConsumer implements Consumer<IN
 					 (child instanceof SemanticAnnot)) {
 				continue;
 			}
-			INode accumulatedChild = StaticContainers.getAccumulatedNodeMapper().get(child);
+			INode accumulatedChild = context.getAccumulatedNodeMapper().get(child);
 			if (accumulatedChild instanceof SemanticFigure) {
 				boundingBox.union(child.getBoundingBox());
 				continue;
@@ -177,7 +181,7 @@ public class AccumulatedNodeConsumer extends WCAGConsumer implements Consumer<IN
 				accumulatedNode = new SemanticParagraph(part.getBoundingBox(), part.getColumns());
 			}
 		}
-		StaticContainers.getAccumulatedNodeMapper().updateNode(node, accumulatedNode, probability, semanticType);
+		context.getAccumulatedNodeMapper().updateNode(node, accumulatedNode, probability, semanticType);
 	}
 
 	private static boolean isAppropriateSpanChild(INode child) {
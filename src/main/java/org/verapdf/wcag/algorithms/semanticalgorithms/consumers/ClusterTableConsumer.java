@@ -10,6 +10,7 @@ import org.verapdf.wcag.algorithms.entities.lists.PDFList;
 import org.verapdf.wcag.algorithms.entities.tables.*;
 import org.verapdf.wcag.algorithms.entities.tables.tableBorders.TableBorder;
 import org.verapdf.wcag.algorithms.semanticalgorithms.containers.StaticContainers;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ValidationContext;
 import org.verapdf.wcag.algorithms.semanticalgorithms.tables.TableCluster;
 import org.verapdf.wcag.algorithms.semanticalgorithms.tables.TableRecognitionArea;
 import org.verapdf.wcag.algorithms.semanticalgorithms.tables.TableRecognizer;
@@ -27,6 +28,11 @@ public class ClusterTableConsumer extends WCAGConsumer {
     private final List<PDFList> lists;
 
     public ClusterTableConsumer() {
+        this(StaticContainers.getContext());
+    }
+
+    public ClusterTableConsumer(ValidationContext context) {
+        super(context);
         tables = new ArrayList<>();
         lists = new ArrayList<>();
         init();
@@ -60,14 +66,14 @@ public class ClusterTableConsumer extends WCAGConsumer {
 
     private void acceptChildren(INode node) {
         if (node.getSemanticType() == SemanticType.TABLE) {
-            INode accumulatedNode = StaticContainers.getAccumulatedNodeMapper().get(node);
+            INode accumulatedNode = context.getAccumulatedNodeMapper().get(node);
             if (accumulatedNode instanceof SemanticTable) {
                 TableToken token = new TableToken(((SemanticTable)accumulatedNode).getTableBorder());
                 accept(token, node);
             }
             return;
         } else if (node.getSemanticType() == SemanticType.PARAGRAPH) {
-            INode accumulatedNode = StaticContainers.getAccumulatedNodeMapper().get(node);
+            INode accumulatedNode = context.getAccumulatedNodeMapper().get(node);
             if (accumulatedNode instanceof SemanticParagraph) {
                 SemanticParagraph paragraph = (SemanticParagraph)accumulatedNode;
                 if (paragraph.isEmpty() || paragraph.isSpaceNode()) {
@@ -80,7 +86,7 @@ public class ClusterTableConsumer extends WCAGConsumer {
                 }
             }
         } else if (node.getSemanticType() == SemanticType.LIST) {
-            INode accumulatedNode = StaticContainers.getAccumulatedNodeMapper().get(node);
+            INode accumulatedNode = context.getAccumulatedNodeMapper().get(node);
             if (accumulatedNode instanceof SemanticList) {
                 SemanticList list = (SemanticList)accumulatedNode;
                 if (list.getNumberOfListColumns() == 1 && node.getChildren().size() ==
@@ -105,18 +111,14 @@ public class ClusterTableConsumer extends WCAGConsumer {
             if (node instanceof SemanticTextNode) {
 
                 SemanticTextNode textNode = (SemanticTextNode) node;
-                for (TextColumn column : textNode.getColumns()) {
-                    for (TextLine line : column.getLines()) {
-                        for (TextChunk chunk : line.getTextChunks()) {
+                for (TextChunk chunk : textNode.getTextChunks()) {
 
-                            if (TextChunkUtils.isWhiteSpaceChunk(chunk)) {
-                                continue;
-                            }
-
-                            TableToken token = new TableToken(chunk, node);
-                            accept(token, node);
-                        }
+                    if (TextChunkUtils.isWhiteSpaceChunk(chunk)) {
+                        continue;
                     }
+
+                    TableToken token = new TableToken(chunk, node);
+                    accept(token, node);
                 }
             } else if (node instanceof SemanticFigure) {
                 SemanticFigure imageNode = (SemanticFigure) node;
@@ -129,7 +131,7 @@ public class ClusterTableConsumer extends WCAGConsumer {
     }
 
     private void findTableBorder() {
-        TableBorder tableBorder = StaticContainers.getTableBordersCollection().getTableBorder(recognitionArea.getBoundingBox());
+        TableBorder tableBorder = context.getTableBordersCollection().getTableBorder(recognitionArea.getBoundingBox());
         if (tableBorder != null) {
             recognitionArea.setTableBorder(tableBorder);
         }
@@ -155,7 +157,7 @@ public class ClusterTableConsumer extends WCAGConsumer {
     }
 
     private List<INode> recognize() {
-        TableRecognizer recognizer = new TableRecognizer(recognitionArea);
+        TableRecognizer recognizer = new TableRecognizer(recognitionArea, context);
         recognizer.recognize();
         Table recognizedTable = recognizer.getTable();
 
@@ -308,7 +310,7 @@ public class ClusterTableConsumer extends WCAGConsumer {
                 } else if (tableRoot.getLastPageNumber() == null || table.getPageNumber().equals(tableRoot.getLastPageNumber())) {
                     updateTableNode(table, tableRoot);
                     for (int index = firstTablePartIndex; index < i; index++) {
-                        StaticContainers.getIdMapper().put(tables.get(index).getId(), table.getId());
+                        context.getIdMapper().put(tables.get(index).getId(), table.getId());
                         tables.get(index).setId(table.getId());
                     }
                 }
@@ -337,15 +339,19 @@ public class ClusterTableConsumer extends WCAGConsumer {
         }
         if (updateNode(tableRoot, table.getId(), SemanticType.TABLE,
                 table.getTableBorder() != null, table.getBoundingBox())) {
-            detectTableCaptions(table.getBoundingBox(), tableRoot);
+            detectTableCaptions(context, table.getBoundingBox(), tableRoot);
         }
     }
 
     public static void detectTableCaptions(BoundingBox tableBoundingBox, INode tableRoot) {
+        detectTableCaptions(StaticContainers.getContext(), tableBoundingBox, tableRoot);
+    }
+
+    public static void detectTableCaptions(ValidationContext context, BoundingBox tableBoundingBox, INode tableRoot) {
         INode previousNode = tableRoot.getPreviousNeighbor();
         INode nextNode = tableRoot.getNextNeighbor();
-        double previousCaptionProbability = CaptionUtils.tableCaptionProbability(previousNode, tableBoundingBox);
-        double nextCaptionProbability = CaptionUtils.tableCaptionProbability(nextNode, tableBoundingBox);
+        double previousCaptionProbability = CaptionUtils.tableCaptionProbability(context, previousNode, tableBoundingBox);
+        double nextCaptionProbability = CaptionUtils.tableCaptionProbability(context, nextNode, tableBoundingBox);
         double captionProbability;
         INode captionNode;
         if (previousCaptionProbability > nextCaptionProbability) {
@@ -356,8 +362,8 @@ public class ClusterTableConsumer extends WCAGConsumer {
             captionNode = nextNode;
         }
         if (captionProbability >= TableUtils.MERGE_PROBABILITY_THRESHOLD) {
-            StaticContainers.getAccumulatedNodeMapper().updateNode(captionNode,
-                    new SemanticCaption((SemanticTextNode) StaticContainers.getAccumulatedNodeMapper().get(captionNode)),
+            context.getAccumulatedNodeMapper().updateNode(captionNode,
+                    new SemanticCaption((SemanticTextNode) context.getAccumulatedNodeMapper().get(captionNode)),
                     captionProbability * captionNode.getCorrectSemanticScore(), SemanticType.CAPTION);
         }
     }
@@ -509,7 +515,7 @@ public class ClusterTableConsumer extends WCAGConsumer {
             if (itemNode != null) {
                 updateNode(itemNode, list.getRecognizedStructureId(), SemanticType.LIST_ITEM, false, list.getBoundingBox());
                 nodes.add(itemNode);
-                if (ListDetectionConsumer.isTwoListItemsOnTwoPages(itemNode)) {
+                if (ListDetectionConsumer.isTwoListItemsOnTwoPages(context, itemNode)) {
                     if (itemNode.getPageNumber() < item.getPageNumber()) {
                         ListItem newItem = new ListItem(itemNode.getBoundingBox().getBoundingBox(itemNode.getPageNumber()),
                                 list.getRecognizedStructureId());
@@ -527,7 +533,7 @@ public class ClusterTableConsumer extends WCAGConsumer {
             }
         }
         if (!hasTaggedListItems) {
-            StaticContainers.getListsCollection().add(list);
+            context.getListsCollection().add(list);
         }
         if (nodes.size() == 1) {
             return nodes.iterator().next();
@@ -583,16 +589,12 @@ public class ClusterTableConsumer extends WCAGConsumer {
     }
 
     private static boolean isTextNodeInsideTable(SemanticTextNode textNode, BoundingBox boundingBox) {
-        for (TextColumn column : textNode.getColumns()) {
-            for (TextLine line : column.getLines()) {
-                for (TextChunk chunk : line.getTextChunks()) {
-                    if (!TextChunkUtils.isWhiteSpaceChunk(chunk) && boundingBox.getPageNumber() <= chunk.getPageNumber()
-                            && boundingBox.getLastPageNumber() >= chunk.getLastPageNumber() &&
-                            !boundingBox.contains(chunk.getBoundingBox(), TableBorder.TABLE_BORDER_EPSILON,
-                                    TableBorder.TABLE_BORDER_EPSILON)) {
-                        return false;
-                    }
-                }
+        for (TextChunk chunk : textNode.getTextChunks()) {
+            if (!TextChunkUtils.isWhiteSpaceChunk(chunk) && boundingBox.getPageNumber() <= chunk.getPageNumber()
+                    && boundingBox.getLastPageNumber() >= chunk.getLastPageNumber() &&
+                    !boundingBox.contains(chunk.getBoundingBox(), TableBorder.TABLE_BORDER_EPSILON,
+                            TableBorder.TABLE_BORDER_EPSILON)) {
+                return false;
             }
         }
         return true;
@@ -749,4 +751,12 @@ public class ClusterTableConsumer extends WCAGConsumer {
     public WCAGProgressStatus getWCAGProgressStatus() {
         return WCAGProgressStatus.TABLE_DETECTION;
     }
+
+    @Override
+    public Map<String, Long> getMetricsCounters() {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        counters.put("tables", (long) tables.size());
+        counters.put("lists", (long) lists.size());
+        return counters;
+    }
 }
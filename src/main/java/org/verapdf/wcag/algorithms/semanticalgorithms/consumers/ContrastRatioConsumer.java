@@ -1,65 +1,472 @@
 package org.verapdf.wcag.algorithms.semanticalgorithms.consumers;
 
-import com.github.jaiimageio.jpeg2000.impl.J2KImageReaderSpi;
-import org.apache.pdfbox.jbig2.JBIG2ImageReaderSpi;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessRead;
 import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.rendering.ImageType;
-import org.apache.pdfbox.rendering.PDFRenderer;
 import org.verapdf.wcag.algorithms.entities.INode;
 import org.verapdf.wcag.algorithms.entities.ITree;
 import org.verapdf.wcag.algorithms.entities.SemanticTextNode;
 import org.verapdf.wcag.algorithms.entities.content.TextChunk;
-import org.verapdf.wcag.algorithms.entities.content.TextColumn;
-import org.verapdf.wcag.algorithms.entities.content.TextLine;
 import org.verapdf.wcag.algorithms.entities.geometry.BoundingBox;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ContrastRatioOptions;
 import org.verapdf.wcag.algorithms.semanticalgorithms.containers.StaticContainers;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ValidationContext;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.ColorHistogram;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.ColorIntegralImage;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.NodeUtils;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.PDFBoxPageRasterProvider;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.PageRasterProvider;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.RenderedPage;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.RenderedPagesCache;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.TextChunkUtils;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.WCAGProgressStatus;
 
-import javax.imageio.spi.IIORegistry;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.Closeable;
-import java.io.FileInputStream;
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 public class ContrastRatioConsumer extends WCAGConsumer implements Consumer<INode>, Closeable {
 
-	private final Map<Integer, BufferedImage> renderedPages = new HashMap<>();
 	private static final Logger logger = Logger.getLogger(ContrastRatioConsumer.class.getCanonicalName());
 	private static final int RENDER_DPI = 144;
 	private static final int PDF_DPI = 72;
+	private static final int FONT_SIZE_RENDER_PIXELS = 24;
 	private static final double LUMINOSITY_DIFFERENCE = 0.001;
+	private static final int MAX_RENDERED_AHEAD_PAGES_PER_RENDERER = 2;
+	// summed-area tables of a region with up to 4 colors are built in 1.3-1.8 times the time of counting its colors
+	private static final int INTEGRAL_IMAGE_MIN_CHUNKS_AREA_RATIO = 2;
+	// regions of text closer than a line of 12pt text are rendered together
+	private static final double PAGE_REGIONS_GAP = 12;
+	// every region is rendered by a separate pass over the page content
+	private static final int MAX_PAGE_REGIONS_NUMBER = 8;
 	private long processedTextChunks;
 	private final Long textChunksNumber;
-	private final PDDocument document;
+	private final PageRasterProvider rasterProvider;
+	private final boolean isRasterProviderOwner;
+	private int minRenderDpi = Integer.MAX_VALUE;
+	private int maxRenderDpi = 0;
+	private long renderDpiSum = 0;
+	private long scheduledPagesNumber = 0;
+	private final ColorHistogram colorHistogram = new ColorHistogram();
+	private final ContrastVerdictCache verdictCache;
+	private final ColorIntegralImage colorIntegralImage;
+	private boolean isIntegralImageComputed = false;
+	private long integralImagesNumber = 0;
+	private long integralImageChunksNumber = 0;
+	private final RenderedPagesCache renderedPages;
 
 	public ContrastRatioConsumer(String sourcePdfPath) throws IOException {
-		this.document = PDDocument.load(new FileInputStream(sourcePdfPath));
-		IIORegistry registry = IIORegistry.getDefaultInstance();
-		registry.registerServiceProvider(new J2KImageReaderSpi());
-		registry.registerServiceProvider(new JBIG2ImageReaderSpi());
+		this(StaticContainers.getContext(), sourcePdfPath);
+	}
+
+	public ContrastRatioConsumer(ValidationContext context, String sourcePdfPath) throws IOException {
+		this(context, new File(sourcePdfPath));
+	}
+
+	public ContrastRatioConsumer(ValidationContext context, Path sourcePdf) throws IOException {
+		this(context, sourcePdf.toFile());
+	}
+
+	public ContrastRatioConsumer(ValidationContext context, File sourcePdf) throws IOException {
+		this(context, sourcePdf, getMemoryUsageSetting(context));
+	}
+
+	/**
+	 * @param memoryUsageSetting memory used for the buffers of the document, it is divided between the workers
+	 *                           when pages are rendered by several workers
+	 */
+	public ContrastRatioConsumer(ValidationContext context, File sourcePdf,
+	                             MemoryUsageSetting memoryUsageSetting) throws IOException {
+		this(context, new PDFBoxPageRasterProvider(sourcePdf, memoryUsageSetting), true);
+	}
+
+	/**
+	 * The document is loaded from the source, the source is closed together with the consumer.
+	 * Pages are always rendered in the current thread.
+	 */
+	public ContrastRatioConsumer(ValidationContext context, RandomAccessRead source,
+	                             MemoryUsageSetting memoryUsageSetting) throws IOException {
+		this(context, new PDFBoxPageRasterProvider(source, memoryUsageSetting), true);
+	}
+
+	/**
+	 * The document is not closed by the consumer. Pages are always rendered in the current thread.
+	 */
+	public ContrastRatioConsumer(ValidationContext context, PDDocument document) {
+		this(context, new PDFBoxPageRasterProvider(document), true);
+	}
+
+	/**
+	 * The provider is not closed by the consumer. Pages are rendered by several workers only if the provider
+	 * supports copies.
+	 */
+	public ContrastRatioConsumer(ValidationContext context, PageRasterProvider rasterProvider) {
+		this(context, rasterProvider, false);
+	}
+
+	private ContrastRatioConsumer(ValidationContext context, PageRasterProvider rasterProvider,
+	                              boolean isRasterProviderOwner) {
+		super(context);
+		this.rasterProvider = rasterProvider;
+		this.isRasterProviderOwner = isRasterProviderOwner;
 		this.processedTextChunks = 0;
-		this.textChunksNumber = StaticContainers.getTextChunksNumber();
+		this.textChunksNumber = context.getTextChunksNumber();
+		ContrastRatioOptions options = context.getContrastRatioOptions();
+		this.renderedPages = new RenderedPagesCache(options.getRenderedPagesCacheSize());
+		this.verdictCache = options.isMemoization() ? new ContrastVerdictCache() : null;
+		this.colorIntegralImage = options.isIntegralImages() ? new ColorIntegralImage() : null;
 	}
 
 	public void calculateContrast(ITree tree) {
 		for (INode node : tree) {
 			accept(node);
-			if (StaticContainers.getWCAGValidationInfo().getAbortProcessing()) {
+			if (context.getWCAGValidationInfo().getAbortProcessing()) {
 				break;
 			}
 		}
 	}
 
+	/**
+	 * Calculates contrast ratio page by page instead of the tree order. Every page is rendered once and only one
+	 * rendered page is kept in memory.
+	 */
+	public void calculateContrastByPages(ITree tree) {
+		calculateContrastByPages(tree, 1);
+	}
+
+	/**
+	 * Calculates contrast ratio page by page, rendering pages by several workers ahead of the processing.
+	 * Every worker uses its own copy of the page raster provider. The results are the same as in the sequential mode.
+	 *
+	 * @param renderersNumber number of workers rendering pages, pages are rendered in the current thread if it is 1
+	 *                        or the page raster provider does not support copies
+	 */
+	public void calculateContrastByPages(ITree tree, int renderersNumber) {
+		Map<Integer, List<SemanticTextNode>> pagesNodes = new TreeMap<>();
+		for (INode node : tree) {
+			if (node.getChildren().isEmpty() && (node instanceof SemanticTextNode) && node.getPageNumber() != null) {
+				pagesNodes.computeIfAbsent(node.getPageNumber(), key -> new ArrayList<>()).add((SemanticTextNode) node);
+			}
+		}
+		Map<Integer, Integer> pagesDpi = new HashMap<>();
+		for (Map.Entry<Integer, List<SemanticTextNode>> entry : pagesNodes.entrySet()) {
+			int dpi = getRenderDpi(entry.getValue());
+			pagesDpi.put(entry.getKey(), dpi);
+			minRenderDpi = Math.min(minRenderDpi, dpi);
+			maxRenderDpi = Math.max(maxRenderDpi, dpi);
+			renderDpiSum += dpi;
+			scheduledPagesNumber++;
+		}
+		Map<Integer, List<Rectangle>> pagesRegions = context.getContrastRatioOptions().isRegionsRendering() ?
+		                                       getPagesRegions(pagesNodes, pagesDpi) : null;
+		PagesRenderingPipeline.PageRenderer pageRenderer = (provider, pageNumber) ->
+				renderPage(provider, pageNumber, pagesDpi.get(pageNumber), pagesRegions);
+		boolean canCreateCopies = rasterProvider.canCreateCopies();
+		if (renderersNumber > 1 && !canCreateCopies) {
+			logger.log(Level.FINE, "Page raster provider does not support copies, pages are rendered sequentially");
+		}
+		if (renderersNumber <= 1 || !canCreateCopies) {
+			for (Map.Entry<Integer, List<SemanticTextNode>> entry : pagesNodes.entrySet()) {
+				if (context.getWCAGValidationInfo().getAbortProcessing()) {
+					break;
+				}
+				List<RenderedPage> renderedRegions = Collections.emptyList();
+				try {
+					renderedRegions = pageRenderer.render(rasterProvider, entry.getKey());
+				} catch (IOException | IllegalArgumentException e) {
+					logRenderingError(entry.getKey(), e);
+				}
+				calculateContrastRatio(entry.getValue(), renderedRegions);
+			}
+			return;
+		}
+		try (PagesRenderingPipeline pipeline = new PagesRenderingPipeline(rasterProvider, pageRenderer,
+				pagesNodes.keySet(), renderersNumber, MAX_RENDERED_AHEAD_PAGES_PER_RENDERER * renderersNumber)) {
+			for (Map.Entry<Integer, List<SemanticTextNode>> entry : pagesNodes.entrySet()) {
+				if (context.getWCAGValidationInfo().getAbortProcessing()) {
+					break;
+				}
+				List<RenderedPage> renderedRegions = Collections.emptyList();
+				try {
+					renderedRegions = pipeline.next();
+				} catch (IOException | IllegalArgumentException e) {
+					logRenderingError(entry.getKey(), e);
+				}
+				calculateContrastRatio(entry.getValue(), renderedRegions);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			logger.warning(e.getMessage());
+		} catch (IOException e) {
+			logger.warning(e.getMessage());
+		}
+	}
+
+	/**
+	 * @param renderedRegions rendered regions of the page of the nodes
+	 */
+	private void calculateContrastRatio(List<SemanticTextNode> nodes, List<RenderedPage> renderedRegions) {
+		if (!renderedRegions.isEmpty()) {
+			List<List<TextChunk>> regionsTextChunks = new ArrayList<>(renderedRegions.size());
+			for (int i = 0; i < renderedRegions.size(); i++) {
+				regionsTextChunks.add(new ArrayList<>());
+			}
+			for (SemanticTextNode node : nodes) {
+				for (TextChunk textChunk : node.getTextChunks()) {
+					int index = getRenderedRegionIndex(textChunk, renderedRegions);
+					if (index != -1) {
+						regionsTextChunks.get(index).add(textChunk);
+					}
+				}
+			}
+			for (int i = 0; i < renderedRegions.size(); i++) {
+				calculateContrastRatio(regionsTextChunks.get(i), renderedRegions.get(i));
+			}
+		}
+		processedTextChunks += nodes.size();
+	}
+
+	private void calculateContrastRatio(List<TextChunk> textChunks, RenderedPage renderedPage) {
+		if (colorIntegralImage == null) {
+			for (TextChunk textChunk : textChunks) {
+				calculateContrastRatio(textChunk, renderedPage);
+			}
+			return;
+		}
+		BufferedImage image = renderedPage.getImage();
+		Rectangle imageRegion = new Rectangle(renderedPage.getX(), renderedPage.getY(), image.getWidth(),
+		                                      image.getHeight());
+		List<Rectangle> chunksRegions = new ArrayList<>(textChunks.size());
+		for (TextChunk textChunk : textChunks) {
+			Rectangle chunkRegion = getChunkRegion(textChunk, renderedPage.getPageWidth(),
+			                                       renderedPage.getPageHeight(), renderedPage.getDpi());
+			chunksRegions.add(chunkRegion != null ? chunkRegion.intersection(imageRegion) : null);
+		}
+		for (List<Integer> group : getOverlappingChunksGroups(chunksRegions)) {
+			computeIntegralImage(group, chunksRegions, renderedPage);
+			for (Integer index : group) {
+				calculateContrastRatio(textChunks.get(index), renderedPage);
+			}
+			if (isIntegralImageComputed) {
+				colorIntegralImage.clear();
+				isIntegralImageComputed = false;
+			}
+		}
+	}
+
+	/**
+	 * @return indexes of text chunks grouped by overlapping regions, chunks without region are in separate groups
+	 */
+	private static Collection<List<Integer>> getOverlappingChunksGroups(List<Rectangle> chunksRegions) {
+		int[] parents = new int[chunksRegions.size()];
+		List<Integer> indexes = new ArrayList<>(chunksRegions.size());
+		for (int i = 0; i < parents.length; i++) {
+			parents[i] = i;
+			Rectangle chunkRegion = chunksRegions.get(i);
+			if (chunkRegion != null && !chunkRegion.isEmpty()) {
+				indexes.add(i);
+			}
+		}
+		indexes.sort(Comparator.comparingInt(index -> chunksRegions.get(index).x));
+		for (int i = 0; i < indexes.size(); i++) {
+			Rectangle first = chunksRegions.get(indexes.get(i));
+			for (int j = i + 1; j < indexes.size(); j++) {
+				Rectangle second = chunksRegions.get(indexes.get(j));
+				if (second.x >= first.x + first.width) {
+					break;
+				}
+				if (first.intersects(second)) {
+					parents[findGroup(parents, indexes.get(i))] = findGroup(parents, indexes.get(j));
+				}
+			}
+		}
+		Map<Integer, List<Integer>> groups = new LinkedHashMap<>();
+		for (int i = 0; i < parents.length; i++) {
+			groups.computeIfAbsent(findGroup(parents, i), key -> new ArrayList<>()).add(i);
+		}
+		return groups.values();
+	}
+
+	private static int findGroup(int[] parents, int index) {
+		while (parents[index] != index) {
+			parents[index] = parents[parents[index]];
+			index = parents[index];
+		}
+		return index;
+	}
+
+	/**
+	 * @return index of the rendered region containing the part of the text chunk inside the page, or -1 if the
+	 * contrast ratio of the chunk is not calculated
+	 */
+	private int getRenderedRegionIndex(TextChunk textChunk, List<RenderedPage> renderedRegions) {
+		for (int i = 0; i < renderedRegions.size(); i++) {
+			RenderedPage renderedRegion = renderedRegions.get(i);
+			Rectangle chunkRegion = getChunkRegion(textChunk, renderedRegion.getPageWidth(),
+			                                       renderedRegion.getPageHeight(), renderedRegion.getDpi());
+			if (chunkRegion == null) {
+				return -1;
+			}
+			chunkRegion = chunkRegion.intersection(new Rectangle(renderedRegion.getPageWidth(),
+			                                                     renderedRegion.getPageHeight()));
+			if (new Rectangle(renderedRegion.getX(), renderedRegion.getY(), renderedRegion.getImage().getWidth(),
+			                  renderedRegion.getImage().getHeight()).contains(chunkRegion)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Computes summed-area tables of the bounds of the group of overlapping text chunks if their regions together
+	 * are at least {@link #INTEGRAL_IMAGE_MIN_CHUNKS_AREA_RATIO} times larger than the bounds, so that counting
+	 * colors of the chunks one by one would take longer than the tables.
+	 */
+	private void computeIntegralImage(List<Integer> group, List<Rectangle> chunksRegions, RenderedPage renderedPage) {
+		if (group.size() < 2) {
+			return;
+		}
+		long chunksArea = 0;
+		Rectangle bounds = null;
+		for (Integer index : group) {
+			Rectangle chunkRegion = chunksRegions.get(index);
+			chunksArea += (long) chunkRegion.width * chunkRegion.height;
+			bounds = bounds == null ? new Rectangle(chunkRegion) : bounds.union(chunkRegion);
+		}
+		if (chunksArea >= (long) INTEGRAL_IMAGE_MIN_CHUNKS_AREA_RATIO * bounds.width * bounds.height &&
+		    colorIntegralImage.compute(renderedPage.getImage(), bounds.x - renderedPage.getX(),
+		                               bounds.y - renderedPage.getY(), bounds.width, bounds.height)) {
+			isIntegralImageComputed = true;
+			integralImagesNumber++;
+		}
+	}
+
+	/**
+	 * Chooses resolution of the page so that the smallest text on it is rendered with
+	 * {@link #FONT_SIZE_RENDER_PIXELS} pixels per font size, within the configured resolution bounds.
+	 *
+	 * @return resolution to render the page with the given text nodes
+	 */
+	private int getRenderDpi(List<SemanticTextNode> nodes) {
+		ContrastRatioOptions options = context.getContrastRatioOptions();
+		if (!options.isAdaptiveDpi()) {
+			return RENDER_DPI;
+		}
+		double minFontSize = Double.MAX_VALUE;
+		for (SemanticTextNode node : nodes) {
+			for (TextChunk textChunk : node.getTextChunks()) {
+				if (textChunk.getFontSize() > 0 && (textChunk.getValue() == null ||
+				                                    !TextChunkUtils.isWhiteSpaceChunk(textChunk))) {
+					minFontSize = Math.min(minFontSize, textChunk.getFontSize());
+				}
+			}
+		}
+		int maxDpi = options.getMaxDpi();
+		if (minFontSize == Double.MAX_VALUE) {
+			return maxDpi;
+		}
+		int dpi = (int) Math.ceil(FONT_SIZE_RENDER_PIXELS * PDF_DPI / minFontSize);
+		return Math.max(options.getMinDpi(), Math.min(maxDpi, dpi));
+	}
+
+	/**
+	 * Groups regions of text chunks of every page into at most {@link #MAX_PAGE_REGIONS_NUMBER} disjoint regions
+	 * in pixels of the rendered page. Text chunks closer than {@link #PAGE_REGIONS_GAP} get into the same region,
+	 * the rest of the regions are merged in the order of the least growth of their area.
+	 *
+	 * @return for every page, the regions to render
+	 */
+	private Map<Integer, List<Rectangle>> getPagesRegions(Map<Integer, List<SemanticTextNode>> pagesNodes,
+	                                                      Map<Integer, Integer> pagesDpi) {
+		Map<Integer, List<Rectangle>> pagesRegions = new HashMap<>();
+		for (Map.Entry<Integer, List<SemanticTextNode>> entry : pagesNodes.entrySet()) {
+			int dpi = pagesDpi.get(entry.getKey());
+			Dimension pageSize = rasterProvider.getPageSize(entry.getKey(), dpi);
+			if (pageSize == null) {
+				logger.warning("Page " + entry.getKey() + " is not found in the document");
+				continue;
+			}
+			Rectangle pageRegion = new Rectangle(pageSize);
+			int gap = (int) Math.ceil(PAGE_REGIONS_GAP * dpi / PDF_DPI);
+			List<Rectangle> regions = new ArrayList<>();
+			for (SemanticTextNode node : entry.getValue()) {
+				for (TextChunk textChunk : node.getTextChunks()) {
+					Rectangle chunkRegion = getChunkRegion(textChunk, pageSize.width, pageSize.height, dpi);
+					if (chunkRegion == null) {
+						continue;
+					}
+					chunkRegion = chunkRegion.intersection(pageRegion);
+					if (chunkRegion.isEmpty()) {
+						continue;
+					}
+					addPageRegion(regions, chunkRegion, gap);
+				}
+			}
+			while (regions.size() > MAX_PAGE_REGIONS_NUMBER) {
+				mergeClosestPageRegions(regions, gap);
+			}
+			if (!regions.isEmpty()) {
+				pagesRegions.put(entry.getKey(), regions);
+			}
+		}
+		return pagesRegions;
+	}
+
+	/**
+	 * Adds the region to the regions separated by more than the gap, merging it with the regions within the gap.
+	 */
+	private static void addPageRegion(List<Rectangle> regions, Rectangle region, int gap) {
+		Rectangle mergedRegion = new Rectangle(region);
+		boolean isMerged = true;
+		while (isMerged) {
+			isMerged = false;
+			Rectangle extendedRegion = new Rectangle(mergedRegion);
+			extendedRegion.grow(gap, gap);
+			Iterator<Rectangle> iterator = regions.iterator();
+			while (iterator.hasNext()) {
+				Rectangle otherRegion = iterator.next();
+				if (extendedRegion.intersects(otherRegion)) {
+					mergedRegion.add(otherRegion);
+					iterator.remove();
+					isMerged = true;
+				}
+			}
+		}
+		regions.add(mergedRegion);
+	}
+
+	private static void mergeClosestPageRegions(List<Rectangle> regions, int gap) {
+		int firstIndex = 0;
+		int secondIndex = 1;
+		long minAreaGrowth = Long.MAX_VALUE;
+		for (int i = 0; i < regions.size(); i++) {
+			Rectangle first = regions.get(i);
+			for (int j = i + 1; j < regions.size(); j++) {
+				Rectangle second = regions.get(j);
+				Rectangle union = first.union(second);
+				long areaGrowth = (long) union.width * union.height - (long) first.width * first.height -
+				                  (long) second.width * second.height;
+				if (areaGrowth < minAreaGrowth) {
+					minAreaGrowth = areaGrowth;
+					firstIndex = i;
+					secondIndex = j;
+				}
+			}
+		}
+		Rectangle union = regions.get(firstIndex).union(regions.remove(secondIndex));
+		regions.remove(firstIndex);
+		addPageRegion(regions, union, gap);
+	}
+
 	@Override
 	public void accept(INode node) {
 		if (node.getChildren().isEmpty() && (node instanceof SemanticTextNode)) {
@@ -75,49 +482,101 @@ public class ContrastRatioConsumer extends WCAGConsumer implements Consumer<INod
 	}
 
 	public BufferedImage getRenderPage(int pageNumber) {
-		BufferedImage renderedPage = renderedPages.get(pageNumber);
-		if (renderedPage == null) {
-			try {
-				renderedPage = renderPage(document, pageNumber);
-				renderedPages.clear();
-				renderedPages.put(pageNumber, renderedPage);
-			} catch (IOException | IllegalArgumentException e) {
-				e.printStackTrace();
-				logger.warning(e.getMessage());
-			}
+		RenderedPage renderedPage = getRenderedPage(pageNumber);
+		return renderedPage != null ? renderedPage.getImage() : null;
+	}
+
+	private RenderedPage getRenderedPage(int pageNumber) {
+		RenderedPage renderedPage = renderedPages.get(pageNumber);
+		if (renderedPage != null) {
+			return renderedPage;
+		}
+		try {
+			renderedPage = rasterProvider.getPage(pageNumber, RENDER_DPI, null);
+		} catch (IOException | IllegalArgumentException e) {
+			logRenderingError(pageNumber, e);
+		}
+		if (renderedPage != null) {
+			renderedPages.put(pageNumber, renderedPage);
 		}
 		return renderedPage;
 	}
 
 	public void calculateContrastRatio(TextChunk textChunk) {
-		BufferedImage renderedPage = getRenderPage(textChunk.getPageNumber());
+		RenderedPage renderedPage = getRenderedPage(textChunk.getPageNumber());
 		if (renderedPage != null) {
-			calculateContrastRation(textChunk, renderedPage);
+			calculateContrastRatio(textChunk, renderedPage);
 		}
 	}
 
 	private void calculateContrastRatio(SemanticTextNode node) {
-		BufferedImage renderedPage = getRenderPage(node.getPageNumber());
+		RenderedPage renderedPage = getRenderedPage(node.getPageNumber());
 		if (renderedPage != null) {
-			for (TextColumn column : node.getColumns()) {
-				for (TextLine textLine : column.getLines()) {
-					for (TextChunk textChunk : textLine.getTextChunks()) {
-						calculateContrastRation(textChunk, renderedPage);
+			calculateContrastRatio(node, renderedPage);
+		}
+	}
+
+	private void calculateContrastRatio(SemanticTextNode node, RenderedPage renderedPage) {
+		for (TextChunk textChunk : node.getTextChunks()) {
+			calculateContrastRatio(textChunk, renderedPage);
+		}
+	}
+
+	public void calculateContrastRation(TextChunk textChunk, BufferedImage renderedPage) {
+		calculateContrastRatio(textChunk, new RenderedPage(renderedPage, RENDER_DPI));
+	}
+
+	private void calculateContrastRatio(TextChunk textChunk, RenderedPage renderedPage) {
+		Rectangle chunkRegion = getChunkRegion(textChunk, renderedPage.getPageWidth(), renderedPage.getPageHeight(),
+		                                       renderedPage.getDpi());
+		if (chunkRegion == null) {
+			return;
+		}
+		try {
+			int x = chunkRegion.x - renderedPage.getX();
+			int y = chunkRegion.y - renderedPage.getY();
+			long key = 0;
+			if (verdictCache != null) {
+				Color textColor = getTextColorFromComponentArray(textChunk.getFontColor());
+				key = verdictCache.getKey(renderedPage.getImage(), x, y, chunkRegion.width, chunkRegion.height,
+				                          textColor != null ? textColor.getRGB() & 0xFFFFFF : -1);
+				ContrastVerdictCache.Verdict verdict = verdictCache.get(key);
+				if (verdict != null) {
+					if (textColor != null) {
+						textChunk.setBackgroundColor(verdict.getBackgroundColor());
 					}
+					textChunk.setContrastRatio(verdict.getContrastRatio());
+					return;
 				}
 			}
+			if (isIntegralImageComputed &&
+			    colorIntegralImage.contains(renderedPage.getImage(), x, y, chunkRegion.width, chunkRegion.height) &&
+			    colorIntegralImage.fill(colorHistogram, x, y, chunkRegion.width, chunkRegion.height)) {
+				integralImageChunksNumber++;
+			} else {
+				colorHistogram.compute(renderedPage.getImage(), x, y, chunkRegion.width, chunkRegion.height);
+			}
+			double contrastRatio = getContrastRatio(colorHistogram, textChunk);
+			textChunk.setContrastRatio(contrastRatio);
+			if (verdictCache != null) {
+				verdictCache.put(key, new ContrastVerdictCache.Verdict(contrastRatio, textChunk.getBackgroundColor()));
+			}
+		} catch (Exception e) {
+			logger.log(Level.WARNING, e.getMessage());
 		}
 	}
 
-	public void calculateContrastRation(TextChunk textChunk, BufferedImage renderedPage) {
+	/**
+	 * @return region of the text chunk in pixels of the rendered page, or null if contrast ratio of the chunk is
+	 * not calculated
+	 */
+	private Rectangle getChunkRegion(TextChunk textChunk, int renderedPageWidth, int renderedPageHeight, int dpi) {
 		if ((textChunk.getValue() != null && (TextChunkUtils.isWhiteSpaceChunk(textChunk)))) {
-			return;
+			return null;
 		}
 
 		BoundingBox bBox = textChunk.getBoundingBox();
-		double dpiScaling = ((double) RENDER_DPI) / ((double) PDF_DPI);
-		int renderedPageWidth = renderedPage.getRaster().getWidth();
-		int renderedPageHeight = renderedPage.getRaster().getHeight();
+		double dpiScaling = ((double) dpi) / ((double) PDF_DPI);
 		BoundingBox pageBBox = new BoundingBox(textChunk.getPageNumber(),0, 0, renderedPageWidth, renderedPageHeight);
 
 		BoundingBox scaledBBox = new BoundingBox(textChunk.getPageNumber(), bBox.getLeftX() * dpiScaling,
@@ -128,22 +587,16 @@ public class ContrastRatioConsumer extends WCAGConsumer implements Consumer<INod
 		if (isOverlappingBox) {
 			scaledBBox = scaledBBox.cross(pageBBox);
 		} else if (!pageBBox.contains(scaledBBox)) {
-			return;
+			return null;
 		}
 		int x = (int) (Math.round(scaledBBox.getLeftX()));
 		int y = (int) (Math.round(scaledBBox.getTopY()));
 		int width = getIntegerBBoxValueForProcessing(scaledBBox.getWidth(), 1);
 		int height = getIntegerBBoxValueForProcessing(scaledBBox.getHeight(), 1);
 		if (width <= 1 || height <= 1) {
-			return;
-		}
-		try {
-			BufferedImage targetBim = renderedPage.getSubimage(x, renderedPage.getHeight() - y, width,  height);
-			double contrastRatio = getContrastRatio(targetBim, textChunk);
-			textChunk.setContrastRatio(contrastRatio);
-		} catch (Exception e) {
-			logger.log(Level.WARNING, e.getMessage());
+			return null;
 		}
+		return new Rectangle(x, renderedPageHeight - y, width, height);
 	}
 
 	private double [] convertCmykToRgb(double [] cmykColorComponentArray) {
@@ -201,37 +654,71 @@ public class ContrastRatioConsumer extends WCAGConsumer implements Consumer<INod
 		return result;
 	}
 
-	private BufferedImage renderPage(PDDocument document, Integer pageNumber) throws IOException {
-		RenderingHints renderingHints = new RenderingHints(null);
-		renderingHints.put(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
-		PDFRenderer pdfRenderer = new PDFRenderer(document);
-		pdfRenderer.setRenderingHints(renderingHints);
-		return pdfRenderer.renderImageWithDPI(pageNumber, RENDER_DPI, ImageType.RGB);
+	private static void logRenderingError(int pageNumber, Exception e) {
+		logger.log(Level.WARNING, "Page " + pageNumber + " is not rendered to calculate contrast ratio: " +
+		                          e.getMessage(), e);
 	}
 
-	private double getContrastRatio(BufferedImage image, TextChunk textChunk) {
+	private static MemoryUsageSetting getMemoryUsageSetting(ValidationContext context) {
+		long mainMemorySize = context.getContrastRatioOptions().getMainMemorySize();
+		if (mainMemorySize < 0) {
+			return MemoryUsageSetting.setupMainMemoryOnly();
+		}
+		if (mainMemorySize == 0) {
+			return MemoryUsageSetting.setupTempFileOnly();
+		}
+		return MemoryUsageSetting.setupMixed(mainMemorySize);
+	}
+
+	/**
+	 * @param pagesRegions regions of pages to render, or null to render whole pages
+	 * @return rendered regions of the page, empty if the page is not rendered or there is no region to render
+	 */
+	private static List<RenderedPage> renderPage(PageRasterProvider rasterProvider, int pageNumber, int dpi,
+	                                             Map<Integer, List<Rectangle>> pagesRegions) throws IOException {
+		if (pagesRegions == null) {
+			RenderedPage renderedPage = rasterProvider.getPage(pageNumber, dpi, null);
+			return renderedPage != null ? Collections.singletonList(renderedPage) : Collections.emptyList();
+		}
+		List<Rectangle> regions = pagesRegions.get(pageNumber);
+		if (regions == null) {
+			return Collections.emptyList();
+		}
+		List<RenderedPage> renderedRegions = new ArrayList<>(regions.size());
+		for (Rectangle region : regions) {
+			RenderedPage renderedRegion = rasterProvider.getPage(pageNumber, dpi, region);
+			if (renderedRegion != null) {
+				renderedRegions.add(renderedRegion);
+			}
+		}
+		return renderedRegions;
+	}
+
+	private double getContrastRatio(ColorHistogram histogram, TextChunk textChunk) {
 		double [] textChunkOriginalColor = textChunk.getFontColor();
 		Color textColor = getTextColorFromComponentArray(textChunkOriginalColor);
 		double textLuminosity = 0;
 		double approximatedTextLuminosity = 0;
 		if (textColor != null) {
-			textLuminosity = relativeLuminosity(textColor);
+			textLuminosity = ColorHistogram.relativeLuminosity(textColor.getRGB());
 			approximatedTextLuminosity = textLuminosity;
+			textChunk.setBackgroundColor(checkForBackgroundColor(histogram, textColor));
+			// the closest luminosity in the image, the greater one if two are equally close
 			double diff = 1.0;
-			Map<Color, DataPoint> imageColorMap = getImageColorMap(image);
-			textChunk.setBackgroundColor(checkForBackgroundColor(imageColorMap, textColor));
-			List<DataPoint> dpFullArray = new ArrayList<>(new TreeSet<>(imageColorMap.values()));
-			for (DataPoint dp : dpFullArray) {
-				double luminosity = dp.getValue();
+			boolean isApproximated = false;
+			for (int i = 0; i < histogram.size(); i++) {
+				double luminosity = histogram.getRelativeLuminosity(i);
 				double currentDifference = Math.abs(luminosity - textLuminosity);
-				if (currentDifference <= diff) {
+				if (!isApproximated || currentDifference < diff ||
+				    (currentDifference == diff && luminosity > approximatedTextLuminosity)) {
 					approximatedTextLuminosity = luminosity;
 					diff = currentDifference;
+					isApproximated = true;
 				}
 			}
 		}
 
-		double[] contrastColors = get2MostPresentElements(getLuminosityPresenceList(image));
+		double[] contrastColors = get2MostPresentElements(histogram);
 		if (Math.abs(approximatedTextLuminosity - contrastColors[0]) <= LUMINOSITY_DIFFERENCE) {
 			if (contrastColors[1] == -1) {
 				if (textColor != null && Math.abs(contrastColors[0] - textLuminosity) > LUMINOSITY_DIFFERENCE){
@@ -248,8 +735,8 @@ public class ContrastRatioConsumer extends WCAGConsumer implements Consumer<INod
 		}
 	}
 
-	private double[] checkForBackgroundColor(Map<Color, DataPoint> imageColorMap, Color textColor) {
-		Color backgroundColor = getBackgroundColor(imageColorMap, textColor);
+	private double[] checkForBackgroundColor(ColorHistogram histogram, Color textColor) {
+		Color backgroundColor = getBackgroundColor(histogram, textColor);
 		if (backgroundColor != null) {
 			float[] components = backgroundColor.getColorComponents(null);
 			return IntStream.range(0, components.length).mapToDouble(i -> components[i]).toArray();
@@ -257,75 +744,33 @@ public class ContrastRatioConsumer extends WCAGConsumer implements Consumer<INod
 		return null;
 	}
 
-	private double getContrastRatio(BufferedImage image) {
-		double[] contrastColors = get2MostPresentElements(getLuminosityPresenceList(image));
-		return getContrastRatio(contrastColors[0], contrastColors[1]);
-	}
-
-	private double relativeLuminosity(Color color) {
-		double normalizedRed = normalizeColorComponent(color.getRed());
-		double normalizeGreen = normalizeColorComponent(color.getGreen());
-		double normalizeBlue = normalizeColorComponent(color.getBlue());
-		return 0.2126 * normalizedRed + 0.7152 * normalizeGreen + 0.0722 * normalizeBlue;
-	}
-
-	private double normalizeColorComponent(int colorComponent) {
-		double doubleColorComponent = colorComponent / 255.;
-		return doubleColorComponent < 0.03928 ? doubleColorComponent / 12.92 :
-		       Math.pow(((doubleColorComponent + 0.055) / 1.055), 2.4);
-	}
-
-	private Map<Color, DataPoint> getImageColorMap(BufferedImage bim) {
-		int width = bim.getWidth();
-		int height = bim.getHeight();
-		Map<Color, DataPoint> colorMap = new HashMap<>();
-
-		for (int i = 0; i < width; i++) {
-			for (int j = 0; j < height; j++) {
-				int rgb = bim.getRGB(i, j); //always returns TYPE_INT_ARGB
-				int alpha = (rgb >> 24) & 0xFF;
-				int red = (rgb >> 16) & 0xFF;
-				int green = (rgb >> 8) & 0xFF;
-				int blue = (rgb) & 0xFF;
-				Color color = new Color(red, green, blue);
-
-				if (colorMap.containsKey(color)) {
-					colorMap.get(color).totalOccurrence++;
-				} else {
-					double relativeLuminosity = relativeLuminosity(color);
-					colorMap.put(color, new DataPoint(relativeLuminosity));
-				}
+	private Color getBackgroundColor(ColorHistogram histogram, Color textColor) {
+		if (histogram.size() == 1) {
+			Color color = new Color(histogram.getColor(0));
+			if (!textColor.equals(color)) {
+				return color;
 			}
+			return null;
 		}
-
-		return colorMap;
-	}
-
-	private List<DataPoint> getLuminosityPresenceList(BufferedImage bim) {
-		return new ArrayList<>(new TreeSet<>(getImageColorMap(bim).values()));
-	}
-
-	private Color getBackgroundColor(Map<Color, DataPoint> colorMap, Color textColor) {
-		if (colorMap.size() == 1) {
-			Map.Entry<Color, DataPoint> entry = colorMap.entrySet().iterator().next();
-			if (!textColor.equals(entry.getKey())) {
-				return entry.getKey();
+		int firstFrequency = 0;
+		int secondFrequency = 0;
+		for (int i = 0; i < histogram.size(); i++) {
+			int count = histogram.getCount(i);
+			if (count >= firstFrequency) {
+				secondFrequency = firstFrequency;
+				firstFrequency = count;
+			} else if (count > secondFrequency) {
+				secondFrequency = count;
 			}
-			return null;
 		}
-		List<Integer> sortedOccurrences = colorMap.values()
-		                                         .stream().map(DataPoint::getTotalOccurrence)
-		                                         .sorted().collect(Collectors.toList());
-		int firstFrequency = sortedOccurrences.get(sortedOccurrences.size() - 1);
-		int secondFrequency = sortedOccurrences.get(sortedOccurrences.size() - 2);
 		Color firstColor = null;
 		Color secondColor = null;
-		for (Map.Entry<Color, DataPoint> entry : colorMap.entrySet()) {
-			if (firstColor == null && entry.getValue().getTotalOccurrence() == firstFrequency) {
-				firstColor = entry.getKey();
+		for (int i = 0; i < histogram.size(); i++) {
+			if (firstColor == null && histogram.getCount(i) == firstFrequency) {
+				firstColor = new Color(histogram.getColor(i));
 			}
-			if (secondColor == null && entry.getValue().getTotalOccurrence() == secondFrequency) {
-				secondColor = entry.getKey();
+			if (secondColor == null && histogram.getCount(i) == secondFrequency) {
+				secondColor = new Color(histogram.getColor(i));
 			}
 		}
 		if (firstColor!= null && !NodeUtils.hasSimilarBackgroundColor(textColor, firstColor)) {
@@ -335,45 +780,28 @@ public class ContrastRatioConsumer extends WCAGConsumer implements Consumer<INod
 		}
 		return null;
 	}
-	private List<DataPoint> findLocalMaximums(List<DataPoint> source) {
-		List<DataPoint> localMaximums = new ArrayList<>();
-		boolean isPreviousLessThanCurrent = true;
-
-		// Iterating over all points to check
-		// local maximum
-		for (int i = 0; i < source.size() - 1; i++) {
-			// Condition for local maximum
-			boolean isNextLessThanCurrent = source.get(i).totalOccurrence > source.get(i + 1).totalOccurrence;
-			if (isNextLessThanCurrent && isPreviousLessThanCurrent) {
-				localMaximums.add(source.get(i));
-			}
-			isPreviousLessThanCurrent = !isNextLessThanCurrent;
-		}
 
-		// Checking whether the last point is
-		// local maximum or none
-		if (isPreviousLessThanCurrent) {
-			localMaximums.add(source.get(source.size() - 1));
-		}
-
-		return localMaximums;
-	}
-
-	private double[] get2MostPresentElements(List<DataPoint> source) {
+	/**
+	 * @return luminosities of the two most frequent colors, greater luminosity first among equally frequent colors,
+	 * or -1 if there is no such color
+	 */
+	private double[] get2MostPresentElements(ColorHistogram histogram) {
 		double absoluteMaxPresent = -1;
 		double secondMaxPresent = -1;
 		int max = 0;
 		int secondMax = 0;
 
-		for (DataPoint dataPoint: source) {
-			if (dataPoint.totalOccurrence >= max) {
+		for (int i = 0; i < histogram.size(); i++) {
+			int count = histogram.getCount(i);
+			double luminosity = histogram.getRelativeLuminosity(i);
+			if (count > max || (count == max && luminosity > absoluteMaxPresent)) {
 				secondMaxPresent = absoluteMaxPresent;
 				secondMax = max;
-				absoluteMaxPresent = dataPoint.value;
-				max = dataPoint.totalOccurrence;
-			} else if (dataPoint.totalOccurrence >= secondMax) {
-				secondMax = dataPoint.totalOccurrence;
-				secondMaxPresent = dataPoint.value;
+				absoluteMaxPresent = luminosity;
+				max = count;
+			} else if (count > secondMax || (count == secondMax && luminosity > secondMaxPresent)) {
+				secondMax = count;
+				secondMaxPresent = luminosity;
 			}
 		}
 		return new double[]{absoluteMaxPresent, secondMaxPresent};
@@ -386,44 +814,38 @@ public class ContrastRatioConsumer extends WCAGConsumer implements Consumer<INod
 
 	@Override
 	public void close() throws IOException {
-		if (document != null) {
-			document.close();
+		logger.log(Level.FINE, "Rendered pages cache: " + renderedPages);
+		renderedPages.clear();
+		if (isRasterProviderOwner) {
+			rasterProvider.close();
 		}
 	}
 
-	static class DataPoint implements Comparable<DataPoint> {
-
-		private double value;
-		private int totalOccurrence;
-
-		public DataPoint() {
-		}
-
-		public DataPoint(double value) {
-			this.value = value;
-			this.totalOccurrence = 1;
-		}
-
-		public double getValue() {
-			return value;
-		}
+	@Override
+	public WCAGProgressStatus getWCAGProgressStatus() {
+		return WCAGProgressStatus.CONTRAST_DETECTION;
+	}
 
-		public int getTotalOccurrence() {
-			return totalOccurrence;
+	@Override
+	public Map<String, Long> getMetricsCounters() {
+		Map<String, Long> counters = new LinkedHashMap<>();
+		counters.put("textChunks", processedTextChunks);
+		counters.put("renderedPagesCacheHits", renderedPages.getHitsNumber());
+		counters.put("renderedPagesCacheMisses", renderedPages.getMissesNumber());
+		counters.put("renderedPagesCacheEvictions", renderedPages.getEvictionsNumber());
+		if (verdictCache != null) {
+			counters.put("contrastVerdictCacheHits", verdictCache.getHitsNumber());
+			counters.put("contrastVerdictCacheMisses", verdictCache.getMissesNumber());
 		}
-
-		public void setTotalOccurrence(int totalOccurrence) {
-			this.totalOccurrence = totalOccurrence;
+		if (colorIntegralImage != null) {
+			counters.put("integralImages", integralImagesNumber);
+			counters.put("integralImageChunks", integralImageChunksNumber);
 		}
-
-		@Override
-		public int compareTo(DataPoint o) {
-			return Double.compare(this.value, o.value);
+		if (scheduledPagesNumber > 0) {
+			counters.put("minRenderDpi", (long) minRenderDpi);
+			counters.put("maxRenderDpi", (long) maxRenderDpi);
+			counters.put("averageRenderDpi", Math.round((double) renderDpiSum / scheduledPagesNumber));
 		}
-	}
-
-	@Override
-	public WCAGProgressStatus getWCAGProgressStatus() {
-		return WCAGProgressStatus.CONTRAST_DETECTION;
+		return counters;
 	}
 }
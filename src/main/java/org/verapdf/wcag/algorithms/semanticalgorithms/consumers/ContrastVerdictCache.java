@@ -0,0 +1,109 @@
+package org.verapdf.wcag.algorithms.semanticalgorithms.consumers;
+
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Remembers contrast ratio and background color of text chunks by the text color and a signature of the chunk
+ * region. The signature is made of the most frequent luminance bins of a sparse grid of samples of the region and
+ * their shares, so it is computed without counting all pixels of the region. Different regions may have the same
+ * signature, so remembered results are approximate.
+ */
+class ContrastVerdictCache {
+
+	private static final int MAX_SIZE = 4096;
+	private static final int SAMPLES_PER_SIDE = 8;
+	private static final int LUMINANCE_BINS_NUMBER = 16;
+	private static final int TOP_BINS_NUMBER = 3;
+	// shares of the top bins in eighths of the samples
+	private static final int SHARE_STEPS = 8;
+	private static final long NO_TEXT_COLOR = 1L << 24;
+
+	private final Map<Long, Verdict> verdicts = new HashMap<>();
+	private final int[] binCounts = new int[LUMINANCE_BINS_NUMBER];
+	private long hitsNumber = 0;
+	private long missesNumber = 0;
+
+	/**
+	 * @param textColor packed 0xRRGGBB text color, or -1 if the text color is not known
+	 * @return signature of the region of the image together with the text color
+	 */
+	long getKey(BufferedImage image, int x, int y, int width, int height, int textColor) {
+		int samplesX = Math.min(width, SAMPLES_PER_SIDE);
+		int samplesY = Math.min(height, SAMPLES_PER_SIDE);
+		int samplesNumber = samplesX * samplesY;
+		for (int i = 0; i < LUMINANCE_BINS_NUMBER; i++) {
+			binCounts[i] = 0;
+		}
+		for (int j = 0; j < samplesY; j++) {
+			int sampleY = y + (2 * j + 1) * height / (2 * samplesY);
+			for (int i = 0; i < samplesX; i++) {
+				int rgb = image.getRGB(x + (2 * i + 1) * width / (2 * samplesX), sampleY);
+				// integer luma, only used to find similar regions
+				int luma = (299 * ((rgb >> 16) & 0xFF) + 587 * ((rgb >> 8) & 0xFF) + 114 * (rgb & 0xFF)) / 1000;
+				binCounts[luma * LUMINANCE_BINS_NUMBER / 256]++;
+			}
+		}
+		long key = textColor >= 0 ? textColor : NO_TEXT_COLOR;
+		for (int topBin = 0; topBin < TOP_BINS_NUMBER; topBin++) {
+			int bin = 0;
+			for (int i = 1; i < LUMINANCE_BINS_NUMBER; i++) {
+				if (binCounts[i] > binCounts[bin]) {
+					bin = i;
+				}
+			}
+			int share = samplesNumber > 0 ? Math.round((float) binCounts[bin] * SHARE_STEPS / samplesNumber) : 0;
+			binCounts[bin] = -1;
+			// 4 bits of the bin and 4 bits of its share
+			key = (key << 8) | ((long) bin << 4) | share;
+		}
+		return key;
+	}
+
+	/**
+	 * @return remembered result, or null if there is no result for the key
+	 */
+	Verdict get(long key) {
+		Verdict verdict = verdicts.get(key);
+		if (verdict != null) {
+			hitsNumber++;
+		} else {
+			missesNumber++;
+		}
+		return verdict;
+	}
+
+	void put(long key, Verdict verdict) {
+		if (verdicts.size() < MAX_SIZE) {
+			verdicts.put(key, verdict);
+		}
+	}
+
+	long getHitsNumber() {
+		return hitsNumber;
+	}
+
+	long getMissesNumber() {
+		return missesNumber;
+	}
+
+	static final class Verdict {
+
+		private final double contrastRatio;
+		private final double[] backgroundColor;
+
+		Verdict(double contrastRatio, double[] backgroundColor) {
+			this.contrastRatio = contrastRatio;
+			this.backgroundColor = backgroundColor != null ? backgroundColor.clone() : null;
+		}
+
+		double getContrastRatio() {
+			return contrastRatio;
+		}
+
+		double[] getBackgroundColor() {
+			return backgroundColor != null ? backgroundColor.clone() : null;
+		}
+	}
+}
@@ -2,7 +2,7 @@ package org.verapdf.wcag.algorithms.semanticalgorithms.consumers;
 
 import org.verapdf.wcag.algorithms.entities.*;
 import org.verapdf.wcag.algorithms.entities.enums.SemanticType;
-import org.verapdf.wcag.algorithms.semanticalgorithms.containers.StaticContainers;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ValidationContext;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.*;
 
 import java.util.*;
@@ -12,6 +12,13 @@ public class HeadingCaptionConsumer extends WCAGConsumer implements Consumer<INo
 
 	public static final double MERGE_PROBABILITY_THRESHOLD = 0.75;
 
+	public HeadingCaptionConsumer() {
+	}
+
+	public HeadingCaptionConsumer(ValidationContext context) {
+		super(context);
+	}
+
 	@Override
 	public void accept(INode node) {
 		if (node.getChildren().isEmpty()) {
@@ -34,7 +41,7 @@ public class HeadingCaptionConsumer extends WCAGConsumer implements Consumer<INo
 		List<SemanticTextNode> textChildren = new ArrayList<>(node.getChildren().size());
 		for (INode child : node.getChildren()) {
 			if (child != null && SemanticType.BLOCK_QUOTE != child.getInitialSemanticType()) {
-				INode accumulatedChild = StaticContainers.getAccumulatedNodeMapper().get(child);
+				INode accumulatedChild = context.getAccumulatedNodeMapper().get(child);
 				if (accumulatedChild instanceof SemanticTextNode) {
 					SemanticTextNode textNode = (SemanticTextNode)accumulatedChild;
 					if (!textNode.isSpaceNode() && !textNode.isEmpty()) {
@@ -55,7 +62,7 @@ public class HeadingCaptionConsumer extends WCAGConsumer implements Consumer<INo
 				singleChild = true;
 				if (nextNode != null) {
 					children.add(nextNode);
-					textChildren.add((SemanticTextNode)StaticContainers.getAccumulatedNodeMapper().get(nextNode));
+					textChildren.add((SemanticTextNode)context.getAccumulatedNodeMapper().get(nextNode));
 				}
 			}
 		}
@@ -66,7 +73,7 @@ public class HeadingCaptionConsumer extends WCAGConsumer implements Consumer<INo
 		acceptHeadings(children, textChildren, indexes, singleChild);
 	}
 
-	private static void acceptHeadings(List<INode> children, List<SemanticTextNode> textChildren, List<Integer> indexes,
+	private void acceptHeadings(List<INode> children, List<SemanticTextNode> textChildren, List<Integer> indexes,
 									   boolean singleChild) {
 		for (int i = 0; i < indexes.size() - 1; i++) {
 			if (indexes.get(i + 1) - indexes.get(i) > 3) {
@@ -103,16 +110,16 @@ public class HeadingCaptionConsumer extends WCAGConsumer implements Consumer<INo
 					type = SemanticType.HEADING;
 				}
 				textChildren.set(index, accumulatedHeadingChild);
-				StaticContainers.getAccumulatedNodeMapper().updateNode(child, accumulatedHeadingChild,
+				context.getAccumulatedNodeMapper().updateNode(child, accumulatedHeadingChild,
 						probabilities.get(index - indexes.get(i)) * child.getCorrectSemanticScore(), type);
 			}
 		}
 	}
 
-	private static INode getNextNonEmptyTextNode(INode node) {
+	private INode getNextNonEmptyTextNode(INode node) {
 		INode currentNode = node.getNextNode();
 		while (currentNode != null) {
-			INode accumulatedChild = StaticContainers.getAccumulatedNodeMapper().get(currentNode);
+			INode accumulatedChild = context.getAccumulatedNodeMapper().get(currentNode);
 			if (accumulatedChild instanceof SemanticTextNode) {
 				SemanticTextNode textNode = (SemanticTextNode)accumulatedChild;
 				if (!textNode.isSpaceNode() && !textNode.isEmpty()) {
@@ -126,7 +133,7 @@ public class HeadingCaptionConsumer extends WCAGConsumer implements Consumer<INo
 		}
 		while (!currentNode.getChildren().isEmpty()) {
 			for (INode child : currentNode.getChildren()) {
-				INode accumulatedChild = StaticContainers.getAccumulatedNodeMapper().get(child);
+				INode accumulatedChild = context.getAccumulatedNodeMapper().get(child);
 				if (accumulatedChild instanceof SemanticTextNode) {
 					SemanticTextNode textNode = (SemanticTextNode) accumulatedChild;
 					if (!textNode.isSpaceNode() && !textNode.isEmpty()) {
@@ -160,7 +167,7 @@ public class HeadingCaptionConsumer extends WCAGConsumer implements Consumer<INo
 		INode lastTextNode = null;
 		for (INode child : node.getChildren()) {
 			if (child != null) {
-				INode accumulatedChild = StaticContainers.getAccumulatedNodeMapper().get(child);
+				INode accumulatedChild = context.getAccumulatedNodeMapper().get(child);
 				if (accumulatedChild instanceof SemanticTextNode) {
 					SemanticTextNode textNode = (SemanticTextNode)accumulatedChild;
 					if (!textNode.isSpaceNode() && !textNode.isEmpty()) {
@@ -185,12 +192,12 @@ public class HeadingCaptionConsumer extends WCAGConsumer implements Consumer<INo
 	}
 
 	private void acceptImageCaption(INode imageNode, INode previousNode, INode nextNode) {
-		SemanticFigure figure = (SemanticFigure)StaticContainers.getAccumulatedNodeMapper().get(imageNode);
+		SemanticFigure figure = (SemanticFigure)context.getAccumulatedNodeMapper().get(imageNode);
 		if (figure.getImages().isEmpty()) {
 			return;
 		}
-		double previousCaptionProbability = CaptionUtils.imageCaptionProbability(previousNode, figure);
-		double nextCaptionProbability = CaptionUtils.imageCaptionProbability(nextNode, figure);
+		double previousCaptionProbability = CaptionUtils.imageCaptionProbability(context, previousNode, figure);
+		double nextCaptionProbability = CaptionUtils.imageCaptionProbability(context, nextNode, figure);
 		double captionProbability;
 		INode captionNode;
 		if (previousCaptionProbability > nextCaptionProbability) {
@@ -201,8 +208,8 @@ public class HeadingCaptionConsumer extends WCAGConsumer implements Consumer<INo
 			captionNode = nextNode;
 		}
 		if (captionProbability >= MERGE_PROBABILITY_THRESHOLD) {
-			StaticContainers.getAccumulatedNodeMapper().updateNode(captionNode,
-					new SemanticCaption((SemanticTextNode) StaticContainers.getAccumulatedNodeMapper().get(captionNode)),
+			context.getAccumulatedNodeMapper().updateNode(captionNode,
+					new SemanticCaption((SemanticTextNode) context.getAccumulatedNodeMapper().get(captionNode)),
 					captionProbability * captionNode.getCorrectSemanticScore(), SemanticType.CAPTION);
 		}
 	}
@@ -1,12 +1,19 @@
 package org.verapdf.wcag.algorithms.semanticalgorithms.consumers;
 
 import org.verapdf.wcag.algorithms.entities.content.LineChunk;
+import org.verapdf.wcag.algorithms.entities.geometry.BoundingBox;
 import org.verapdf.wcag.algorithms.entities.geometry.Vertex;
 import org.verapdf.wcag.algorithms.entities.tables.TableBorderBuilder;
-import org.verapdf.wcag.algorithms.semanticalgorithms.containers.StaticContainers;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ValidationContext;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.LinesIntersectionUtils;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.NodeUtils;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.WCAGProgressStatus;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 public class LinesPreprocessingConsumer extends WCAGConsumer {
 
@@ -14,6 +21,13 @@ public class LinesPreprocessingConsumer extends WCAGConsumer {
 
     private List<List<TableBorderBuilder>> tableBorders;
 
+    public LinesPreprocessingConsumer() {
+    }
+
+    public LinesPreprocessingConsumer(ValidationContext context) {
+        super(context);
+    }
+
     public List<List<TableBorderBuilder>> getTableBorders() {
         if (tableBorders == null) {
             findTableBorders();
@@ -23,51 +37,99 @@ public class LinesPreprocessingConsumer extends WCAGConsumer {
 
     public void findTableBorders() {
         tableBorders = new LinkedList<>();
-        for (int pageNumber = 0; pageNumber < StaticContainers.getDocument().getNumberOfPages(); pageNumber++) {
+        for (int pageNumber = 0; pageNumber < context.getDocument().getNumberOfPages(); pageNumber++) {
             tableBorders.add(findTableBorders(pageNumber));
         }
     }
 
+    /**
+     * Processes pages concurrently on the given executor (the common fork-join pool if null).
+     * Results are assembled in page order, so the output is identical to {@link #findTableBorders()}.
+     */
+    public void findTableBorders(ExecutorService executorService) {
+        if (executorService == null) {
+            executorService = ForkJoinPool.commonPool();
+        }
+        int numberOfPages = context.getDocument().getNumberOfPages();
+        for (int pageNumber = 0; pageNumber < numberOfPages; pageNumber++) {
+            context.getLinesCollection().getHorizontalLines(pageNumber);
+            context.getLinesCollection().getVerticalLines(pageNumber);
+            context.getLinesCollection().getSquares(pageNumber);
+        }
+        List<Future<List<TableBorderBuilder>>> futures = new ArrayList<>(numberOfPages);
+        for (int pageNumber = 0; pageNumber < numberOfPages; pageNumber++) {
+            final int currentPageNumber = pageNumber;
+            futures.add(executorService.submit(() -> findTableBorders(currentPageNumber)));
+        }
+        tableBorders = new LinkedList<>();
+        try {
+            for (Future<List<TableBorderBuilder>> future : futures) {
+                tableBorders.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Table borders detection was interrupted", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
     private List<TableBorderBuilder> findTableBorders(Integer pageNumber) {
-        List<TableBorderBuilder> tableBorders = new ArrayList<>();
-        Set<LineChunk> set = new HashSet<>(StaticContainers.getLinesCollection().getHorizontalLines(pageNumber));
-        set.addAll(StaticContainers.getLinesCollection().getVerticalLines(pageNumber));
-        set.addAll(StaticContainers.getLinesCollection().getSquares(pageNumber));
+        Set<LineChunk> set = new HashSet<>(context.getLinesCollection().getHorizontalLines(pageNumber));
+        set.addAll(context.getLinesCollection().getVerticalLines(pageNumber));
+        set.addAll(context.getLinesCollection().getSquares(pageNumber));
+        List<LineChunk> lines = new ArrayList<>(set.size());
+        List<LineChunk> horizontalLines = new ArrayList<>();
+        List<Integer> horizontalLinesIndexes = new ArrayList<>();
+        List<LineChunk> verticalLines = new ArrayList<>();
+        List<Integer> verticalLinesIndexes = new ArrayList<>();
         for (LineChunk line : set) {
             if (line.getWidth() > MAX_LINE_WIDTH) {
                 continue;
             }
-            boolean separateTableBorder = true;
-            for (TableBorderBuilder border : tableBorders) {
-                boolean isCross = false;
-                if (line.isHorizontalLine()) {
-                    for (LineChunk verticalLine : border.getVerticalLines()) {
-                        Vertex vv = LineChunk.getIntersectionVertex(line, verticalLine);
-                        if (vv != null) {
-                            border.addVertex(vv);
-                            isCross = true;
-                        }
-                    }
-                } else if (line.isVerticalLine()) {
-                    for (LineChunk horizontalLine : border.getHorizontalLines()) {
-                        Vertex vv = LineChunk.getIntersectionVertex(horizontalLine, line);
-                        if (vv != null) {
-                            border.addVertex(vv);
-                            isCross = true;
-                        }
-                    }
-                }
-                if (isCross) {
-                    border.addLine(line);
-                    separateTableBorder = false;
-                    break;
-                }
+            if (line.isHorizontalLine()) {
+                horizontalLines.add(line);
+                horizontalLinesIndexes.add(lines.size());
+            } else if (line.isVerticalLine()) {
+                verticalLines.add(line);
+                verticalLinesIndexes.add(lines.size());
             }
-            if (separateTableBorder) {
-                TableBorderBuilder border = new TableBorderBuilder(line);
-                tableBorders.add(border);
+            lines.add(line);
+        }
+        List<int[]> intersections = LinesIntersectionUtils.findIntersections(horizontalLines, verticalLines);
+        int[] parents = new int[lines.size()];
+        for (int i = 0; i < parents.length; i++) {
+            parents[i] = i;
+        }
+        for (int[] intersection : intersections) {
+            int root1 = findRoot(parents, horizontalLinesIndexes.get(intersection[0]));
+            int root2 = findRoot(parents, verticalLinesIndexes.get(intersection[1]));
+            if (root1 != root2) {
+                parents[Math.max(root1, root2)] = Math.min(root1, root2);
+            }
+        }
+        List<TableBorderBuilder> tableBorders = new ArrayList<>();
+        TableBorderBuilder[] borders = new TableBorderBuilder[lines.size()];
+        for (int i = 0; i < lines.size(); i++) {
+            int root = findRoot(parents, i);
+            if (borders[root] == null) {
+                borders[root] = new TableBorderBuilder(lines.get(i));
+                tableBorders.add(borders[root]);
+            } else {
+                borders[root].addLine(lines.get(i));
             }
         }
+        for (int[] intersection : intersections) {
+            LineChunk horizontalLine = horizontalLines.get(intersection[0]);
+            LineChunk verticalLine = verticalLines.get(intersection[1]);
+            borders[findRoot(parents, horizontalLinesIndexes.get(intersection[0]))].addVertex(
+                    LineChunk.getIntersectionVertex(horizontalLine, verticalLine));
+        }
         mergeTableBorders(tableBorders);
         for (int i = 0; i < tableBorders.size();) {
             TableBorderBuilder border = tableBorders.get(i);
@@ -88,31 +150,124 @@ public class LinesPreprocessingConsumer extends WCAGConsumer {
             }
         }
         for (TableBorderBuilder border : tableBorders) {
-            StaticContainers.getLinesCollection().getVerticalLines(pageNumber).removeAll(border.getVerticalLines());
-            StaticContainers.getLinesCollection().getHorizontalLines(pageNumber).removeAll(border.getHorizontalLines());
+            context.getLinesCollection().getVerticalLines(pageNumber).removeAll(border.getVerticalLines());
+            context.getLinesCollection().getHorizontalLines(pageNumber).removeAll(border.getHorizontalLines());
         }
         return tableBorders;
     }
 
-    private void mergeTableBorders(List<TableBorderBuilder> tableBorders) {
-        for (int i = tableBorders.size() - 2; i >= 0; i--) {
-            TableBorderBuilder border = tableBorders.get(i);
-            List<Integer> indexes = new LinkedList<>();
-            for (int j = tableBorders.size() - 1; j > i; j--) {
-                TableBorderBuilder border2 = tableBorders.get(j);
-                if (border.isConnectedBorder(border2)) {
-                    indexes.add(j);
+    private static int findRoot(int[] parents, int index) {
+        while (parents[index] != index) {
+            parents[index] = parents[parents[index]];
+            index = parents[index];
+        }
+        return index;
+    }
+
+    /**
+     * Joins builders having close vertexes, as {@link TableBorderBuilder#isConnectedBorder} does. Crossing lines
+     * are already in the same builder here, so only close vertexes can connect two builders. They are looked up
+     * in a grid with cells not smaller than the largest closeness distance, and the connected builders are
+     * joined until no more pairs with overlapping bounding boxes remain. Each group is merged into the builder
+     * with the smallest index, like the pairwise merging did.
+     */
+    private static void mergeTableBorders(List<TableBorderBuilder> tableBorders) {
+        int bordersNumber = tableBorders.size();
+        if (bordersNumber < 2) {
+            return;
+        }
+        List<Vertex> vertexes = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        double maxRadius = 0;
+        for (int i = 0; i < bordersNumber; i++) {
+            for (Vertex vertex : tableBorders.get(i).getVertexes()) {
+                vertexes.add(vertex);
+                owners.add(i);
+                maxRadius = Math.max(maxRadius, vertex.getRadius());
+            }
+        }
+        double cellSize = 2 * maxRadius + NodeUtils.TABLE_BORDER_EPSILON;
+        Map<Long, List<Integer>> cells = new HashMap<>();
+        Set<Long> pairs = new LinkedHashSet<>();
+        for (int i = 0; i < vertexes.size(); i++) {
+            Vertex vertex = vertexes.get(i);
+            long cellX = (long) Math.floor(vertex.getX() / cellSize);
+            long cellY = (long) Math.floor(vertex.getY() / cellSize);
+            for (long x = cellX - 1; x <= cellX + 1; x++) {
+                for (long y = cellY - 1; y <= cellY + 1; y++) {
+                    List<Integer> cell = cells.get(getCellKey(x, y));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (Integer j : cell) {
+                        int owner1 = owners.get(j);
+                        int owner2 = owners.get(i);
+                        if (owner1 != owner2 && Vertex.areCloseVertexes(vertexes.get(j), vertex)) {
+                            pairs.add((long) Math.min(owner1, owner2) * bordersNumber + Math.max(owner1, owner2));
+                        }
+                    }
                 }
             }
-            for (Integer index : indexes) {
-                border.mergeBorder(tableBorders.get(index));
-                tableBorders.remove((int)index);
+            cells.computeIfAbsent(getCellKey(cellX, cellY), key -> new ArrayList<>()).add(i);
+        }
+        if (pairs.isEmpty()) {
+            return;
+        }
+        int[] parents = new int[bordersNumber];
+        BoundingBox[] boundingBoxes = new BoundingBox[bordersNumber];
+        for (int i = 0; i < bordersNumber; i++) {
+            parents[i] = i;
+            boundingBoxes[i] = new BoundingBox(tableBorders.get(i).getBoundingBox());
+        }
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (Long pair : pairs) {
+                int root1 = findRoot(parents, (int) (pair / bordersNumber));
+                int root2 = findRoot(parents, (int) (pair % bordersNumber));
+                if (root1 != root2 && boundingBoxes[root1].overlaps(boundingBoxes[root2],
+                        NodeUtils.TABLE_BORDER_EPSILON)) {
+                    int root = Math.min(root1, root2);
+                    int child = Math.max(root1, root2);
+                    parents[child] = root;
+                    boundingBoxes[root].union(boundingBoxes[child]);
+                    merged = true;
+                }
+            }
+        }
+        List<TableBorderBuilder> mergedBorders = new ArrayList<>(bordersNumber);
+        for (int i = 0; i < bordersNumber; i++) {
+            int root = findRoot(parents, i);
+            if (root == i) {
+                mergedBorders.add(tableBorders.get(i));
+            } else {
+                tableBorders.get(root).mergeBorder(tableBorders.get(i));
             }
         }
+        tableBorders.clear();
+        tableBorders.addAll(mergedBorders);
+    }
+
+    private static long getCellKey(long x, long y) {
+        return (x << 32) ^ (y & 0xFFFFFFFFL);
     }
 
     @Override
     public WCAGProgressStatus getWCAGProgressStatus() {
         return WCAGProgressStatus.LINES_PREPROCESSING;
     }
+
+    @Override
+    public Map<String, Long> getMetricsCounters() {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        if (tableBorders != null) {
+            long tableBordersNumber = 0;
+            for (List<TableBorderBuilder> pageTableBorders : tableBorders) {
+                tableBordersNumber += pageTableBorders.size();
+            }
+            counters.put("pages", (long) tableBorders.size());
+            counters.put("tableBorders", tableBordersNumber);
+        }
+        return counters;
+    }
 }
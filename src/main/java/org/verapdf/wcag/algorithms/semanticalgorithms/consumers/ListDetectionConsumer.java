@@ -13,6 +13,7 @@ import org.verapdf.wcag.algorithms.entities.lists.info.ListItemLineArtInfo;
 import org.verapdf.wcag.algorithms.entities.lists.info.ListItemTextInfo;
 import org.verapdf.wcag.algorithms.entities.tables.tableBorders.TableBorder;
 import org.verapdf.wcag.algorithms.semanticalgorithms.containers.StaticContainers;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ValidationContext;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.ErrorCodes;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.ListLabelsUtils;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.ListUtils;
@@ -25,6 +26,13 @@ import java.util.stream.IntStream;
 
 public class ListDetectionConsumer extends WCAGConsumer implements Consumer<INode> {
 
+    public ListDetectionConsumer() {
+    }
+
+    public ListDetectionConsumer(ValidationContext context) {
+        super(context);
+    }
+
     @Override
     public void accept(INode node) {
         boolean isLeafChild  = node.getChildren()
@@ -55,8 +63,8 @@ public class ListDetectionConsumer extends WCAGConsumer implements Consumer<INod
         if (node.getSemanticType() == SemanticType.TABLE_OF_CONTENT) {
             return;
         }
-        INode accumulatedNode = StaticContainers.getAccumulatedNodeMapper().get(node);
-        TableBorder tableBorder = StaticContainers.getTableBordersCollection().getTableBorder(node.getBoundingBox());
+        INode accumulatedNode = context.getAccumulatedNodeMapper().get(node);
+        TableBorder tableBorder = context.getTableBordersCollection().getTableBorder(node.getBoundingBox());
         if (accumulatedNode != null && tableBorder != null &&
                 tableBorder.getTableBorderCell(accumulatedNode.getBoundingBox()) == null) {
             return;
@@ -74,7 +82,7 @@ public class ListDetectionConsumer extends WCAGConsumer implements Consumer<INod
                     .count() > 1) {
                 continue;
             }
-            INode accumulatedChild = StaticContainers.getAccumulatedNodeMapper().get(child);
+            INode accumulatedChild = context.getAccumulatedNodeMapper().get(child);
             if (!(accumulatedChild instanceof SemanticTextNode)) {
                 continue;
             }
@@ -111,15 +119,15 @@ public class ListDetectionConsumer extends WCAGConsumer implements Consumer<INod
             }
         }
         if (!updateTreeWithOneElementList(node, textChildrenInfo) && textChildrenInfo.size() > 1) {
-            ListUtils.updateTreeWithRecognizedLists(node, ListUtils.getChildrenListIntervals(
+            ListUtils.updateTreeWithRecognizedLists(context, node, ListUtils.getChildrenListIntervals(context,
                     ListLabelsUtils.getListItemsIntervals(textChildrenInfo), node.getChildren()));
         }
         if (imageChildrenInfo.size() > 1) {
-            ListUtils.updateTreeWithRecognizedLists(node, ListUtils.getChildrenListIntervals(
+            ListUtils.updateTreeWithRecognizedLists(context, node, ListUtils.getChildrenListIntervals(context,
                     ListLabelsUtils.getImageListItemsIntervals(imageChildrenInfo), node.getChildren()));
         }
         if (lineArtChildrenInfo.size() > 1) {
-            ListUtils.updateTreeWithRecognizedLists(node, ListUtils.getChildrenListIntervals(
+            ListUtils.updateTreeWithRecognizedLists(context, node, ListUtils.getChildrenListIntervals(context,
                     ListLabelsUtils.getImageListItemsIntervals(lineArtChildrenInfo), node.getChildren()));
         }
     }
@@ -135,7 +143,7 @@ public class ListDetectionConsumer extends WCAGConsumer implements Consumer<INod
             if (ListLabelsUtils.isListLabel(itemsInfo.get(index).getListItem())) {
                 int originalIndex = itemsInfo.get(index).getIndex();
                 List<ListItemInfo> listItemsInfos = new ArrayList<>(Collections.singletonList(itemsInfo.get(index)));
-                ListUtils.updateTreeWithRecognizedList(node, new ListInterval(listItemsInfos,
+                ListUtils.updateTreeWithRecognizedList(context, node, new ListInterval(listItemsInfos,
                         itemsInfo.stream()
                                 .map(ListItemTextInfo::getIndex)
                                 .filter(i -> i != originalIndex)
@@ -148,11 +156,15 @@ public class ListDetectionConsumer extends WCAGConsumer implements Consumer<INod
     }
 
     public static boolean isTwoListItemsOnTwoPages(INode node) {
+        return isTwoListItemsOnTwoPages(StaticContainers.getContext(), node);
+    }
+
+    public static boolean isTwoListItemsOnTwoPages(ValidationContext context, INode node) {
         if (node.getPageNumber() == null || node.getLastPageNumber() == null ||
                 node.getPageNumber() + 1 != node.getLastPageNumber()) {
             return false;
         }
-        INode accumulatedNode = StaticContainers.getAccumulatedNodeMapper().get(node);
+        INode accumulatedNode = context.getAccumulatedNodeMapper().get(node);
         if (!(accumulatedNode instanceof SemanticTextNode)) {
             return false;
         }
@@ -186,14 +198,14 @@ public class ListDetectionConsumer extends WCAGConsumer implements Consumer<INod
         for (INode currentChild : node.getChildren()) {
             if (currentChild.getSemanticType() == SemanticType.LIST) {
                 if (previousChild != null) {
-                    INode accumulatedPreviousNode = StaticContainers.getAccumulatedNodeMapper().get(previousChild);
-                    INode accumulatedNode = StaticContainers.getAccumulatedNodeMapper().get(currentChild);
+                    INode accumulatedPreviousNode = context.getAccumulatedNodeMapper().get(previousChild);
+                    INode accumulatedNode = context.getAccumulatedNodeMapper().get(currentChild);
                     if (accumulatedNode instanceof SemanticList && accumulatedPreviousNode instanceof SemanticList &&
                             checkNeighborLists(currentChild, previousChild, (SemanticList) accumulatedNode,
                                 (SemanticList) accumulatedPreviousNode)) {
                         ErrorCodes.addErrorCodeWithArguments(currentChild, ErrorCodes.ERROR_CODE_1200);
                         ErrorCodes.addErrorCodeWithArguments(previousChild, ErrorCodes.ERROR_CODE_1200);
-                        StaticContainers.getIdMapper().put(previousChild.getRecognizedStructureId(),
+                        context.getIdMapper().put(previousChild.getRecognizedStructureId(),
                                 currentChild.getRecognizedStructureId());
                     }
                 }
@@ -287,7 +299,7 @@ public class ListDetectionConsumer extends WCAGConsumer implements Consumer<INod
         children.add(previousNode.getChildren().get(previousNode.getChildren().size() - 1));
         children.add(currentNode.getChildren().get(0));
         ListIntervalsCollection listIntervalsCollection = new ListIntervalsCollection();
-        ListUtils.checkChildrenListInterval(listIntervalsCollection, new ListInterval(listItemInfos,
+        ListUtils.checkChildrenListInterval(context, listIntervalsCollection, new ListInterval(listItemInfos,
                 Collections.emptyList(), 1), children);
         Set<ListInterval> listIntervals = listIntervalsCollection.getSet();
         if (listIntervals.size() != 1) {
@@ -300,11 +312,11 @@ public class ListDetectionConsumer extends WCAGConsumer implements Consumer<INod
         return true;
     }
 
-    private static void checkListItem(INode node) {
+    private void checkListItem(INode node) {
         if (node.getInitialSemanticType() != SemanticType.LIST_ITEM) {
             return;
         }
-        if (isTwoListItemsOnTwoPages(node) && !isContainsSeveralPagesList(node)) {
+        if (isTwoListItemsOnTwoPages(context, node) && !isContainsSeveralPagesList(node)) {
            ErrorCodes.addErrorCodeWithArguments(node, ErrorCodes.ERROR_CODE_1202);
         }
     }
@@ -0,0 +1,190 @@
+package org.verapdf.wcag.algorithms.semanticalgorithms.consumers;
+
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.PageRasterProvider;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.RenderedPage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Renders pages ahead of their processing by several workers. Every worker uses its own copy of the page raster
+ * provider. Pages are returned in the given order and at most maxRenderedPagesNumber pages are rendered ahead.
+ */
+class PagesRenderingPipeline implements Closeable {
+
+	private static final Logger logger = Logger.getLogger(PagesRenderingPipeline.class.getCanonicalName());
+	private static final long CLOSE_TIMEOUT_SECONDS = 30;
+	private static final AtomicInteger pipelinesNumber = new AtomicInteger();
+
+	private final PageRasterProvider rasterProvider;
+	private final PageRenderer pageRenderer;
+	private final int renderersNumber;
+	private final ExecutorService executorService;
+	private final ThreadLocal<PageRasterProvider> workerProviders = new ThreadLocal<>();
+	private final List<PageRasterProvider> providers = new ArrayList<>();
+	private final Set<PageRasterProvider> renderingProviders = new HashSet<>();
+	private boolean isClosed = false;
+	private final Iterator<Integer> pageNumbers;
+	private final Deque<Future<List<RenderedPage>>> renderedPages = new ArrayDeque<>();
+
+	/**
+	 * @param rasterProvider provider supporting {@link PageRasterProvider#createCopy copies}
+	 */
+	PagesRenderingPipeline(PageRasterProvider rasterProvider, PageRenderer pageRenderer, Iterable<Integer> pageNumbers,
+	                       int renderersNumber, int maxRenderedPagesNumber) {
+		this.rasterProvider = rasterProvider;
+		this.pageRenderer = pageRenderer;
+		this.renderersNumber = renderersNumber;
+		this.pageNumbers = pageNumbers.iterator();
+		String threadNamePrefix = "contrast-ratio-renderer-" + pipelinesNumber.incrementAndGet() + "-";
+		AtomicInteger threadsNumber = new AtomicInteger();
+		this.executorService = Executors.newFixedThreadPool(renderersNumber, runnable -> {
+			Thread thread = new Thread(runnable, threadNamePrefix + threadsNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		for (int i = 0; i < maxRenderedPagesNumber && this.pageNumbers.hasNext(); i++) {
+			renderNextPage();
+		}
+	}
+
+	boolean hasNext() {
+		return !renderedPages.isEmpty();
+	}
+
+	/**
+	 * @return rendered regions of the next page
+	 * @throws IOException if the page could not be rendered
+	 * @throws InterruptedException if the current thread was interrupted while waiting for the page
+	 */
+	List<RenderedPage> next() throws IOException, InterruptedException {
+		Future<List<RenderedPage>> renderedPage = renderedPages.poll();
+		if (renderedPage == null) {
+			throw new NoSuchElementException();
+		}
+		if (pageNumbers.hasNext()) {
+			renderNextPage();
+		}
+		try {
+			return renderedPage.get();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IOException(cause);
+		}
+	}
+
+	private void renderNextPage() {
+		int pageNumber = pageNumbers.next();
+		renderedPages.add(executorService.submit(() -> {
+			PageRasterProvider provider = startRendering();
+			try {
+				return pageRenderer.render(provider, pageNumber);
+			} finally {
+				finishRendering(provider);
+			}
+		}));
+	}
+
+	/**
+	 * @return provider of the current worker, created on its first page
+	 * @throws IOException if the pipeline is closed or the provider could not be created
+	 */
+	private PageRasterProvider startRendering() throws IOException {
+		synchronized (providers) {
+			if (isClosed) {
+				throw new IOException("Pages rendering pipeline is closed");
+			}
+			PageRasterProvider provider = workerProviders.get();
+			if (provider == null) {
+				provider = rasterProvider.createCopy(renderersNumber);
+				providers.add(provider);
+				workerProviders.set(provider);
+			}
+			renderingProviders.add(provider);
+			return provider;
+		}
+	}
+
+	/**
+	 * Closes the provider if the pipeline was closed while the worker was rendering the page.
+	 */
+	private void finishRendering(PageRasterProvider provider) {
+		synchronized (providers) {
+			renderingProviders.remove(provider);
+			if (isClosed && providers.remove(provider)) {
+				closeProvider(provider);
+			}
+		}
+	}
+
+	/**
+	 * Interrupts the workers and waits for them at most {@link #CLOSE_TIMEOUT_SECONDS}. Providers of the stopped
+	 * workers are closed at once, providers of the workers still rendering a page are closed when they stop.
+	 */
+	@Override
+	public void close() throws IOException {
+		synchronized (providers) {
+			isClosed = true;
+		}
+		for (Future<List<RenderedPage>> renderedPage : renderedPages) {
+			renderedPage.cancel(true);
+		}
+		renderedPages.clear();
+		executorService.shutdownNow();
+		boolean isInterrupted = false;
+		try {
+			if (!executorService.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+				logger.log(Level.WARNING, "Page renderers did not stop in " + CLOSE_TIMEOUT_SECONDS + " seconds");
+			}
+		} catch (InterruptedException e) {
+			isInterrupted = true;
+		}
+		synchronized (providers) {
+			Iterator<PageRasterProvider> iterator = providers.iterator();
+			while (iterator.hasNext()) {
+				PageRasterProvider provider = iterator.next();
+				if (!renderingProviders.contains(provider)) {
+					iterator.remove();
+					closeProvider(provider);
+				}
+			}
+		}
+		if (isInterrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void closeProvider(PageRasterProvider provider) {
+		try {
+			provider.close();
+		} catch (IOException e) {
+			logger.log(Level.WARNING, "Page raster provider is not closed: " + e.getMessage());
+		}
+	}
+
+	interface PageRenderer {
+
+		/**
+		 * @return rendered regions of the page, empty if there is nothing to render
+		 */
+		List<RenderedPage> render(PageRasterProvider rasterProvider, int pageNumber) throws IOException;
+	}
+}
@@ -4,7 +4,7 @@ import org.verapdf.wcag.algorithms.entities.*;
 import org.verapdf.wcag.algorithms.entities.content.TextChunk;
 import org.verapdf.wcag.algorithms.entities.content.TextColumn;
 import org.verapdf.wcag.algorithms.entities.content.TextLine;
-import org.verapdf.wcag.algorithms.semanticalgorithms.containers.StaticContainers;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ValidationContext;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.*;
 import org.verapdf.wcag.algorithms.entities.enums.SemanticType;
 import org.verapdf.wcag.algorithms.entities.geometry.BoundingBox;
@@ -15,6 +15,13 @@ import java.util.List;
 
 public class SemanticDocumentPostprocessingConsumer extends WCAGConsumer {
 
+	public SemanticDocumentPostprocessingConsumer() {
+	}
+
+	public SemanticDocumentPostprocessingConsumer(ValidationContext context) {
+		super(context);
+	}
+
 	public void runPostprocessingChecks(ITree tree) {
 		updateBoundingBoxes(tree);
 		checkForTitle(tree);
@@ -64,7 +71,7 @@ public class SemanticDocumentPostprocessingConsumer extends WCAGConsumer {
 			}
 			if (child instanceof SemanticSpan) {
 				for (TextColumn textColumn : ((SemanticSpan) child).getColumns()) {
-					for (TextLine textLine : textColumn.getLines()) {
+					for (TextLine textLine : textColumn.getTextLines()) {
 						for (TextChunk textChunk : textLine.getTextChunks()) {
 							if (textChunk.getValue().isEmpty()) {
 								continue;
@@ -102,7 +109,7 @@ public class SemanticDocumentPostprocessingConsumer extends WCAGConsumer {
 				return true;
 			}
 			INode parent = node.getParent();
-			while (parent != null && StaticContainers.getAccumulatedNodeMapper().get(parent) instanceof SemanticTextNode) {
+			while (parent != null && context.getAccumulatedNodeMapper().get(parent) instanceof SemanticTextNode) {
 				if (isTitle(parent)) {
 					parent.setSemanticType(SemanticType.TITLE);
 					break;
@@ -136,7 +143,7 @@ public class SemanticDocumentPostprocessingConsumer extends WCAGConsumer {
 	}
 
 	private boolean isTextNode(INode node) {
-		INode accumulatedNode = StaticContainers.getAccumulatedNodeMapper().get(node);
+		INode accumulatedNode = context.getAccumulatedNodeMapper().get(node);
 		return accumulatedNode instanceof SemanticTextNode && !((SemanticTextNode) accumulatedNode).isSpaceNode() &&
 		       !node.getChildren().isEmpty();
 	}
@@ -167,7 +174,7 @@ public class SemanticDocumentPostprocessingConsumer extends WCAGConsumer {
 					if (length > 2) {
 						updateBoundingBox(resultBox, textChunk, start, charIndex);
 						if (!Character.isDigit(lastCharacter)) {
-							StaticContainers.getRepeatedCharacters().add(new RepeatedCharacters(!isLastCharacterWhiteSpace,
+							context.getRepeatedCharacters().add(new RepeatedCharacters(!isLastCharacterWhiteSpace,
 									length, resultBox));
 						}
 					}
@@ -182,7 +189,7 @@ public class SemanticDocumentPostprocessingConsumer extends WCAGConsumer {
 		}
 		if (length > 2) {
 			if (!Character.isDigit(lastCharacter)) {
-				StaticContainers.getRepeatedCharacters().add(new RepeatedCharacters(!isLastCharacterWhiteSpace,
+				context.getRepeatedCharacters().add(new RepeatedCharacters(!isLastCharacterWhiteSpace,
 						length, resultBox));
 			}
 		}
@@ -208,7 +215,7 @@ public class SemanticDocumentPostprocessingConsumer extends WCAGConsumer {
 
 	private void updateIDs(ITree tree) {
 		for (INode node : tree) {
-			Long newId = StaticContainers.getIdMapper().get(node.getRecognizedStructureId());
+			Long newId = context.getIdMapper().get(node.getRecognizedStructureId());
 			if (newId != null) {
 				node.setRecognizedStructureId(newId);
 			}
@@ -3,15 +3,16 @@ package org.verapdf.wcag.algorithms.semanticalgorithms.consumers;
 import org.verapdf.wcag.algorithms.entities.*;
 import org.verapdf.wcag.algorithms.entities.content.LineChunk;
 import org.verapdf.wcag.algorithms.entities.content.TextChunk;
-import org.verapdf.wcag.algorithms.entities.content.TextColumn;
-import org.verapdf.wcag.algorithms.entities.content.TextLine;
 import org.verapdf.wcag.algorithms.entities.enums.SemanticType;
 import org.verapdf.wcag.algorithms.entities.geometry.MultiBoundingBox;
 import org.verapdf.wcag.algorithms.semanticalgorithms.containers.StaticContainers;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ValidationContext;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.NodeUtils;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.TextChunkUtils;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.WCAGProgressStatus;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.SortedSet;
 import java.util.Stack;
 import java.util.function.Consumer;
@@ -25,6 +26,11 @@ public class SemanticDocumentPreprocessingConsumer extends WCAGConsumer implemen
     private long structElementsNumber;
 
     public SemanticDocumentPreprocessingConsumer() {
+        this(StaticContainers.getContext());
+    }
+
+    public SemanticDocumentPreprocessingConsumer(ValidationContext context) {
+        super(context);
         setNodeParents();
         this.textChunksNumber = 0L;
         this.structElementsNumber = 0L;
@@ -32,16 +38,18 @@ public class SemanticDocumentPreprocessingConsumer extends WCAGConsumer implemen
 
     public void setNodeParents() {
         Stack<INode> nodeStack = new Stack<>();
-        INode root = StaticContainers.getDocument().getTree().getRoot();
+        INode root = context.getDocument().getTree().getRoot();
+        int nodesNumber = 0;
         nodeStack.push(root);
         root.setDepth(0);
-        nodeStack.add(root);
+        root.setNodeId(nodesNumber++);
         while (!nodeStack.isEmpty()) {
             INode node = nodeStack.pop();
             for (int i = 0; i < node.getChildren().size(); i++) {
                 INode child = node.getChildren().get(i);
                 child.setParent(node);
                 child.setIndex(i);
+                child.setNodeId(nodesNumber++);
                 child.setDepth(node.getDepth() + 1);
                 nodeStack.push(child);
             }
@@ -69,7 +77,7 @@ public class SemanticDocumentPreprocessingConsumer extends WCAGConsumer implemen
         if (node instanceof SemanticSpan) {
             checkUnderlinedText(((SemanticSpan)node));
         }
-        StaticContainers.getObjectKeyMapper().put(node.getObjectKeyNumber(), node);
+        context.getObjectKeyMapper().put(node.getObjectKeyNumber(), node);
         if (node.getChildren().isEmpty()) {
             return;
         }
@@ -84,19 +92,15 @@ public class SemanticDocumentPreprocessingConsumer extends WCAGConsumer implemen
     }
 
     private void checkUnderlinedText(SemanticSpan span) {
-        for (TextColumn textColumn : span.getColumns()) {
-            for (TextLine textLine : textColumn.getLines()) {
-                for (TextChunk textChunk : textLine.getTextChunks()) {
-                    if (!TextChunkUtils.isWhiteSpaceChunk(textChunk)) {
-                        checkUnderlinedText(textChunk);
-                    }
-                }
+        for (TextChunk textChunk : span.getTextChunks()) {
+            if (!TextChunkUtils.isWhiteSpaceChunk(textChunk)) {
+                checkUnderlinedText(textChunk);
             }
         }
     }
 
     private void checkUnderlinedText(TextChunk textChunk) {
-        if (textChunk.getPageNumber() != null && StaticContainers.getDocument() != null) {
+        if (textChunk.getPageNumber() != null && context.getDocument() != null) {
             for (LineChunk lineChunk : getHorizontalLines(textChunk)) {
                 if (isUnderlinedText(textChunk, lineChunk)) {
                     textChunk.setIsUnderlinedText();
@@ -107,7 +111,7 @@ public class SemanticDocumentPreprocessingConsumer extends WCAGConsumer implemen
     }
 
     private SortedSet<LineChunk> getHorizontalLines(TextChunk textChunk) {
-        SortedSet<LineChunk> lines = StaticContainers.getLinesCollection().getHorizontalLines(textChunk.getPageNumber());
+        SortedSet<LineChunk> lines = context.getLinesCollection().getHorizontalLines(textChunk.getPageNumber());
         return lines.subSet(new LineChunk(textChunk.getPageNumber(), -Double.MAX_VALUE, textChunk.getBaseLine(),
                         -Double.MAX_VALUE, textChunk.getBaseLine()),
                 new LineChunk(textChunk.getPageNumber(), Double.MAX_VALUE,
@@ -135,4 +139,12 @@ public class SemanticDocumentPreprocessingConsumer extends WCAGConsumer implemen
     public WCAGProgressStatus getWCAGProgressStatus() {
         return WCAGProgressStatus.DOCUMENT_PREPROCESSING;
     }
+
+    @Override
+    public Map<String, Long> getMetricsCounters() {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        counters.put("structElements", structElementsNumber);
+        counters.put("textChunks", textChunksNumber);
+        return counters;
+    }
 }
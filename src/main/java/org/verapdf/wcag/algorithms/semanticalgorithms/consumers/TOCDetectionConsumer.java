@@ -8,6 +8,7 @@ import org.verapdf.wcag.algorithms.entities.content.TextLine;
 import org.verapdf.wcag.algorithms.entities.enums.SemanticType;
 import org.verapdf.wcag.algorithms.entities.geometry.BoundingBox;
 import org.verapdf.wcag.algorithms.semanticalgorithms.containers.StaticContainers;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ValidationContext;
 import org.verapdf.wcag.algorithms.semanticalgorithms.tocs.TOCIInfo;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.*;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.listLabelsDetection.ArabicNumbersListLabelsDetectionAlgorithm;
@@ -43,7 +44,12 @@ public class TOCDetectionConsumer extends WCAGConsumer implements Consumer<INode
     private Integer lastPageNumber = null;
 
     public TOCDetectionConsumer() {
-        structElementsNumber = StaticContainers.getStructElementsNumber();
+        this(StaticContainers.getContext());
+    }
+
+    public TOCDetectionConsumer(ValidationContext context) {
+        super(context);
+        structElementsNumber = context.getStructElementsNumber();
     }
 
     @Override
@@ -74,12 +80,12 @@ public class TOCDetectionConsumer extends WCAGConsumer implements Consumer<INode
         }
         List<Integer> tociIndexes = detectTOCIs(infos, node, tocIndexes);
         if (tociIndexes.size() > 1) {
-            Long id = StaticContainers.getNextID();
+            Long id = context.getNextID();
             for (int index : tociIndexes) {
                 INode child = node.getChildren().get(index);
                 child.setRecognizedStructureId(id);
-                StaticContainers.getAccumulatedNodeMapper().updateNode(child,
-                        StaticContainers.getAccumulatedNodeMapper().get(child), 1.0, SemanticType.TABLE_OF_CONTENT_ITEM);
+                context.getAccumulatedNodeMapper().updateNode(child,
+                        context.getAccumulatedNodeMapper().get(child), 1.0, SemanticType.TABLE_OF_CONTENT_ITEM);
             }
             if (tociIndexes.size() + tocIndexes.size() > TOC_PROBABILITY_THRESHOLD * node.getChildren().size()) {
                 node.setSemanticType(SemanticType.TABLE_OF_CONTENT);
@@ -109,7 +115,7 @@ public class TOCDetectionConsumer extends WCAGConsumer implements Consumer<INode
 //            }
 //        }
         List<Integer> tociIndexes = checkTOCIs(node, infos, node.getChildren());
-        Long id = StaticContainers.getNextID();
+        Long id = context.getNextID();
         for (INode child : node.getChildren()) {
             if (child.getInitialSemanticType() == SemanticType.TABLE_OF_CONTENT_ITEM) {
                 child.setRecognizedStructureId(id);
@@ -120,13 +126,13 @@ public class TOCDetectionConsumer extends WCAGConsumer implements Consumer<INode
             if (child.getInitialSemanticType() != SemanticType.TABLE_OF_CONTENT_ITEM) {
                 child.setRecognizedStructureId(id);
             }
-            StaticContainers.getAccumulatedNodeMapper().updateNode(child,
-                    StaticContainers.getAccumulatedNodeMapper().get(child), 1.0, SemanticType.TABLE_OF_CONTENT_ITEM);
+            context.getAccumulatedNodeMapper().updateNode(child,
+                    context.getAccumulatedNodeMapper().get(child), 1.0, SemanticType.TABLE_OF_CONTENT_ITEM);
         }
         if (tociIndexes.size() > 1 || (tociIndexes.size() == 1 && node.getChildren().size() == 1)) {
             node.setRecognizedStructureId(id);
-            StaticContainers.getAccumulatedNodeMapper().updateNode(node,
-                    StaticContainers.getAccumulatedNodeMapper().get(node), 1.0, SemanticType.TABLE_OF_CONTENT);
+            context.getAccumulatedNodeMapper().updateNode(node,
+                    context.getAccumulatedNodeMapper().get(node), 1.0, SemanticType.TABLE_OF_CONTENT);
         }
     }
 
@@ -210,7 +216,7 @@ public class TOCDetectionConsumer extends WCAGConsumer implements Consumer<INode
             }
             if (tociInfo.getDestinationPageNumber() == null && tociInfo.getDestinationStructElem() == null &&
                     (tociInfo.getPageNumberLabel() == null ||
-                    tociInfo.getPageNumberLabel() > StaticContainers.getDocument().getNumberOfPages())) {
+                    tociInfo.getPageNumberLabel() > context.getDocument().getNumberOfPages())) {
                 continue;
             }
             indexes.add(index);
@@ -227,17 +233,17 @@ public class TOCDetectionConsumer extends WCAGConsumer implements Consumer<INode
         checkTOCIsWithWrongDestination(node, indexes, tociIndexes, infos, children, gap);
         for (int i = tociIndexes.size() - 1; i >= 0; i--) {
             INode child = children.get(tociIndexes.get(i));
-            if (child.getErrorCodes().contains(ErrorCodes.ERROR_CODE_1007) ||
+            if (child.hasErrorCode(ErrorCodes.ERROR_CODE_1007) ||
                     ((infos.get(tociIndexes.get(i)).getDestinationPageNumber() == null &&
                             infos.get(tociIndexes.get(i)).getDestinationStructElem() == null) &&
-                    child.getErrorCodes().contains(ErrorCodes.ERROR_CODE_1010))) {
+                    child.hasErrorCode(ErrorCodes.ERROR_CODE_1010))) {
                 tociIndexes.remove(i);
             }
         }
         checkLeftAndRightAlignments(tociIndexes, infos, children);
         for (int i = tociIndexes.size() - 1; i >= 0; i--) {
             INode child = children.get(tociIndexes.get(i));
-            if (child.getErrorCodes().contains(ErrorCodes.ERROR_CODE_1003)) {
+            if (child.hasErrorCode(ErrorCodes.ERROR_CODE_1003)) {
                 tociIndexes.remove(i);
             }
         }
@@ -424,7 +430,7 @@ public class TOCDetectionConsumer extends WCAGConsumer implements Consumer<INode
     private TOCIInfo getTOCIInfo(INode node) {
         TOCIInfo info = new TOCIInfo();
         info.setDestinationPageNumber(getDestinationNumber(node, true));
-        info.setDestinationStructElem(StaticContainers.getObjectKeyMapper().get(getDestinationNumber(node, false)));
+        info.setDestinationStructElem(context.getObjectKeyMapper().get(getDestinationNumber(node, false)));
         info.setRight(node.getRightX());
         List<TextChunk> textChunks = getTextChunks(node);
         info.setMaxTextSize(textChunks.stream().map(TextInfoChunk::getFontSize).max(Double::compare).orElse(0.0));
@@ -436,8 +442,8 @@ public class TOCDetectionConsumer extends WCAGConsumer implements Consumer<INode
             info.setRight(lastChunk.getSymbolEndCoordinate(textValue.length() - numberOfSpaces - 1));
             textValue = textValue.substring(0, textValue.length() - numberOfSpaces);
             if (info.getDestinationPageNumber() != null && info.getDestinationPageNumber() <
-                    StaticContainers.getDocument().getNumberOfPages()) {
-                String pageLabel = StaticContainers.getDocument().getPage(info.getDestinationPageNumber()).getPageLabel();
+                    context.getDocument().getNumberOfPages()) {
+                String pageLabel = context.getDocument().getPage(info.getDestinationPageNumber()).getPageLabel();
                 if (pageLabel != null && textValue.toUpperCase().endsWith(pageLabel.toUpperCase())) {
                     info.setPageNumberLabel(info.getDestinationPageNumber());
                     pageLabelLength = pageLabel.length();
@@ -497,7 +503,7 @@ public class TOCDetectionConsumer extends WCAGConsumer implements Consumer<INode
             }
             if (child instanceof SemanticSpan) {
                 for (TextColumn column : ((SemanticSpan)child).getColumns()) {
-                    for (TextLine line : column.getLines()) {
+                    for (TextLine line : column.getTextLines()) {
                         for (TextChunk chunk : line.getTextChunks()) {
                             if (!chunk.isEmpty() && !TextChunkUtils.isWhiteSpaceChunk(chunk) &&
                                     (pageNumber == null || pageNumber.equals(chunk.getPageNumber()))) {
@@ -579,7 +585,7 @@ public class TOCDetectionConsumer extends WCAGConsumer implements Consumer<INode
     }
 
     private INode findNode(int pageNumber) {
-        INode currentNode = StaticContainers.getDocument().getTree().getRoot();
+        INode currentNode = context.getDocument().getTree().getRoot();
         while (currentNode.getPageNumber() != pageNumber || currentNode.getLastPageNumber() != pageNumber) {
             if (currentNode.getChildren().isEmpty()) {
                 return null;
@@ -620,7 +626,7 @@ public class TOCDetectionConsumer extends WCAGConsumer implements Consumer<INode
 
     private List<Integer> getPagesWithText(String text) {
         List<Integer> pageNumbers = new LinkedList<>();
-        for (int pageNumber = 0; pageNumber < StaticContainers.getDocument().getNumberOfPages(); pageNumber++) {
+        for (int pageNumber = 0; pageNumber < context.getDocument().getNumberOfPages(); pageNumber++) {
             if (findText(text, pageNumber)) {
                 pageNumbers.add(pageNumber);
             }
@@ -653,14 +659,14 @@ public class TOCDetectionConsumer extends WCAGConsumer implements Consumer<INode
         if (HeadingUtils.isDetectedHeadingNode(node)) {
             return true;
         }
-        INode accumulatedNode = StaticContainers.getAccumulatedNodeMapper().get(node);
+        INode accumulatedNode = context.getAccumulatedNodeMapper().get(node);
         if (accumulatedNode instanceof SemanticTextNode) {
             if (node.getInitialSemanticType() == SemanticType.NUMBER_HEADING) {
-                StaticContainers.getAccumulatedNodeMapper().updateNode(node,
+                context.getAccumulatedNodeMapper().updateNode(node,
                         new SemanticNumberHeading((SemanticTextNode)accumulatedNode),
                         1.0, SemanticType.NUMBER_HEADING);
             } else if (node.getInitialSemanticType() == SemanticType.HEADING) {
-                StaticContainers.getAccumulatedNodeMapper().updateNode(node,
+                context.getAccumulatedNodeMapper().updateNode(node,
                         new SemanticHeading((SemanticTextNode)accumulatedNode),
                         1.0, SemanticType.HEADING);
             }
@@ -705,7 +711,7 @@ public class TOCDetectionConsumer extends WCAGConsumer implements Consumer<INode
                 if (previousChild != null && checkNeighborTOCs(child, previousChild)) {
                     ErrorCodes.addErrorCodeWithArguments(child, ErrorCodes.ERROR_CODE_1006);
                     ErrorCodes.addErrorCodeWithArguments(previousChild, ErrorCodes.ERROR_CODE_1006);
-                    StaticContainers.getIdMapper().put(previousChild.getRecognizedStructureId(),
+                    context.getIdMapper().put(previousChild.getRecognizedStructureId(),
                             child.getRecognizedStructureId());
                 }
                 previousChild = child;
@@ -724,8 +730,8 @@ public class TOCDetectionConsumer extends WCAGConsumer implements Consumer<INode
         if (currentTOCI.getSemanticType() != SemanticType.TABLE_OF_CONTENT_ITEM) {
             return false;
         }
-        int numberOfPreviousTOCIErrors = previousTOCI.getErrorCodes().size();
-        int numberOfCurrentTOCIErrors = previousTOCI.getErrorCodes().size();
+        int numberOfPreviousTOCIErrors = previousTOCI.getErrorCodesNumber();
+        int numberOfCurrentTOCIErrors = previousTOCI.getErrorCodesNumber();
 //        left = null;
         right = null;
         maxRight = -Double.MAX_VALUE;
@@ -7,8 +7,6 @@ import org.verapdf.wcag.algorithms.entities.SemanticTextNode;
 import org.verapdf.wcag.algorithms.entities.SemanticFigure;
 import org.verapdf.wcag.algorithms.entities.content.ImageChunk;
 import org.verapdf.wcag.algorithms.entities.content.TextChunk;
-import org.verapdf.wcag.algorithms.entities.content.TextColumn;
-import org.verapdf.wcag.algorithms.entities.content.TextLine;
 import org.verapdf.wcag.algorithms.entities.enums.SemanticType;
 import org.verapdf.wcag.algorithms.entities.geometry.BoundingBox;
 import org.verapdf.wcag.algorithms.entities.geometry.MultiBoundingBox;
@@ -16,7 +14,7 @@ import org.verapdf.wcag.algorithms.entities.tables.TableToken;
 import org.verapdf.wcag.algorithms.entities.tables.tableBorders.TableBorder;
 import org.verapdf.wcag.algorithms.entities.tables.tableBorders.TableBorderCell;
 import org.verapdf.wcag.algorithms.entities.tables.tableBorders.TableBorderRow;
-import org.verapdf.wcag.algorithms.semanticalgorithms.containers.StaticContainers;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ValidationContext;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.TableUtils;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.WCAGProgressStatus;
 
@@ -25,17 +23,23 @@ import java.util.stream.Collectors;
 
 public class TableBorderConsumer extends WCAGConsumer {
 
+    private long visitedNodesNumber = 0;
+
+    public TableBorderConsumer() {
+    }
+
+    public TableBorderConsumer(ValidationContext context) {
+        super(context);
+    }
+
     public void recognizeTables(ITree tree) {
         for (INode node : tree) {
+            visitedNodesNumber++;
             if (node.getChildren().isEmpty()) {
                 if (node instanceof SemanticTextNode) {
                     SemanticTextNode textNode = (SemanticTextNode) node;
-                    for (TextColumn column : textNode.getColumns()) {
-                        for (TextLine line : column.getLines()) {
-                            for (TextChunk chunk : line.getTextChunks()) {
-                                add(new TableToken(chunk, node));
-                            }
-                        }
+                    for (TextChunk chunk : textNode.getTextChunks()) {
+                        add(new TableToken(chunk, node));
                     }
                 } else if (node instanceof SemanticFigure) {
                     SemanticFigure imageNode = (SemanticFigure) node;
@@ -49,7 +53,7 @@ public class TableBorderConsumer extends WCAGConsumer {
     }
 
     private void add(TableToken token) {
-        TableBorder tableBorder = StaticContainers.getTableBordersCollection().getTableBorder(token.getBoundingBox());
+        TableBorder tableBorder = context.getTableBordersCollection().getTableBorder(token.getBoundingBox());
         if (tableBorder != null) {
             TableBorderCell tableBorderCell = tableBorder.getTableBorderCell(token.getBoundingBox());
             if (tableBorderCell != null) {
@@ -60,7 +64,7 @@ public class TableBorderConsumer extends WCAGConsumer {
     }
 
     private void updateTreeWithRecognizedTables() {
-        for (SortedSet<TableBorder> tables : StaticContainers.getTableBordersCollection().getTableBorders()) {
+        for (SortedSet<TableBorder> tables : context.getTableBordersCollection().getTableBorders()) {
             for (TableBorder table : tables) {
                 INode tableNode = getTableNode(table);
                 if (tableNode != null) {
@@ -82,9 +86,9 @@ public class TableBorderConsumer extends WCAGConsumer {
                         updateTreeWithRecognizedTableRows(table, depth);
                     }
                     if (ClusterTableConsumer.isNodeInsideTable(tableNode, table.getRecognizedStructureId(), table.getBoundingBox(), SemanticType.TABLE)) {
-                        StaticContainers.getAccumulatedNodeMapper().updateNode(tableNode, new SemanticTable(table),
+                        context.getAccumulatedNodeMapper().updateNode(tableNode, new SemanticTable(table),
                                 1.0, SemanticType.TABLE);
-                        ClusterTableConsumer.detectTableCaptions(table.getBoundingBox(), tableNode);
+                        ClusterTableConsumer.detectTableCaptions(context, table.getBoundingBox(), tableNode);
                     }
                 }
             }
@@ -344,4 +348,9 @@ public class TableBorderConsumer extends WCAGConsumer {
     public WCAGProgressStatus getWCAGProgressStatus() {
         return WCAGProgressStatus.TABLE_BORDER_DETECTION;
     }
+
+    @Override
+    public long getVisitedNodesNumber() {
+        return visitedNodesNumber;
+    }
 }
@@ -6,7 +6,7 @@ import org.verapdf.wcag.algorithms.entities.enums.SemanticType;
 import org.verapdf.wcag.algorithms.entities.geometry.BoundingBox;
 import org.verapdf.wcag.algorithms.entities.tables.tableBorders.TableBorder;
 import org.verapdf.wcag.algorithms.entities.tables.tableBorders.TableBorderCell;
-import org.verapdf.wcag.algorithms.semanticalgorithms.containers.StaticContainers;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ValidationContext;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.ErrorCodes;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.WCAGProgressStatus;
 
@@ -16,6 +16,13 @@ import java.util.function.Consumer;
 
 public class TableChecker extends WCAGConsumer implements Consumer<INode> {
 
+    public TableChecker() {
+    }
+
+    public TableChecker(ValidationContext context) {
+        super(context);
+    }
+
     @Override
     public void accept(INode node) {
         if (node.getInitialSemanticType() != SemanticType.TABLE) {
@@ -25,7 +32,7 @@ public class TableChecker extends WCAGConsumer implements Consumer<INode> {
         checkTable(node);
     }
 
-    private static void checkTable(INode table) {
+    private void checkTable(INode table) {
         List<INode> tableRows = getTableRows(table);
         int numberOfRows = tableRows.size();
         if (numberOfRows == 0) {
@@ -42,8 +49,8 @@ public class TableChecker extends WCAGConsumer implements Consumer<INode> {
         checkTableVisualRepresentation(table, cells, numberOfRows, numberOfColumns);
     }
 
-    private static void setTableElementsID(INode table, List<INode> tableRows, TableBorderCell[][] cells) {
-        Long id = StaticContainers.getNextID();
+    private void setTableElementsID(INode table, List<INode> tableRows, TableBorderCell[][] cells) {
+        Long id = context.getNextID();
         table.setRecognizedStructureId(id);
         for (INode elem : table.getChildren()) {
             if (SemanticType.TABLE_FOOTER == elem.getInitialSemanticType() ||
@@ -383,11 +390,11 @@ public class TableChecker extends WCAGConsumer implements Consumer<INode> {
         return boundingBox1.getLeftX(pageNumber) > boundingBox2.getLeftX(pageNumber);
     }
 
-    private static void checkTableVisualRepresentation(INode table, TableBorderCell[][] cells, int numberOfRows, int numberOfColumns) {
+    private void checkTableVisualRepresentation(INode table, TableBorderCell[][] cells, int numberOfRows, int numberOfColumns) {
         if (table.getPageNumber() != null && !table.getPageNumber().equals(table.getLastPageNumber())) {
             return;
         }
-        INode accumulatedNode = StaticContainers.getAccumulatedNodeMapper().get(table);
+        INode accumulatedNode = context.getAccumulatedNodeMapper().get(table);
         if (!(accumulatedNode instanceof SemanticTable)) {
             return;
         }
@@ -396,7 +403,7 @@ public class TableChecker extends WCAGConsumer implements Consumer<INode> {
         if (border == null) {
             return;
         }
-        StaticContainers.getIdMapper().put(border.getRecognizedStructureId(), table.getRecognizedStructureId());
+        context.getIdMapper().put(border.getRecognizedStructureId(), table.getRecognizedStructureId());
         if (border.getNumberOfRows() != numberOfRows) {
             ErrorCodes.addErrorCodeWithArguments(table, ErrorCodes.ERROR_CODE_1104,
                     numberOfRows, border.getNumberOfRows());
@@ -1,9 +1,28 @@
 package org.verapdf.wcag.algorithms.semanticalgorithms.consumers;
 
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.StaticContainers;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ValidationContext;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.WCAGProgressStatus;
 
+import java.util.Collections;
+import java.util.Map;
+
 public class WCAGConsumer {
 
+	protected final ValidationContext context;
+
+	public WCAGConsumer() {
+		this(StaticContainers.getContext());
+	}
+
+	public WCAGConsumer(ValidationContext context) {
+		this.context = context;
+	}
+
+	public ValidationContext getContext() {
+		return context;
+	}
+
 	public Double getPercent() {
 		return null;
 	}
@@ -11,4 +30,18 @@ public class WCAGConsumer {
 	public WCAGProgressStatus getWCAGProgressStatus() {
 		return null;
 	}
+
+	/**
+	 * @return number of tree nodes visited by the consumer, or -1 if the consumer does not count them
+	 */
+	public long getVisitedNodesNumber() {
+		return -1;
+	}
+
+	/**
+	 * @return stage specific counters reported in the stage metrics
+	 */
+	public Map<String, Long> getMetricsCounters() {
+		return Collections.emptyMap();
+	}
 }
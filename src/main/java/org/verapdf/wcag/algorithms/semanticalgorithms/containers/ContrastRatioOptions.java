@@ -0,0 +1,141 @@
+package org.verapdf.wcag.algorithms.semanticalgorithms.containers;
+
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.RenderedPagesCache;
+
+/**
+ * Settings of rendering pages and calculating contrast ratio of text chunks, held by a {@link ValidationContext}.
+ */
+public class ContrastRatioOptions {
+
+	public static final long DEFAULT_MAIN_MEMORY_SIZE = 64L * 1024 * 1024;
+
+	private long renderedPagesCacheSize = RenderedPagesCache.DEFAULT_MAX_SIZE;
+	private boolean groupedByPages = false;
+	private int renderersNumber = 1;
+	private boolean regionsRendering = false;
+	private boolean adaptiveDpi = false;
+	private int minDpi = 72;
+	private int maxDpi = 144;
+	private long mainMemorySize = DEFAULT_MAIN_MEMORY_SIZE;
+	private boolean integralImages = false;
+	private boolean memoization = false;
+
+	/**
+	 * @return memory budget in bytes for the pages rendered to calculate contrast ratio in the tree order,
+	 * {@link RenderedPagesCache#DEFAULT_MAX_SIZE} by default
+	 */
+	public long getRenderedPagesCacheSize() {
+		return renderedPagesCacheSize;
+	}
+
+	/**
+	 * @param renderedPagesCacheSize memory budget in bytes, 0 to keep only the last rendered page
+	 */
+	public void setRenderedPagesCacheSize(long renderedPagesCacheSize) {
+		if (renderedPagesCacheSize < 0) {
+			throw new IllegalArgumentException("Negative rendered pages cache size " + renderedPagesCacheSize);
+		}
+		this.renderedPagesCacheSize = renderedPagesCacheSize;
+	}
+
+	/**
+	 * @return true if contrast ratio is calculated page by page, false if it is calculated in the tree order,
+	 * false by default
+	 */
+	public boolean isGroupedByPages() {
+		return groupedByPages;
+	}
+
+	public void setGroupedByPages(boolean groupedByPages) {
+		this.groupedByPages = groupedByPages;
+	}
+
+	/**
+	 * @return number of workers rendering pages ahead when contrast ratio is calculated page by page
+	 */
+	public int getRenderersNumber() {
+		return renderersNumber;
+	}
+
+	public void setRenderersNumber(int renderersNumber) {
+		this.renderersNumber = renderersNumber;
+	}
+
+	/**
+	 * @return true if only the regions of pages containing text are rendered when contrast ratio is calculated
+	 * page by page
+	 */
+	public boolean isRegionsRendering() {
+		return regionsRendering;
+	}
+
+	public void setRegionsRendering(boolean regionsRendering) {
+		this.regionsRendering = regionsRendering;
+	}
+
+	/**
+	 * @return true if resolution of pages rendered to calculate contrast ratio page by page is chosen from the
+	 * smallest font size on the page
+	 */
+	public boolean isAdaptiveDpi() {
+		return adaptiveDpi;
+	}
+
+	public void setAdaptiveDpi(boolean adaptiveDpi) {
+		this.adaptiveDpi = adaptiveDpi;
+	}
+
+	public int getMinDpi() {
+		return minDpi;
+	}
+
+	public void setMinDpi(int minDpi) {
+		this.minDpi = minDpi;
+	}
+
+	public int getMaxDpi() {
+		return maxDpi;
+	}
+
+	public void setMaxDpi(int maxDpi) {
+		this.maxDpi = maxDpi;
+	}
+
+	/**
+	 * @return main memory in bytes used for the buffers of the document loaded to calculate contrast ratio,
+	 * the rest is kept in temporary files. 0 to keep buffers only in temporary files, -1 to keep them only in
+	 * main memory
+	 */
+	public long getMainMemorySize() {
+		return mainMemorySize;
+	}
+
+	public void setMainMemorySize(long mainMemorySize) {
+		this.mainMemorySize = mainMemorySize;
+	}
+
+	/**
+	 * @return true if numbers of pixels of colors of text chunks are taken from summed-area tables of regions of
+	 * much overlapping text chunks with few colors when contrast ratio is calculated page by page
+	 */
+	public boolean isIntegralImages() {
+		return integralImages;
+	}
+
+	public void setIntegralImages(boolean integralImages) {
+		this.integralImages = integralImages;
+	}
+
+	/**
+	 * @return true if contrast ratio is remembered by the text color and a signature of sampled luminances of the
+	 * chunk region, false by default. Regions with the same signature get the same contrast ratio, so the results
+	 * are approximate
+	 */
+	public boolean isMemoization() {
+		return memoization;
+	}
+
+	public void setMemoization(boolean memoization) {
+		this.memoization = memoization;
+	}
+}
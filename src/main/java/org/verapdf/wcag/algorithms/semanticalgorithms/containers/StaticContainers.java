@@ -30,152 +30,163 @@ import org.verapdf.wcag.algorithms.entities.tables.TableBordersCollection;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.IdMapper;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.WCAGValidationInfo;
 
-import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 
+/**
+ * Thread-bound access to the {@link ValidationContext} of the current document, kept for compatibility.
+ * A context is bound by {@link #updateContainers} or {@link #setContext}. If no context is bound to the current
+ * thread, the getters return null and the setters bind a new empty context.
+ */
 public class StaticContainers {
 
-	private static final ThreadLocal<IDocument> document = new ThreadLocal<>();
-
-	private static final ThreadLocal<WCAGValidationInfo> wcagValidationInfo = new ThreadLocal<>();
-
-	private static final ThreadLocal<Long> structElementsNumber = new ThreadLocal<>();
-
-	private static final ThreadLocal<Long> textChunksNumber = new ThreadLocal<>();
-
-	private static final ThreadLocal<AccumulatedNodeMapper> accumulatedNodeMapper = new ThreadLocal<>();
-
-	private static final ThreadLocal<ObjectKeyMapper> objectKeyMapper = new ThreadLocal<>();
-
-	private static final ThreadLocal<TableBordersCollection> tableBordersCollection = new ThreadLocal<>();
+	private static final ThreadLocal<ValidationContext> context = new ThreadLocal<>();
 
-	private static final ThreadLocal<List<PDFList>> listsCollection = new ThreadLocal<>();
-
-	private static final ThreadLocal<LinesCollection> linesCollection = new ThreadLocal<>();
-
-	private static final ThreadLocal<List<RepeatedCharacters>> repeatedCharacters = new ThreadLocal<>();
+	/**
+	 * @return context bound to the current thread, a new empty context is bound if there is none
+	 */
+	public static ValidationContext getContext() {
+		ValidationContext validationContext = context.get();
+		if (validationContext == null) {
+			validationContext = new ValidationContext();
+			context.set(validationContext);
+		}
+		return validationContext;
+	}
 
-	private static final ThreadLocal<IdMapper> idMapper = new ThreadLocal<>();
+	/**
+	 * @return true if a context is bound to the current thread
+	 */
+	public static boolean hasContext() {
+		return context.get() != null;
+	}
 
-	private static final ThreadLocal<Long> groupCounter = new ThreadLocal<>();
+	public static void setContext(ValidationContext validationContext) {
+		if (validationContext == null) {
+			context.remove();
+		} else {
+			context.set(validationContext);
+		}
+	}
 
-	static {
-		StaticContainers.wcagValidationInfo.set(new WCAGValidationInfo());
+	public static void clearContext() {
+		context.remove();
 	}
 
+	/**
+	 * Binds a new context of the document to the current thread, the validation info of the previously bound
+	 * context is kept.
+	 */
 	public static void updateContainers(IDocument document) {
-		StaticContainers.document.set(document);
-		StaticContainers.accumulatedNodeMapper.set(new AccumulatedNodeMapper());
-		StaticContainers.objectKeyMapper.set(new ObjectKeyMapper());
-		StaticContainers.tableBordersCollection.set(new TableBordersCollection());
-		StaticContainers.linesCollection.set(new LinesCollection());
-		StaticContainers.repeatedCharacters.set(new ArrayList<>());
-		StaticContainers.listsCollection.set(new LinkedList<>());
-		StaticContainers.idMapper.set(new IdMapper());
-		StaticContainers.groupCounter.set(0L);
-		StaticContainers.structElementsNumber.set(0L);
-		StaticContainers.textChunksNumber.set(0L);
-		if (StaticContainers.getWCAGValidationInfo() == null) {
-			StaticContainers.setWCAGValidationInfo(new WCAGValidationInfo());
-		}
+		ValidationContext previousContext = context.get();
+		context.set(new ValidationContext(document, previousContext != null ?
+		                                            previousContext.getWCAGValidationInfo() : null));
 	}
 
 	public static IDocument getDocument() {
-		return document.get();
+		ValidationContext validationContext = context.get();
+		return validationContext != null ? validationContext.getDocument() : null;
 	}
 
 	public static void setDocument(IDocument document) {
-		StaticContainers.document.set(document);
+		getContext().setDocument(document);
 	}
 
 	public static WCAGValidationInfo getWCAGValidationInfo() {
-		return wcagValidationInfo.get();
+		ValidationContext validationContext = context.get();
+		return validationContext != null ? validationContext.getWCAGValidationInfo() : null;
 	}
 
 	public static void setWCAGValidationInfo(WCAGValidationInfo wcagValidationInfo) {
-		StaticContainers.wcagValidationInfo.set(wcagValidationInfo);
+		getContext().setWCAGValidationInfo(wcagValidationInfo);
 	}
 
 	public static AccumulatedNodeMapper getAccumulatedNodeMapper() {
-		return accumulatedNodeMapper.get();
+		ValidationContext validationContext = context.get();
+		return validationContext != null ? validationContext.getAccumulatedNodeMapper() : null;
 	}
 
 	public static void setAccumulatedNodeMapper(AccumulatedNodeMapper accumulatedNodeMapper) {
-		StaticContainers.accumulatedNodeMapper.set(accumulatedNodeMapper);
+		getContext().setAccumulatedNodeMapper(accumulatedNodeMapper);
 	}
 
 	public static ObjectKeyMapper getObjectKeyMapper() {
-		return objectKeyMapper.get();
+		ValidationContext validationContext = context.get();
+		return validationContext != null ? validationContext.getObjectKeyMapper() : null;
 	}
 
 	public static void setObjectKeyMapper(ObjectKeyMapper objectKeyMapper) {
-		StaticContainers.objectKeyMapper.set(objectKeyMapper);
+		getContext().setObjectKeyMapper(objectKeyMapper);
 	}
 
 	public static TableBordersCollection getTableBordersCollection() {
-		return tableBordersCollection.get();
+		ValidationContext validationContext = context.get();
+		return validationContext != null ? validationContext.getTableBordersCollection() : null;
 	}
 
 	public static void setTableBordersCollection(TableBordersCollection tableBordersCollection) {
-		StaticContainers.tableBordersCollection.set(tableBordersCollection);
+		getContext().setTableBordersCollection(tableBordersCollection);
 	}
 
 	public static LinesCollection getLinesCollection() {
-		return linesCollection.get();
+		ValidationContext validationContext = context.get();
+		return validationContext != null ? validationContext.getLinesCollection() : null;
 	}
 
 	public static void setLinesCollection(LinesCollection linesCollection) {
-		StaticContainers.linesCollection.set(linesCollection);
+		getContext().setLinesCollection(linesCollection);
 	}
 
 	public static List<RepeatedCharacters> getRepeatedCharacters() {
-		return repeatedCharacters.get();
+		ValidationContext validationContext = context.get();
+		return validationContext != null ? validationContext.getRepeatedCharacters() : null;
 	}
 
 	public static void setRepeatedCharacters(List<RepeatedCharacters> repeatedCharacters) {
-		StaticContainers.repeatedCharacters.set(repeatedCharacters);
+		getContext().setRepeatedCharacters(repeatedCharacters);
 	}
 
 	public static List<PDFList> getListsCollection() {
-		return listsCollection.get();
+		ValidationContext validationContext = context.get();
+		return validationContext != null ? validationContext.getListsCollection() : null;
 	}
 
 	public static void setListsCollection(List<PDFList> listsCollection) {
-		StaticContainers.listsCollection.set(listsCollection);
+		getContext().setListsCollection(listsCollection);
 	}
 
 	public static IdMapper getIdMapper() {
-		return idMapper.get();
+		ValidationContext validationContext = context.get();
+		return validationContext != null ? validationContext.getIdMapper() : null;
 	}
 
 	public static void setIdMapper(IdMapper idMapper) {
-		StaticContainers.idMapper.set(idMapper);
+		getContext().setIdMapper(idMapper);
 	}
 
 	public static Long getGroupCounter() {
-		return groupCounter.get();
+		ValidationContext validationContext = context.get();
+		return validationContext != null ? validationContext.getGroupCounter() : null;
 	}
 
 	public static Long getNextID() {
-		Long id = groupCounter.get();
-		groupCounter.set(id + 1);
-		return id;
+		return getContext().getNextID();
 	}
 
 	public static Long getStructElementsNumber() {
-		return structElementsNumber.get();
+		ValidationContext validationContext = context.get();
+		return validationContext != null ? validationContext.getStructElementsNumber() : null;
 	}
 
 	public static void setStructElementsNumber(Long structElementsNumber) {
-		StaticContainers.structElementsNumber.set(structElementsNumber);
+		getContext().setStructElementsNumber(structElementsNumber);
 	}
 
 	public static Long getTextChunksNumber() {
-		return textChunksNumber.get();
+		ValidationContext validationContext = context.get();
+		return validationContext != null ? validationContext.getTextChunksNumber() : null;
 	}
 
 	public static void setTextChunksNumber(Long textChunksNumber) {
-		StaticContainers.textChunksNumber.set(textChunksNumber);
+		getContext().setTextChunksNumber(textChunksNumber);
 	}
 }
@@ -0,0 +1,163 @@
+package org.verapdf.wcag.algorithms.semanticalgorithms.containers;
+
+import org.verapdf.wcag.algorithms.entities.IDocument;
+import org.verapdf.wcag.algorithms.entities.RepeatedCharacters;
+import org.verapdf.wcag.algorithms.entities.content.LinesCollection;
+import org.verapdf.wcag.algorithms.entities.lists.PDFList;
+import org.verapdf.wcag.algorithms.entities.maps.AccumulatedNodeMapper;
+import org.verapdf.wcag.algorithms.entities.maps.ObjectKeyMapper;
+import org.verapdf.wcag.algorithms.entities.tables.TableBordersCollection;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.IdMapper;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.WCAGValidationInfo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the state of a single document run. Unlike {@link StaticContainers} it is not bound to a thread,
+ * so one document may be processed by several threads and several documents may be processed by one thread.
+ */
+public class ValidationContext {
+
+	private IDocument document;
+	private WCAGValidationInfo wcagValidationInfo;
+	private Long structElementsNumber = 0L;
+	private Long textChunksNumber = 0L;
+	private AccumulatedNodeMapper accumulatedNodeMapper;
+	private ObjectKeyMapper objectKeyMapper;
+	private TableBordersCollection tableBordersCollection;
+	private List<PDFList> listsCollection;
+	private LinesCollection linesCollection;
+	private List<RepeatedCharacters> repeatedCharacters;
+	private IdMapper idMapper;
+	private final AtomicLong groupCounter = new AtomicLong();
+	private ContrastRatioOptions contrastRatioOptions = new ContrastRatioOptions();
+
+	public ValidationContext() {
+		this(null);
+	}
+
+	public ValidationContext(IDocument document) {
+		this(document, new WCAGValidationInfo());
+	}
+
+	public ValidationContext(IDocument document, WCAGValidationInfo wcagValidationInfo) {
+		this.document = document;
+		this.wcagValidationInfo = wcagValidationInfo != null ? wcagValidationInfo : new WCAGValidationInfo();
+		this.accumulatedNodeMapper = new AccumulatedNodeMapper();
+		this.objectKeyMapper = new ObjectKeyMapper();
+		this.tableBordersCollection = new TableBordersCollection();
+		this.linesCollection = new LinesCollection(document);
+		this.repeatedCharacters = Collections.synchronizedList(new ArrayList<>());
+		this.listsCollection = Collections.synchronizedList(new LinkedList<>());
+		this.idMapper = new IdMapper();
+	}
+
+	public IDocument getDocument() {
+		return document;
+	}
+
+	public void setDocument(IDocument document) {
+		this.document = document;
+		this.linesCollection = new LinesCollection(document);
+	}
+
+	public WCAGValidationInfo getWCAGValidationInfo() {
+		return wcagValidationInfo;
+	}
+
+	public void setWCAGValidationInfo(WCAGValidationInfo wcagValidationInfo) {
+		this.wcagValidationInfo = wcagValidationInfo;
+	}
+
+	public AccumulatedNodeMapper getAccumulatedNodeMapper() {
+		return accumulatedNodeMapper;
+	}
+
+	public void setAccumulatedNodeMapper(AccumulatedNodeMapper accumulatedNodeMapper) {
+		this.accumulatedNodeMapper = accumulatedNodeMapper;
+	}
+
+	public ObjectKeyMapper getObjectKeyMapper() {
+		return objectKeyMapper;
+	}
+
+	public void setObjectKeyMapper(ObjectKeyMapper objectKeyMapper) {
+		this.objectKeyMapper = objectKeyMapper;
+	}
+
+	public TableBordersCollection getTableBordersCollection() {
+		return tableBordersCollection;
+	}
+
+	public void setTableBordersCollection(TableBordersCollection tableBordersCollection) {
+		this.tableBordersCollection = tableBordersCollection;
+	}
+
+	public LinesCollection getLinesCollection() {
+		return linesCollection;
+	}
+
+	public void setLinesCollection(LinesCollection linesCollection) {
+		this.linesCollection = linesCollection;
+	}
+
+	public List<RepeatedCharacters> getRepeatedCharacters() {
+		return repeatedCharacters;
+	}
+
+	public void setRepeatedCharacters(List<RepeatedCharacters> repeatedCharacters) {
+		this.repeatedCharacters = repeatedCharacters;
+	}
+
+	public List<PDFList> getListsCollection() {
+		return listsCollection;
+	}
+
+	public void setListsCollection(List<PDFList> listsCollection) {
+		this.listsCollection = listsCollection;
+	}
+
+	public IdMapper getIdMapper() {
+		return idMapper;
+	}
+
+	public void setIdMapper(IdMapper idMapper) {
+		this.idMapper = idMapper;
+	}
+
+	public Long getGroupCounter() {
+		return groupCounter.get();
+	}
+
+	public Long getNextID() {
+		return groupCounter.getAndIncrement();
+	}
+
+	public Long getStructElementsNumber() {
+		return structElementsNumber;
+	}
+
+	public void setStructElementsNumber(Long structElementsNumber) {
+		this.structElementsNumber = structElementsNumber;
+	}
+
+	public Long getTextChunksNumber() {
+		return textChunksNumber;
+	}
+
+	public void setTextChunksNumber(Long textChunksNumber) {
+		this.textChunksNumber = textChunksNumber;
+	}
+
+	public ContrastRatioOptions getContrastRatioOptions() {
+		return contrastRatioOptions;
+	}
+
+	public void setContrastRatioOptions(ContrastRatioOptions contrastRatioOptions) {
+		this.contrastRatioOptions = contrastRatioOptions;
+	}
+}
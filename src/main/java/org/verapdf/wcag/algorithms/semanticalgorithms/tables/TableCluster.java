@@ -55,7 +55,7 @@ public class TableCluster extends TextInfoChunk {
     public TableCluster(SemanticTextNode textNode, INode node) {
         super(textNode.getBoundingBox(), textNode.getFontSize(), textNode.getLastBaseline());
         for (TextColumn column : textNode.getColumns()) {
-            for (TextLine line : column.getLines()) {
+            for (TextLine line : column.getTextLines()) {
                 if (!line.isEmpty()) {
                     TableTokenRow row = new TableTokenRow(new TableToken(line.getTextChunks().get(0), node));
                     for (int i = 1; i < line.getTextChunks().size(); i++) {
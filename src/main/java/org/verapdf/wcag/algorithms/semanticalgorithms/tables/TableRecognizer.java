@@ -3,6 +3,8 @@ package org.verapdf.wcag.algorithms.semanticalgorithms.tables;
 import org.verapdf.wcag.algorithms.entities.enums.SemanticType;
 import org.verapdf.wcag.algorithms.entities.tables.*;
 import org.verapdf.wcag.algorithms.entities.tables.tableBorders.TableBorder;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.StaticContainers;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ValidationContext;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.TableUtils;
 
 import java.util.*;
@@ -18,8 +20,14 @@ public class TableRecognizer {
 
     private Table table = null;
     private TableBorder tableBorder;
+    private final ValidationContext context;
 
     public TableRecognizer(TableRecognitionArea recognitionArea) {
+        this(recognitionArea, StaticContainers.getContext());
+    }
+
+    public TableRecognizer(TableRecognitionArea recognitionArea, ValidationContext context) {
+        this.context = context;
         headers = recognitionArea.getHeaders();
         clusters = recognitionArea.getClusters();
         columns = new HashMap<>();
@@ -329,7 +337,7 @@ public class TableRecognizer {
         if (clusters.size() <= 1) {
             return null;
         }
-        Table table = new Table(headers);
+        Table table = new Table(headers, context.getNextID());
         table.setTableBorder(tableBorder);
 
         List<Integer> rowIds = new ArrayList<>(Collections.nCopies(headers.size(), 0));
@@ -6,6 +6,7 @@ import org.verapdf.wcag.algorithms.entities.SemanticTextNode;
 import org.verapdf.wcag.algorithms.entities.enums.SemanticType;
 import org.verapdf.wcag.algorithms.entities.geometry.BoundingBox;
 import org.verapdf.wcag.algorithms.semanticalgorithms.containers.StaticContainers;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ValidationContext;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.listLabelsDetection.ArabicNumbersListLabelsDetectionAlgorithm;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.listLabelsDetection.ListLabelsDetectionAlgorithm;
 
@@ -22,13 +23,17 @@ public class CaptionUtils {
 	private static final double WITH_TOLERANCE_FACTOR = 0.33;
 
 	public static double imageCaptionProbability(INode node, SemanticFigure imageNode) {
+		return imageCaptionProbability(StaticContainers.getContext(), node, imageNode);
+	}
+
+	public static double imageCaptionProbability(ValidationContext context, INode node, SemanticFigure imageNode) {
 		if (node == null) {
 			return 0;
 		}
 		if (HeadingUtils.isDetectedHeadingNode(node)) {
 			return 0;
 		}
-		INode accumulatedNode = StaticContainers.getAccumulatedNodeMapper().get(node);
+		INode accumulatedNode = context.getAccumulatedNodeMapper().get(node);
 		if (!(accumulatedNode instanceof SemanticTextNode)) {
 			return 0.0;
 		}
@@ -53,13 +58,18 @@ public class CaptionUtils {
 	}
 
 	public static double tableCaptionProbability(INode node, BoundingBox tableBoundingBox) {
+		return tableCaptionProbability(StaticContainers.getContext(), node, tableBoundingBox);
+	}
+
+	public static double tableCaptionProbability(ValidationContext context, INode node,
+	                                             BoundingBox tableBoundingBox) {
 		if (node == null) {
 			return 0.0;
 		}
 		if (HeadingUtils.isDetectedHeadingNode(node) || node.getSemanticType() == SemanticType.LIST) {
 			return 0.0;
 		}
-		INode accumulatedNode = StaticContainers.getAccumulatedNodeMapper().get(node);
+		INode accumulatedNode = context.getAccumulatedNodeMapper().get(node);
 		if (accumulatedNode == null) {
 			return 0.0;
 		}
@@ -2,7 +2,6 @@ package org.verapdf.wcag.algorithms.semanticalgorithms.utils;
 
 import org.verapdf.wcag.algorithms.entities.SemanticTextNode;
 import org.verapdf.wcag.algorithms.entities.content.TextChunk;
-import org.verapdf.wcag.algorithms.entities.content.TextColumn;
 import org.verapdf.wcag.algorithms.entities.content.TextInfoChunk;
 import org.verapdf.wcag.algorithms.entities.content.TextLine;
 import org.verapdf.wcag.algorithms.entities.enums.TextFormat;
@@ -221,13 +220,9 @@ public class ChunksMergeUtils {
 		double footnoteProbability = 0.0;
 		TextChunk y = nextLine.getFirstTextChunk();
 		List<TextChunk> superscriptTextChunks = new LinkedList<>();
-		for (TextColumn column : firstNode.getColumns()) {
-			for (TextLine line : column.getLines()) {
-				for (TextChunk chunk : line.getTextChunks()) {
-					if (chunk.getTextFormat() == TextFormat.SUPERSCRIPT) {
-						superscriptTextChunks.add(chunk);
-					}
-				}
+		for (TextChunk chunk : firstNode.getTextChunks()) {
+			if (chunk.getTextFormat() == TextFormat.SUPERSCRIPT) {
+				superscriptTextChunks.add(chunk);
 			}
 		}
 
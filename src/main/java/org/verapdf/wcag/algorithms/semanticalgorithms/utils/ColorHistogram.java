@@ -0,0 +1,171 @@
+package org.verapdf.wcag.algorithms.semanticalgorithms.utils;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.util.Arrays;
+
+/**
+ * Counts pixels of each color in a region of an image. Colors are packed 0xRRGGBB ints kept in an open addressing
+ * table, so filling the histogram does not allocate. The histogram is meant to be reused for many regions.
+ * Colors are indexed in the order of their first occurrence in the region.
+ */
+public class ColorHistogram {
+
+	private static final int INITIAL_CAPACITY = 64;
+	private static final int NO_ENTRY = -1;
+	private static final int RGB_MASK = 0xFFFFFF;
+
+	private static final double[] NORMALIZED_COLOR_COMPONENTS = new double[256];
+
+	static {
+		for (int colorComponent = 0; colorComponent < NORMALIZED_COLOR_COMPONENTS.length; colorComponent++) {
+			double doubleColorComponent = colorComponent / 255.;
+			NORMALIZED_COLOR_COMPONENTS[colorComponent] = doubleColorComponent < 0.03928 ?
+					doubleColorComponent / 12.92 : Math.pow(((doubleColorComponent + 0.055) / 1.055), 2.4);
+		}
+	}
+
+	private int[] slots = new int[INITIAL_CAPACITY];
+	private int[] colors = new int[INITIAL_CAPACITY / 2];
+	private int[] counts = new int[INITIAL_CAPACITY / 2];
+	private int[] colorSlots = new int[INITIAL_CAPACITY / 2];
+	private int size = 0;
+
+	public ColorHistogram() {
+		Arrays.fill(slots, NO_ENTRY);
+	}
+
+	/**
+	 * Replaces the content of the histogram with the colors of the given region of the image.
+	 *
+	 * @throws IllegalArgumentException if the region is outside of the image
+	 */
+	public void compute(BufferedImage image, int x, int y, int width, int height) {
+		if (x < 0 || y < 0 || width < 0 || height < 0 || x + width > image.getWidth() || y + height > image.getHeight()) {
+			throw new IllegalArgumentException("Region (" + x + ", " + y + ", " + width + ", " + height +
+			                                   ") is outside of the image");
+		}
+		clear();
+		Raster raster = image.getRaster();
+		int type = image.getType();
+		if ((type == BufferedImage.TYPE_INT_RGB || type == BufferedImage.TYPE_INT_ARGB) &&
+		    raster.getDataBuffer() instanceof DataBufferInt &&
+		    raster.getSampleModel() instanceof SinglePixelPackedSampleModel) {
+			int[] data = ((DataBufferInt) raster.getDataBuffer()).getData();
+			int scanlineStride = ((SinglePixelPackedSampleModel) raster.getSampleModel()).getScanlineStride();
+			int offset = raster.getDataBuffer().getOffset() - raster.getSampleModelTranslateY() * scanlineStride -
+			             raster.getSampleModelTranslateX();
+			for (int j = y; j < y + height; j++) {
+				int rowOffset = offset + j * scanlineStride;
+				for (int i = rowOffset + x; i < rowOffset + x + width; i++) {
+					add(data[i] & RGB_MASK);
+				}
+			}
+		} else {
+			for (int j = y; j < y + height; j++) {
+				for (int i = x; i < x + width; i++) {
+					add(image.getRGB(i, j) & RGB_MASK);
+				}
+			}
+		}
+	}
+
+	public void compute(BufferedImage image) {
+		compute(image, 0, 0, image.getWidth(), image.getHeight());
+	}
+
+	public void clear() {
+		for (int index = 0; index < size; index++) {
+			slots[colorSlots[index]] = NO_ENTRY;
+		}
+		size = 0;
+	}
+
+	/**
+	 * @return number of different colors
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return packed 0xRRGGBB color with the given index
+	 */
+	public int getColor(int index) {
+		return colors[index];
+	}
+
+	public int getCount(int index) {
+		return counts[index];
+	}
+
+	public double getRelativeLuminosity(int index) {
+		return relativeLuminosity(colors[index]);
+	}
+
+	/**
+	 * @param rgb packed 0xRRGGBB color
+	 * @return relative luminance of the sRGB color as defined in WCAG
+	 */
+	public static double relativeLuminosity(int rgb) {
+		return 0.2126 * NORMALIZED_COLOR_COMPONENTS[(rgb >> 16) & 0xFF] +
+		       0.7152 * NORMALIZED_COLOR_COMPONENTS[(rgb >> 8) & 0xFF] +
+		       0.0722 * NORMALIZED_COLOR_COMPONENTS[rgb & 0xFF];
+	}
+
+	private void add(int rgb) {
+		add(rgb, 1);
+	}
+
+	/**
+	 * Adds the given number of pixels of the color. A new color gets the next index.
+	 */
+	public void add(int rgb, int count) {
+		int mask = slots.length - 1;
+		int slot = hash(rgb) & mask;
+		while (true) {
+			int index = slots[slot];
+			if (index == NO_ENTRY) {
+				break;
+			}
+			if (colors[index] == rgb) {
+				counts[index] += count;
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+		if (size == colors.length) {
+			colors = Arrays.copyOf(colors, 2 * size);
+			counts = Arrays.copyOf(counts, 2 * size);
+			colorSlots = Arrays.copyOf(colorSlots, 2 * size);
+		}
+		colors[size] = rgb;
+		counts[size] = count;
+		colorSlots[size] = slot;
+		slots[slot] = size++;
+		if (2 * size > slots.length) {
+			rehash();
+		}
+	}
+
+	private void rehash() {
+		slots = new int[2 * slots.length];
+		Arrays.fill(slots, NO_ENTRY);
+		int mask = slots.length - 1;
+		for (int index = 0; index < size; index++) {
+			int slot = hash(colors[index]) & mask;
+			while (slots[slot] != NO_ENTRY) {
+				slot = (slot + 1) & mask;
+			}
+			slots[slot] = index;
+			colorSlots[index] = slot;
+		}
+	}
+
+	private static int hash(int rgb) {
+		int hash = rgb * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+}
@@ -0,0 +1,223 @@
+package org.verapdf.wcag.algorithms.semanticalgorithms.utils;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.util.Arrays;
+
+/**
+ * Summed-area tables of the colors of a region of an image with at most {@link #MAX_COLORS_NUMBER} colors.
+ * Numbers of pixels of every color in a rectangular part of the region are found in constant time, independently
+ * of its size. The tables are meant to be reused for many regions.
+ */
+public class ColorIntegralImage {
+
+	public static final int MAX_COLORS_NUMBER = 4;
+	public static final long DEFAULT_MAX_SIZE = 1L << 24;
+	private static final int RGB_MASK = 0xFFFFFF;
+
+	private final long maxSize;
+	private final int[] colors = new int[MAX_COLORS_NUMBER];
+	private final int[] counts = new int[MAX_COLORS_NUMBER];
+	// the pixels of the first color are not counted, they are the rest of the pixels
+	private final int[][] tables = new int[MAX_COLORS_NUMBER][];
+	private final int[] rowCounts = new int[MAX_COLORS_NUMBER];
+	private int[] row = new int[0];
+	private int colorsNumber = 0;
+	private int x = 0;
+	private int y = 0;
+	private int width = 0;
+	private int height = 0;
+	private BufferedImage image;
+
+	public ColorIntegralImage() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * @param maxSize maximal number of entries in the tables, one table less than colors is kept
+	 */
+	public ColorIntegralImage(long maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Replaces the tables with the tables of the whole image.
+	 *
+	 * @return false if the image has too many colors or the tables would be too large, the tables are cleared then
+	 */
+	public boolean compute(BufferedImage image) {
+		return compute(image, 0, 0, image.getWidth(), image.getHeight());
+	}
+
+	/**
+	 * Replaces the tables with the tables of the given region of the image. The region is scanned once, the scan
+	 * stops as soon as there are too many colors.
+	 *
+	 * @return false if the region has too many colors or the tables would be too large, the tables are cleared then
+	 * @throws IllegalArgumentException if the region is outside of the image
+	 */
+	public boolean compute(BufferedImage image, int x, int y, int width, int height) {
+		if (x < 0 || y < 0 || width < 0 || height < 0 || x + width > image.getWidth() || y + height > image.getHeight()) {
+			throw new IllegalArgumentException("Region (" + x + ", " + y + ", " + width + ", " + height +
+			                                   ") is outside of the image");
+		}
+		clear();
+		long size = (long) (width + 1) * (height + 1);
+		if (size * (MAX_COLORS_NUMBER - 1) > maxSize) {
+			return false;
+		}
+		if (row.length < width) {
+			row = new int[width];
+		}
+		int stride = width + 1;
+		int regionColorsNumber = 0;
+		int previousColor = -1;
+		int previousColorIndex = -1;
+		for (int j = 0; j < height; j++) {
+			readRow(image, x, y + j, width, row);
+			int rowOffset = (j + 1) * stride;
+			for (int color = 1; color < regionColorsNumber; color++) {
+				rowCounts[color] = 0;
+				tables[color][rowOffset] = 0;
+			}
+			for (int i = 0; i < width; i++) {
+				int rgb = row[i];
+				if (rgb != previousColor) {
+					previousColorIndex = getColorIndex(rgb, regionColorsNumber);
+					if (previousColorIndex < 0) {
+						if (regionColorsNumber == MAX_COLORS_NUMBER) {
+							return false;
+						}
+						previousColorIndex = regionColorsNumber++;
+						addColor(previousColorIndex, rgb, (int) size, rowOffset + i);
+					}
+					previousColor = rgb;
+				}
+				rowCounts[previousColorIndex]++;
+				int index = rowOffset + i + 1;
+				for (int color = 1; color < regionColorsNumber; color++) {
+					int[] table = tables[color];
+					table[index] = table[index - stride] + rowCounts[color];
+				}
+			}
+		}
+		this.colorsNumber = regionColorsNumber;
+		this.x = x;
+		this.y = y;
+		this.width = width;
+		this.height = height;
+		this.image = image;
+		return true;
+	}
+
+	/**
+	 * Adds the color first occurring at the given index of the tables, no pixel before it has this color.
+	 */
+	private void addColor(int colorIndex, int rgb, int tableSize, int index) {
+		colors[colorIndex] = rgb;
+		rowCounts[colorIndex] = 0;
+		if (colorIndex == 0) {
+			return;
+		}
+		if (tables[colorIndex] == null || tables[colorIndex].length < tableSize) {
+			tables[colorIndex] = new int[tableSize];
+		} else {
+			Arrays.fill(tables[colorIndex], 0, index + 1, 0);
+		}
+	}
+
+	/**
+	 * @return true if the tables are computed for the given image
+	 */
+	public boolean isComputedFor(BufferedImage image) {
+		return this.image != null && this.image == image;
+	}
+
+	/**
+	 * @return true if the tables are computed for the region of the given image containing the given part
+	 */
+	public boolean contains(BufferedImage image, int x, int y, int width, int height) {
+		return isComputedFor(image) && x >= this.x && y >= this.y && x + width <= this.x + this.width &&
+		       y + height <= this.y + this.height;
+	}
+
+	/**
+	 * Replaces the content of the histogram with the colors of the given part of the region.
+	 * The order of the first occurrence of colors in the part is not known, so parts with equally frequent
+	 * colors are not filled.
+	 *
+	 * @param x left coordinate of the part in pixels of the image
+	 * @param y top coordinate of the part in pixels of the image
+	 * @return false if the part has equally frequent colors, the histogram is not changed then
+	 * @throws IllegalArgumentException if the part is outside of the region of the tables
+	 * @throws IllegalStateException if the tables are not computed
+	 */
+	public boolean fill(ColorHistogram histogram, int x, int y, int width, int height) {
+		if (image == null) {
+			throw new IllegalStateException("Tables are not computed");
+		}
+		if (!contains(image, x, y, width, height) || width < 0 || height < 0) {
+			throw new IllegalArgumentException("Region (" + x + ", " + y + ", " + width + ", " + height +
+			                                   ") is outside of the tables");
+		}
+		int stride = this.width + 1;
+		int topLeft = (y - this.y) * stride + x - this.x;
+		int topRight = topLeft + width;
+		int bottomLeft = topLeft + height * stride;
+		int bottomRight = bottomLeft + width;
+		int firstCount = width * height;
+		for (int color = 1; color < colorsNumber; color++) {
+			int[] table = tables[color];
+			counts[color] = table[bottomRight] - table[bottomLeft] - table[topRight] + table[topLeft];
+			firstCount -= counts[color];
+		}
+		counts[0] = firstCount;
+		for (int color = 0; color < colorsNumber; color++) {
+			for (int otherColor = color + 1; otherColor < colorsNumber; otherColor++) {
+				if (counts[color] != 0 && counts[color] == counts[otherColor]) {
+					return false;
+				}
+			}
+		}
+		histogram.clear();
+		for (int color = 0; color < colorsNumber; color++) {
+			if (counts[color] != 0) {
+				histogram.add(colors[color], counts[color]);
+			}
+		}
+		return true;
+	}
+
+	public void clear() {
+		colorsNumber = 0;
+		x = 0;
+		y = 0;
+		width = 0;
+		height = 0;
+		image = null;
+	}
+
+	private int getColorIndex(int rgb, int regionColorsNumber) {
+		for (int color = 0; color < regionColorsNumber; color++) {
+			if (colors[color] == rgb) {
+				return color;
+			}
+		}
+		return -1;
+	}
+
+	private static void readRow(BufferedImage image, int x, int y, int width, int[] row) {
+		Raster raster = image.getRaster();
+		int type = image.getType();
+		if ((type == BufferedImage.TYPE_INT_RGB || type == BufferedImage.TYPE_INT_ARGB) &&
+		    raster.getDataBuffer() instanceof DataBufferInt) {
+			raster.getDataElements(x, y, width, 1, row);
+		} else {
+			image.getRGB(x, y, width, 1, row, 0, width);
+		}
+		for (int i = 0; i < width; i++) {
+			row[i] &= RGB_MASK;
+		}
+	}
+}
@@ -3,6 +3,7 @@ package org.verapdf.wcag.algorithms.semanticalgorithms.utils;
 import org.verapdf.wcag.algorithms.entities.INode;
 
 import java.util.Arrays;
+import java.util.Collections;
 
 public class ErrorCodes {
 
@@ -39,17 +40,14 @@ public class ErrorCodes {
 	public static final int ERROR_CODE_1300 = 1300;//This node is the single child with content
 
 	public static void addErrorCodeWithArguments(INode node, int errorCode, Object ... arguments) {
-		if (!node.getErrorCodes().contains(errorCode)) {
-			node.getErrorCodes().add(errorCode);
-			node.getErrorArguments().add(Arrays.asList(arguments.clone()));
+		if (!node.hasErrorCode(errorCode)) {
+			node.addErrorCode(errorCode, arguments.length != 0 ? Arrays.asList(arguments.clone()) :
+			                             Collections.emptyList());
 		}
 	}
 
 	public static void removeErrorCodeWithArgumentsAfterIndex(INode node, int index) {
-		for (int i = node.getErrorCodes().size() - 1; i >= index; i--) {
-			node.getErrorCodes().remove(i);
-			node.getErrorArguments().remove(i);
-		}
+		node.removeErrorCodesAfterIndex(index);
 	}
 
 }
@@ -1,22 +1,152 @@
 package org.verapdf.wcag.algorithms.semanticalgorithms.utils;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
+/**
+ * Maps structure IDs to the ID of the group they were merged into.
+ * Backed by a disjoint-set forest over primitive longs with path compression and union by rank.
+ */
 public class IdMapper {
-	private final Map<Long,Long> map = new HashMap<>();
+
+	private static final int INITIAL_CAPACITY = 16;
+	private static final int NO_NODE = -1;
+
+	private long[] ids = new long[INITIAL_CAPACITY];
+	private int[] idNodes = new int[INITIAL_CAPACITY];
+	private int idsNumber = 0;
+
+	private int[] parents = new int[INITIAL_CAPACITY];
+	private int[] ranks = new int[INITIAL_CAPACITY];
+	private long[] labels = new long[INITIAL_CAPACITY];
+	private boolean[] keys = new boolean[INITIAL_CAPACITY];
+	private int nodesNumber = 0;
+
+	{
+		Arrays.fill(idNodes, NO_NODE);
+	}
 
 	public void put(Long key, Long value) {
-		Long newValue = map.getOrDefault(value, value);
-		map.put(key, newValue);
-		for (Map.Entry<Long, Long> entry : map.entrySet()) {
-			if (entry.getValue().equals(key)) {
-				map.put(entry.getKey(), newValue);
+		if (key == null || value == null) {
+			return;
+		}
+		int valueRoot = findRoot(getOrCreateNode(value));
+		long newValue = labels[valueRoot];
+		int keyNode = getOrCreateNode(key);
+		int keyRoot = findRoot(keyNode);
+		if (labels[keyRoot] != key) {
+			// the key is already mapped to another ID: only the key itself moves, IDs mapped to its group stay there
+			keyNode = createNode(key);
+			setNode(key, keyNode);
+			keyRoot = keyNode;
+		}
+		keys[keyNode] = true;
+		if (keyRoot == valueRoot) {
+			return;
+		}
+		int root;
+		if (ranks[keyRoot] < ranks[valueRoot]) {
+			parents[keyRoot] = valueRoot;
+			root = valueRoot;
+		} else {
+			parents[valueRoot] = keyRoot;
+			if (ranks[keyRoot] == ranks[valueRoot]) {
+				ranks[keyRoot]++;
 			}
+			root = keyRoot;
 		}
+		labels[root] = newValue;
 	}
 
 	public Long get(Long key) {
-		return map.get(key);
+		if (key == null) {
+			return null;
+		}
+		int node = getNode(key);
+		if (node == NO_NODE || !keys[node]) {
+			return null;
+		}
+		return labels[findRoot(node)];
+	}
+
+	private int findRoot(int node) {
+		int root = node;
+		while (parents[root] != root) {
+			root = parents[root];
+		}
+		while (parents[node] != root) {
+			int next = parents[node];
+			parents[node] = root;
+			node = next;
+		}
+		return root;
+	}
+
+	private int getOrCreateNode(long id) {
+		int node = getNode(id);
+		if (node == NO_NODE) {
+			node = createNode(id);
+			setNode(id, node);
+		}
+		return node;
+	}
+
+	private int createNode(long id) {
+		if (nodesNumber == parents.length) {
+			int capacity = 2 * parents.length;
+			parents = Arrays.copyOf(parents, capacity);
+			ranks = Arrays.copyOf(ranks, capacity);
+			labels = Arrays.copyOf(labels, capacity);
+			keys = Arrays.copyOf(keys, capacity);
+		}
+		int node = nodesNumber++;
+		parents[node] = node;
+		labels[node] = id;
+		return node;
+	}
+
+	private int getNode(long id) {
+		int mask = ids.length - 1;
+		for (int slot = hash(id) & mask; idNodes[slot] != NO_NODE; slot = (slot + 1) & mask) {
+			if (ids[slot] == id) {
+				return idNodes[slot];
+			}
+		}
+		return NO_NODE;
+	}
+
+	private void setNode(long id, int node) {
+		int mask = ids.length - 1;
+		int slot = hash(id) & mask;
+		while (idNodes[slot] != NO_NODE) {
+			if (ids[slot] == id) {
+				idNodes[slot] = node;
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+		ids[slot] = id;
+		idNodes[slot] = node;
+		if (++idsNumber * 2 > ids.length) {
+			rehash();
+		}
+	}
+
+	private void rehash() {
+		long[] oldIds = ids;
+		int[] oldIdNodes = idNodes;
+		ids = new long[2 * oldIds.length];
+		idNodes = new int[2 * oldIds.length];
+		Arrays.fill(idNodes, NO_NODE);
+		idsNumber = 0;
+		for (int slot = 0; slot < oldIds.length; slot++) {
+			if (oldIdNodes[slot] != NO_NODE) {
+				setNode(oldIds[slot], oldIdNodes[slot]);
+			}
+		}
+	}
+
+	private static int hash(long id) {
+		long hash = id * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32));
 	}
 }
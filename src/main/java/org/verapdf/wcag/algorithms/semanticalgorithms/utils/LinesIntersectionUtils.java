@@ -0,0 +1,114 @@
+package org.verapdf.wcag.algorithms.semanticalgorithms.utils;
+
+import org.verapdf.wcag.algorithms.entities.content.LineChunk;
+
+import java.util.*;
+
+public class LinesIntersectionUtils {
+
+    private static final int INSERT_EVENT = 0;
+    private static final int QUERY_EVENT = 1;
+    private static final int REMOVE_EVENT = 2;
+
+    private static final double SWEEP_EPSILON = 2 * NodeUtils.EPSILON;
+
+    /**
+     * Finds all pairs of horizontal and vertical lines satisfying {@link LineChunk#haveIntersection}.
+     * Sweeps over x keeping the horizontal lines ordered by y, so it runs in O((n + k) log n)
+     * instead of comparing every pair.
+     *
+     * @return pairs of indexes {horizontal line index, vertical line index}
+     */
+    public static List<int[]> findIntersections(List<LineChunk> horizontalLines, List<LineChunk> verticalLines) {
+        List<int[]> intersections = new ArrayList<>();
+        int horizontalLinesNumber = horizontalLines.size();
+        int verticalLinesNumber = verticalLines.size();
+        if (horizontalLinesNumber == 0 || verticalLinesNumber == 0) {
+            return intersections;
+        }
+        double maxHeight = 0;
+        for (LineChunk line : horizontalLines) {
+            maxHeight = Math.max(maxHeight, line.getTopY() - line.getBottomY());
+        }
+        double maxWidth = 0;
+        for (LineChunk line : verticalLines) {
+            maxWidth = Math.max(maxWidth, line.getRightX() - line.getLeftX());
+        }
+
+        Integer[] order = new Integer[horizontalLinesNumber];
+        for (int i = 0; i < horizontalLinesNumber; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> horizontalLines.get(i).getBottomY()));
+        int[] ranks = new int[horizontalLinesNumber];
+        double[] bottoms = new double[horizontalLinesNumber];
+        for (int rank = 0; rank < horizontalLinesNumber; rank++) {
+            ranks[order[rank]] = rank;
+            bottoms[rank] = horizontalLines.get(order[rank]).getBottomY();
+        }
+
+        int eventsNumber = 2 * horizontalLinesNumber + verticalLinesNumber;
+        double[] keys = new double[eventsNumber];
+        int[] types = new int[eventsNumber];
+        int[] indexes = new int[eventsNumber];
+        int event = 0;
+        for (int i = 0; i < horizontalLinesNumber; i++) {
+            LineChunk line = horizontalLines.get(i);
+            keys[event] = line.getLeftX() - SWEEP_EPSILON;
+            types[event] = INSERT_EVENT;
+            indexes[event++] = i;
+            keys[event] = line.getRightX() + SWEEP_EPSILON + maxWidth;
+            types[event] = REMOVE_EVENT;
+            indexes[event++] = i;
+        }
+        for (int i = 0; i < verticalLinesNumber; i++) {
+            keys[event] = verticalLines.get(i).getRightX();
+            types[event] = QUERY_EVENT;
+            indexes[event++] = i;
+        }
+        Integer[] events = new Integer[eventsNumber];
+        for (int i = 0; i < eventsNumber; i++) {
+            events[i] = i;
+        }
+        Arrays.sort(events, (e1, e2) -> {
+            int res = Double.compare(keys[e1], keys[e2]);
+            return res != 0 ? res : Integer.compare(types[e1], types[e2]);
+        });
+
+        TreeSet<Integer> active = new TreeSet<>();
+        for (Integer e : events) {
+            if (types[e] == INSERT_EVENT) {
+                active.add(ranks[indexes[e]]);
+            } else if (types[e] == REMOVE_EVENT) {
+                active.remove(ranks[indexes[e]]);
+            } else {
+                LineChunk verticalLine = verticalLines.get(indexes[e]);
+                int from = lowerBound(bottoms, verticalLine.getBottomY() - SWEEP_EPSILON - maxHeight);
+                int to = lowerBound(bottoms, Math.nextUp(verticalLine.getTopY() + SWEEP_EPSILON));
+                if (from >= to) {
+                    continue;
+                }
+                for (Integer rank : active.subSet(from, to)) {
+                    if (LineChunk.haveIntersection(horizontalLines.get(order[rank]), verticalLine)) {
+                        intersections.add(new int[]{order[rank], indexes[e]});
+                    }
+                }
+            }
+        }
+        return intersections;
+    }
+
+    private static int lowerBound(double[] values, double value) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
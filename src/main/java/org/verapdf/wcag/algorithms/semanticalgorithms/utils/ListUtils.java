@@ -14,6 +14,7 @@ import org.verapdf.wcag.algorithms.entities.tables.TableCell;
 import org.verapdf.wcag.algorithms.entities.tables.TableRow;
 import org.verapdf.wcag.algorithms.entities.tables.TableToken;
 import org.verapdf.wcag.algorithms.semanticalgorithms.containers.StaticContainers;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ValidationContext;
 
 import java.util.*;
 
@@ -76,13 +77,22 @@ public class ListUtils {
 	}
 
 	public static void updateTreeWithRecognizedLists(INode node, Set<ListInterval> listIntervals) {
+		updateTreeWithRecognizedLists(StaticContainers.getContext(), node, listIntervals);
+	}
+
+	public static void updateTreeWithRecognizedLists(ValidationContext context, INode node,
+	                                                 Set<ListInterval> listIntervals) {
 		for (ListInterval listInterval : listIntervals) {
-			updateTreeWithRecognizedList(node, listInterval);
+			updateTreeWithRecognizedList(context, node, listInterval);
 		}
 	}
 
 	public static void updateTreeWithRecognizedList(INode node, ListInterval listInterval) {
-		Long listId = StaticContainers.getNextID();
+		updateTreeWithRecognizedList(StaticContainers.getContext(), node, listInterval);
+	}
+
+	public static void updateTreeWithRecognizedList(ValidationContext context, INode node, ListInterval listInterval) {
+		Long listId = context.getNextID();
 		List<INode> children = node.getChildren();
 		for (ListItemInfo info : listInterval.getListItemsInfos()) {
 			INode child = children.get(info.getIndex());
@@ -93,8 +103,8 @@ public class ListUtils {
 		if (node.getRecognizedStructureId() == null) {
 			double probability = ((double) (listInterval.getNumberOfListItemsAndLists())) / node.getChildren().size();
 			if (probability >= TABLE_PROBABILITY_THRESHOLD) {
-				INode accumulatedNode = StaticContainers.getAccumulatedNodeMapper().get(node);
-				StaticContainers.getAccumulatedNodeMapper().updateNode(node,
+				INode accumulatedNode = context.getAccumulatedNodeMapper().get(node);
+				context.getAccumulatedNodeMapper().updateNode(node,
 						new SemanticList((SemanticTextNode)accumulatedNode, listInterval), probability, SemanticType.LIST);
 				node.setRecognizedStructureId(listId);
 			}
@@ -125,18 +135,29 @@ public class ListUtils {
 	}
 
 	public static Set<ListInterval> getChildrenListIntervals(Set<ListInterval> listIntervals, List<INode> children) {
+		return getChildrenListIntervals(StaticContainers.getContext(), listIntervals, children);
+	}
+
+	public static Set<ListInterval> getChildrenListIntervals(ValidationContext context, Set<ListInterval> listIntervals,
+	                                                         List<INode> children) {
 		ListIntervalsCollection listIntervalsCollection = new ListIntervalsCollection();
 		for (ListInterval listInterval : listIntervals) {
-			checkChildrenListInterval(listIntervalsCollection, listInterval, children);
+			checkChildrenListInterval(context, listIntervalsCollection, listInterval, children);
 		}
 		return listIntervalsCollection.getSet();
 	}
 
 	public static void checkChildrenListInterval(ListIntervalsCollection listIntervalsCollection,
 												 ListInterval listInterval, List<INode> children) {
+		checkChildrenListInterval(StaticContainers.getContext(), listIntervalsCollection, listInterval, children);
+	}
+
+	public static void checkChildrenListInterval(ValidationContext context,
+	                                             ListIntervalsCollection listIntervalsCollection,
+	                                             ListInterval listInterval, List<INode> children) {
 		List<ListItemInfo> listItemInfos = new ArrayList<>();
 		listItemInfos.add(listInterval.getListItemsInfos().get(0));
-		INode accumulatedChild = StaticContainers.getAccumulatedNodeMapper().get(children.get(listInterval.getListItemsStart()));
+		INode accumulatedChild = context.getAccumulatedNodeMapper().get(children.get(listInterval.getListItemsStart()));
 		double right = accumulatedChild.getRightX();
 		int lastChildNumberOfColumns;
 		int numberOfColumns = getInitialListColumnsNumber(accumulatedChild);
@@ -152,7 +173,7 @@ public class ListUtils {
 			}
 			InfoChunk line1 = previousItemInfo.getListItemValue();
 			InfoChunk line2 = info.getListItemValue();
-			accumulatedChild = StaticContainers.getAccumulatedNodeMapper().get(children.get(info.getIndex()));
+			accumulatedChild = context.getAccumulatedNodeMapper().get(children.get(info.getIndex()));
 			if (line1.getPageNumber() + 1 < line2.getPageNumber() ||
 					isContainsHeading(children.get(previousItemInfo.getIndex())) ||
 					children.get(previousItemInfo.getIndex()).getInitialSemanticType() == SemanticType.NOTE) {
@@ -0,0 +1,216 @@
+package org.verapdf.wcag.algorithms.semanticalgorithms.utils;
+
+import com.github.jaiimageio.jpeg2000.impl.J2KImageReaderSpi;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.apache.pdfbox.io.ScratchFile;
+import org.apache.pdfbox.jbig2.JBIG2ImageReaderSpi;
+import org.apache.pdfbox.pdfparser.PDFParser;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.graphics.blend.BlendMode;
+import org.apache.pdfbox.pdmodel.graphics.state.PDExtendedGraphicsState;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.apache.pdfbox.rendering.RenderDestination;
+
+import javax.imageio.spi.IIORegistry;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Renders pages of the document by PDFBox.
+ */
+public class PDFBoxPageRasterProvider implements PageRasterProvider {
+
+	private static final int PDF_DPI = 72;
+	private static final AtomicBoolean imageReadersRegistered = new AtomicBoolean(false);
+
+	private final File sourceFile;
+	private final MemoryUsageSetting memoryUsageSetting;
+	private final PDDocument document;
+	private final boolean isDocumentOwner;
+	private PDFRenderer renderer;
+
+	/**
+	 * @param memoryUsageSetting memory used for the buffers of the document, it is divided between the copies
+	 *                           of the provider
+	 */
+	public PDFBoxPageRasterProvider(File sourceFile, MemoryUsageSetting memoryUsageSetting) throws IOException {
+		this(PDDocument.load(sourceFile, memoryUsageSetting), true, sourceFile, memoryUsageSetting);
+	}
+
+	/**
+	 * The document is loaded from the source, the source is closed together with the provider.
+	 * Copies of the provider are not supported.
+	 */
+	public PDFBoxPageRasterProvider(RandomAccessRead source, MemoryUsageSetting memoryUsageSetting) throws IOException {
+		this(loadDocument(source, memoryUsageSetting), true, null, null);
+	}
+
+	/**
+	 * The document is not closed by the provider. Copies of the provider are not supported.
+	 */
+	public PDFBoxPageRasterProvider(PDDocument document) {
+		this(document, false, null, null);
+	}
+
+	private PDFBoxPageRasterProvider(PDDocument document, boolean isDocumentOwner, File sourceFile,
+	                                 MemoryUsageSetting memoryUsageSetting) {
+		this.document = document;
+		this.isDocumentOwner = isDocumentOwner;
+		this.sourceFile = sourceFile;
+		this.memoryUsageSetting = memoryUsageSetting;
+		registerImageReaders();
+	}
+
+	@Override
+	public RenderedPage getPage(int pageNumber, int dpi, Rectangle region) throws IOException {
+		if (region == null) {
+			return new RenderedPage(getRenderer().renderImageWithDPI(pageNumber, dpi, ImageType.RGB), dpi);
+		}
+		Dimension pageSize = getRenderedPageSize(pageNumber, dpi);
+		// as in PDFRenderer.renderImage, pages with blend modes are drawn on a transparent background first
+		boolean hasBlendMode = hasBlendMode(document.getPage(pageNumber));
+		BufferedImage image = new BufferedImage(region.width, region.height,
+		                                        hasBlendMode ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = image.createGraphics();
+		try {
+			graphics.setRenderingHints(getRenderingHints());
+			graphics.setBackground(hasBlendMode ? new Color(0, 0, 0, 0) : Color.WHITE);
+			graphics.clearRect(0, 0, region.width, region.height);
+			graphics.translate(-region.x, -region.y);
+			// PDFBox keeps the initial clip, so painting outside of the region is skipped
+			graphics.clip(region);
+			float scale = dpi / (float) PDF_DPI;
+			getRenderer().renderPageToGraphics(pageNumber, graphics, scale, scale, RenderDestination.EXPORT);
+		} finally {
+			graphics.dispose();
+		}
+		if (hasBlendMode) {
+			image = toRgbImage(image);
+		}
+		return new RenderedPage(image, region.x, region.y, pageSize.width, pageSize.height, dpi);
+	}
+
+	private static BufferedImage toRgbImage(BufferedImage image) {
+		BufferedImage rgbImage = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = rgbImage.createGraphics();
+		try {
+			graphics.setBackground(Color.WHITE);
+			graphics.clearRect(0, 0, image.getWidth(), image.getHeight());
+			graphics.drawImage(image, 0, 0, null);
+		} finally {
+			graphics.dispose();
+		}
+		return rgbImage;
+	}
+
+	/**
+	 * @return true if the page resources have a blend mode, the same check as in PDFRenderer
+	 */
+	private static boolean hasBlendMode(PDPage page) {
+		PDResources resources = page.getResources();
+		if (resources == null) {
+			return false;
+		}
+		for (COSName name : resources.getExtGStateNames()) {
+			PDExtendedGraphicsState extGState = resources.getExtGState(name);
+			if (extGState != null && extGState.getBlendMode() != BlendMode.NORMAL) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public Dimension getPageSize(int pageNumber, int dpi) {
+		try {
+			return getRenderedPageSize(pageNumber, dpi);
+		} catch (IndexOutOfBoundsException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @return size of the page rendered by {@link PDFRenderer#renderImageWithDPI}
+	 */
+	private Dimension getRenderedPageSize(int pageNumber, int dpi) {
+		PDPage page = document.getPage(pageNumber);
+		PDRectangle cropBox = page.getCropBox();
+		float scale = dpi / (float) PDF_DPI;
+		int width = (int) Math.max(Math.floor(cropBox.getWidth() * scale), 1);
+		int height = (int) Math.max(Math.floor(cropBox.getHeight() * scale), 1);
+		int rotation = page.getRotation();
+		if (rotation == 90 || rotation == 270) {
+			return new Dimension(height, width);
+		}
+		return new Dimension(width, height);
+	}
+
+	@Override
+	public boolean canCreateCopies() {
+		return sourceFile != null;
+	}
+
+	/**
+	 * PDFBox documents are not thread-safe, so every copy loads its own copy of the document.
+	 */
+	@Override
+	public PageRasterProvider createCopy(int copiesNumber) throws IOException {
+		if (sourceFile == null) {
+			return PageRasterProvider.super.createCopy(copiesNumber);
+		}
+		return new PDFBoxPageRasterProvider(sourceFile, memoryUsageSetting.getPartitionedCopy(copiesNumber));
+	}
+
+	private PDFRenderer getRenderer() {
+		if (renderer == null) {
+			renderer = new PDFRenderer(document);
+			renderer.setRenderingHints(getRenderingHints());
+		}
+		return renderer;
+	}
+
+	private static RenderingHints getRenderingHints() {
+		RenderingHints renderingHints = new RenderingHints(null);
+		renderingHints.put(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+		return renderingHints;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (isDocumentOwner) {
+			document.close();
+		}
+	}
+
+	private static PDDocument loadDocument(RandomAccessRead source,
+	                                       MemoryUsageSetting memoryUsageSetting) throws IOException {
+		ScratchFile scratchFile = new ScratchFile(memoryUsageSetting);
+		try {
+			PDFParser parser = new PDFParser(source, scratchFile);
+			parser.parse();
+			return parser.getPDDocument();
+		} catch (IOException e) {
+			IOUtils.closeQuietly(scratchFile);
+			IOUtils.closeQuietly(source);
+			throw e;
+		}
+	}
+
+	private static void registerImageReaders() {
+		if (imageReadersRegistered.compareAndSet(false, true)) {
+			IIORegistry registry = IIORegistry.getDefaultInstance();
+			registry.registerServiceProvider(new J2KImageReaderSpi());
+			registry.registerServiceProvider(new JBIG2ImageReaderSpi());
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package org.verapdf.wcag.algorithms.semanticalgorithms.utils;
+
+import java.awt.*;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Source of rendered pages for contrast ratio detection. Coordinates are in pixels of the whole rendered page,
+ * y axis is directed down.
+ */
+public interface PageRasterProvider extends Closeable {
+
+	/**
+	 * The provider may return the page rendered with a different resolution or a larger region than requested,
+	 * for example pages rendered in advance. The actual resolution and region are taken from the returned page.
+	 *
+	 * @param pageNumber number of the page starting from 0
+	 * @param dpi requested resolution
+	 * @param region requested region of the page, or null to render the whole page
+	 * @return rendered page or its region, or null if the page can not be rendered
+	 * @throws IOException if the page could not be rendered
+	 */
+	RenderedPage getPage(int pageNumber, int dpi, Rectangle region) throws IOException;
+
+	/**
+	 * @return size of the whole page rendered with the given resolution, or null if there is no such page
+	 */
+	Dimension getPageSize(int pageNumber, int dpi);
+
+	/**
+	 * @return true if {@link #createCopy} is supported
+	 */
+	default boolean canCreateCopies() {
+		return false;
+	}
+
+	/**
+	 * Providers are used by one thread at a time, every worker rendering pages in parallel gets its own copy.
+	 *
+	 * @param copiesNumber number of copies used at the same time
+	 * @return new provider of the same pages, closed separately from this provider
+	 * @throws IOException if the copy could not be created
+	 */
+	default PageRasterProvider createCopy(int copiesNumber) throws IOException {
+		throw new UnsupportedOperationException("Copies of the page raster provider are not supported");
+	}
+
+	@Override
+	default void close() throws IOException {
+	}
+}
@@ -0,0 +1,65 @@
+package org.verapdf.wcag.algorithms.semanticalgorithms.utils;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Rendered region of a page. Coordinates are in pixels of the whole rendered page, y axis is directed down.
+ */
+public class RenderedPage {
+
+	private final BufferedImage image;
+	private final int x;
+	private final int y;
+	private final int pageWidth;
+	private final int pageHeight;
+	private final int dpi;
+
+	/**
+	 * @param image the whole rendered page
+	 * @param dpi resolution of the rendered page
+	 */
+	public RenderedPage(BufferedImage image, int dpi) {
+		this(image, 0, 0, image.getWidth(), image.getHeight(), dpi);
+	}
+
+	/**
+	 * @param image rendered region of the page
+	 * @param x left coordinate of the region
+	 * @param y top coordinate of the region
+	 * @param pageWidth width of the whole rendered page
+	 * @param pageHeight height of the whole rendered page
+	 * @param dpi resolution of the rendered page
+	 */
+	public RenderedPage(BufferedImage image, int x, int y, int pageWidth, int pageHeight, int dpi) {
+		this.image = image;
+		this.x = x;
+		this.y = y;
+		this.pageWidth = pageWidth;
+		this.pageHeight = pageHeight;
+		this.dpi = dpi;
+	}
+
+	public BufferedImage getImage() {
+		return image;
+	}
+
+	public int getX() {
+		return x;
+	}
+
+	public int getY() {
+		return y;
+	}
+
+	public int getPageWidth() {
+		return pageWidth;
+	}
+
+	public int getPageHeight() {
+		return pageHeight;
+	}
+
+	public int getDpi() {
+		return dpi;
+	}
+}
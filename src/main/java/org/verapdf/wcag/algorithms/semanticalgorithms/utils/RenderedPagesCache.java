@@ -0,0 +1,124 @@
+package org.verapdf.wcag.algorithms.semanticalgorithms.utils;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps rendered pages within a memory budget, evicting the least recently used pages first.
+ * The last added page is always kept, even if it alone exceeds the budget. Pages are cached together with
+ * their resolution, so an evicted page leaves nothing behind.
+ */
+public class RenderedPagesCache {
+
+	/**
+	 * A4 or Letter page rendered with 144 dpi into an RGB raster of 4 bytes per pixel takes about 8 MB, so the
+	 * default budget keeps about 32 pages. It is enough for the text of a page that is often split among several
+	 * neighbouring structure elements, and stays a small part of a typical JVM heap.
+	 */
+	public static final long DEFAULT_MAX_SIZE = 256L * 1024 * 1024;
+
+	private final Map<Integer, RenderedPage> pages = new LinkedHashMap<>(16, 0.75f, true);
+	private final long maxSize;
+	private long size = 0;
+	private long hitsNumber = 0;
+	private long missesNumber = 0;
+	private long evictionsNumber = 0;
+
+	public RenderedPagesCache() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * @param maxSize memory budget in bytes
+	 */
+	public RenderedPagesCache(long maxSize) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException("Negative cache size " + maxSize);
+		}
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * @return cached page with the given number or null if it is not cached
+	 */
+	public RenderedPage get(int pageNumber) {
+		RenderedPage page = pages.get(pageNumber);
+		if (page != null) {
+			hitsNumber++;
+		} else {
+			missesNumber++;
+		}
+		return page;
+	}
+
+	public void put(int pageNumber, RenderedPage page) {
+		RenderedPage previousPage = pages.put(pageNumber, page);
+		if (previousPage != null) {
+			size -= getSize(previousPage.getImage());
+		}
+		size += getSize(page.getImage());
+		Iterator<Map.Entry<Integer, RenderedPage>> iterator = pages.entrySet().iterator();
+		while (size > maxSize && pages.size() > 1) {
+			Map.Entry<Integer, RenderedPage> eldest = iterator.next();
+			size -= getSize(eldest.getValue().getImage());
+			iterator.remove();
+			evictionsNumber++;
+		}
+	}
+
+	public void clear() {
+		pages.clear();
+		size = 0;
+	}
+
+	public boolean contains(int pageNumber) {
+		return pages.containsKey(pageNumber);
+	}
+
+	/**
+	 * @return number of cached pages
+	 */
+	public int getPagesNumber() {
+		return pages.size();
+	}
+
+	/**
+	 * @return memory in bytes taken by the rasters of cached pages
+	 */
+	public long getSize() {
+		return size;
+	}
+
+	public long getMaxSize() {
+		return maxSize;
+	}
+
+	public long getHitsNumber() {
+		return hitsNumber;
+	}
+
+	public long getMissesNumber() {
+		return missesNumber;
+	}
+
+	public long getEvictionsNumber() {
+		return evictionsNumber;
+	}
+
+	/**
+	 * @return memory in bytes taken by the raster of the image
+	 */
+	public static long getSize(BufferedImage image) {
+		DataBuffer buffer = image.getRaster().getDataBuffer();
+		return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+	}
+
+	@Override
+	public String toString() {
+		return "pages: " + pages.size() + ", size: " + size + "/" + maxSize + " bytes, hits: " + hitsNumber +
+		       ", misses: " + missesNumber + ", evictions: " + evictionsNumber;
+	}
+}
@@ -52,7 +52,7 @@ public class TextChunkUtils {
         TextChunk newTextChunk = new TextChunk(firstTextChunk);
         newTextChunk.setValue(firstTextChunk.getValue() + secondTextChunk.getValue());
         newTextChunk.getBoundingBox().union(secondTextChunk.getBoundingBox());
-        newTextChunk.getSymbolEnds().addAll(secondTextChunk.getSymbolEnds().subList(1, secondTextChunk.getSymbolEnds().size()));
+        newTextChunk.addSymbolEnds(secondTextChunk, 1);
         return newTextChunk;
     }
 
@@ -0,0 +1,80 @@
+package org.verapdf.wcag.algorithms.semanticalgorithms.utils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Resources spent by one stage of the semantic checker. Times and allocated bytes are measured on the thread
+ * running the checker, so work of the stage done by other threads is not included.
+ */
+public class WCAGStageMetrics {
+
+	private final WCAGProgressStatus progressStatus;
+	private final String consumerName;
+	private final long wallTimeNanos;
+	private final long cpuTimeNanos;
+	private final long allocatedBytes;
+	private final long visitedNodesNumber;
+	private final Map<String, Long> counters;
+
+	public WCAGStageMetrics(WCAGProgressStatus progressStatus, String consumerName, long wallTimeNanos,
+	                        long cpuTimeNanos, long allocatedBytes, long visitedNodesNumber,
+	                        Map<String, Long> counters) {
+		this.progressStatus = progressStatus;
+		this.consumerName = consumerName;
+		this.wallTimeNanos = wallTimeNanos;
+		this.cpuTimeNanos = cpuTimeNanos;
+		this.allocatedBytes = allocatedBytes;
+		this.visitedNodesNumber = visitedNodesNumber;
+		this.counters = Collections.unmodifiableMap(new LinkedHashMap<>(counters));
+	}
+
+	public WCAGProgressStatus getProgressStatus() {
+		return progressStatus;
+	}
+
+	public String getConsumerName() {
+		return consumerName;
+	}
+
+	public long getWallTimeNanos() {
+		return wallTimeNanos;
+	}
+
+	/**
+	 * @return cpu time in nanoseconds, or -1 if the JVM does not support measuring it
+	 */
+	public long getCpuTimeNanos() {
+		return cpuTimeNanos;
+	}
+
+	/**
+	 * @return allocated bytes, or -1 if the JVM does not support measuring them
+	 */
+	public long getAllocatedBytes() {
+		return allocatedBytes;
+	}
+
+	/**
+	 * @return number of tree nodes passed to the consumer, or -1 if the stage does not report it
+	 */
+	public long getVisitedNodesNumber() {
+		return visitedNodesNumber;
+	}
+
+	/**
+	 * @return stage specific counters reported by the consumer
+	 */
+	public Map<String, Long> getCounters() {
+		return counters;
+	}
+
+	@Override
+	public String toString() {
+		return consumerName + ": wall " + wallTimeNanos / 1_000_000 + " ms, cpu " +
+		       (cpuTimeNanos < 0 ? "n/a" : cpuTimeNanos / 1_000_000 + " ms") + ", allocated " +
+		       (allocatedBytes < 0 ? "n/a" : allocatedBytes + " bytes") + ", visited nodes " + visitedNodesNumber +
+		       (counters.isEmpty() ? "" : ", " + counters);
+	}
+}
@@ -0,0 +1,9 @@
+package org.verapdf.wcag.algorithms.semanticalgorithms.utils;
+
+public interface WCAGStageMetricsListener {
+
+	/**
+	 * Called on the thread running the checker after each finished stage.
+	 */
+	void stageFinished(WCAGStageMetrics metrics);
+}
@@ -0,0 +1,68 @@
+package org.verapdf.wcag.algorithms.semanticalgorithms.utils;
+
+import org.verapdf.wcag.algorithms.semanticalgorithms.consumers.WCAGConsumer;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures a stage of the semantic checker on the current thread.
+ */
+public class WCAGStageMetricsRecorder {
+
+	private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+	private final long startWallTime;
+	private final long startCpuTime;
+	private final long startAllocatedBytes;
+
+	private WCAGStageMetricsRecorder() {
+		this.startAllocatedBytes = getAllocatedBytes();
+		this.startCpuTime = getCpuTime();
+		this.startWallTime = System.nanoTime();
+	}
+
+	public static WCAGStageMetricsRecorder start() {
+		return new WCAGStageMetricsRecorder();
+	}
+
+	/**
+	 * @param visitedNodesNumber number of nodes passed to the consumer by the checker,
+	 *                           or -1 to take the number reported by the consumer
+	 */
+	public WCAGStageMetrics finish(WCAGConsumer consumer, long visitedNodesNumber) {
+		long wallTime = System.nanoTime() - startWallTime;
+		long cpuTime = getCpuTime();
+		long allocatedBytes = getAllocatedBytes();
+		return new WCAGStageMetrics(consumer.getWCAGProgressStatus(), consumer.getClass().getSimpleName(), wallTime,
+				startCpuTime < 0 || cpuTime < 0 ? -1 : cpuTime - startCpuTime,
+				startAllocatedBytes < 0 || allocatedBytes < 0 ? -1 : allocatedBytes - startAllocatedBytes,
+				visitedNodesNumber >= 0 ? visitedNodesNumber : consumer.getVisitedNodesNumber(),
+				consumer.getMetricsCounters());
+	}
+
+	private static long getCpuTime() {
+		try {
+			if (THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() && THREAD_MX_BEAN.isThreadCpuTimeEnabled()) {
+				return THREAD_MX_BEAN.getCurrentThreadCpuTime();
+			}
+		} catch (UnsupportedOperationException e) {
+			return -1;
+		}
+		return -1;
+	}
+
+	private static long getAllocatedBytes() {
+		if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+			try {
+				if (threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled()) {
+					return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+				}
+			} catch (UnsupportedOperationException e) {
+				return -1;
+			}
+		}
+		return -1;
+	}
+}
@@ -2,10 +2,17 @@ package org.verapdf.wcag.algorithms.semanticalgorithms.utils;
 
 import org.verapdf.wcag.algorithms.semanticalgorithms.consumers.WCAGConsumer;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 public class WCAGValidationInfo {
 
 	private volatile Boolean abortProcessing = false;
 	private WCAGConsumer currentConsumer = null;
+	private final List<WCAGStageMetrics> stageMetrics = Collections.synchronizedList(new ArrayList<>());
+	private final List<WCAGStageMetricsListener> stageMetricsListeners = new CopyOnWriteArrayList<>();
 
 	public String getWCAGProcessStatusWithPercent() {
 		if (currentConsumer == null) {
@@ -37,4 +44,32 @@ public class WCAGValidationInfo {
 	public void setCurrentConsumer(WCAGConsumer currentConsumer) {
 		this.currentConsumer = currentConsumer;
 	}
+
+	/**
+	 * @return metrics of the stages finished so far, in the order they were run
+	 */
+	public List<WCAGStageMetrics> getStageMetrics() {
+		synchronized (stageMetrics) {
+			return new ArrayList<>(stageMetrics);
+		}
+	}
+
+	public void addStageMetrics(WCAGStageMetrics metrics) {
+		stageMetrics.add(metrics);
+		for (WCAGStageMetricsListener listener : stageMetricsListeners) {
+			listener.stageFinished(metrics);
+		}
+	}
+
+	public void clearStageMetrics() {
+		stageMetrics.clear();
+	}
+
+	public void addStageMetricsListener(WCAGStageMetricsListener listener) {
+		stageMetricsListeners.add(listener);
+	}
+
+	public void removeStageMetricsListener(WCAGStageMetricsListener listener) {
+		stageMetricsListeners.remove(listener);
+	}
 }
@@ -1,5 +1,12 @@
 package org.verapdf.wcag.algorithms.consumers;
 
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.graphics.blend.BlendMode;
+import org.apache.pdfbox.pdmodel.graphics.state.PDExtendedGraphicsState;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -12,8 +19,21 @@ import org.verapdf.wcag.algorithms.entities.content.TextLine;
 import org.verapdf.wcag.algorithms.entities.enums.SemanticType;
 import org.verapdf.wcag.algorithms.entities.geometry.BoundingBox;
 import org.verapdf.wcag.algorithms.semanticalgorithms.consumers.ContrastRatioConsumer;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ContrastRatioOptions;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ValidationContext;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.PDFBoxPageRasterProvider;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.PageRasterProvider;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.RenderedPage;
 
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 import java.util.stream.Stream;
 
 public class ContrastRatioConsumerTests {
@@ -105,6 +125,415 @@ public class ContrastRatioConsumerTests {
 		}
 	}
 
+	@ParameterizedTest(name = "{index}: ({0}, {1}, {2}) => {0}")
+	@MethodSource("contrastTestFailParams")
+	void testColorContrastByPages(String srcPdfPath, String jsonPdfPath, double ratioThreshold) throws IOException {
+		ITree tree = JsonToPdfTree.getDocument(SRC_DIR + jsonPdfPath).getTree();
+		try (ContrastRatioConsumer contrastRatioConsumer = new ContrastRatioConsumer(ROOT_DIR + srcPdfPath)) {
+			contrastRatioConsumer.calculateContrast(tree);
+		}
+		ITree pagesTree = JsonToPdfTree.getDocument(SRC_DIR + jsonPdfPath).getTree();
+		try (ContrastRatioConsumer contrastRatioConsumer = new ContrastRatioConsumer(ROOT_DIR + srcPdfPath)) {
+			contrastRatioConsumer.calculateContrastByPages(pagesTree);
+		}
+		ITree parallelPagesTree = JsonToPdfTree.getDocument(SRC_DIR + jsonPdfPath).getTree();
+		try (ContrastRatioConsumer contrastRatioConsumer = new ContrastRatioConsumer(ROOT_DIR + srcPdfPath)) {
+			contrastRatioConsumer.calculateContrastByPages(parallelPagesTree, 2);
+		}
+		ITree regionsTree = JsonToPdfTree.getDocument(SRC_DIR + jsonPdfPath).getTree();
+		ValidationContext context = new ValidationContext();
+		context.getContrastRatioOptions().setRegionsRendering(true);
+		try (ContrastRatioConsumer contrastRatioConsumer = new ContrastRatioConsumer(context, ROOT_DIR + srcPdfPath)) {
+			contrastRatioConsumer.calculateContrastByPages(regionsTree);
+		}
+		Assertions.assertEquals(getContrastRatios(tree), getContrastRatios(pagesTree));
+		Assertions.assertEquals(getContrastRatios(tree), getContrastRatios(regionsTree));
+		Assertions.assertEquals(getContrastRatios(tree), getContrastRatios(parallelPagesTree));
+	}
+
+	@ParameterizedTest(name = "{index}: ({0}, {1}, {2}) => {0}")
+	@MethodSource("contrastTestFailParams")
+	void testColorContrastAdaptiveDpi(String srcPdfPath, String jsonPdfPath, double ratioThreshold) throws IOException {
+		ITree tree = JsonToPdfTree.getDocument(SRC_DIR + jsonPdfPath).getTree();
+		ValidationContext context = new ValidationContext();
+		context.getContrastRatioOptions().setAdaptiveDpi(true);
+		try (ContrastRatioConsumer contrastRatioConsumer = new ContrastRatioConsumer(context, ROOT_DIR + srcPdfPath)) {
+			contrastRatioConsumer.calculateContrastByPages(tree);
+			long dpi = contrastRatioConsumer.getMetricsCounters().get("maxRenderDpi");
+			ContrastRatioOptions options = context.getContrastRatioOptions();
+			Assertions.assertTrue(dpi >= options.getMinDpi() && dpi <= options.getMaxDpi());
+		}
+		tree.forEach(node -> {
+			if (node.getChildren().isEmpty() && SemanticType.SPAN == node.getSemanticType()) {
+				for (TextColumn textColumn : ((SemanticSpan) node).getColumns()) {
+					for (TextLine line : textColumn.getLines()) {
+						for (TextChunk chunk : line.getTextChunks()) {
+							Assertions.assertTrue(chunk.getContrastRatio() < ratioThreshold);
+						}
+					}
+				}
+			}
+		});
+	}
+
+	static Stream<Arguments> contrastTestParams() {
+		return Stream.concat(contrastTestPassParams(), contrastTestFailParams());
+	}
+
+	@ParameterizedTest(name = "{index}: ({0}, {1}, {2}) => {0}")
+	@MethodSource("contrastTestParams")
+	void testAdaptiveDpiVerdicts(String srcPdfPath, String jsonPdfPath, double ratioThreshold) throws IOException {
+		ITree tree = JsonToPdfTree.getDocument(SRC_DIR + jsonPdfPath).getTree();
+		try (ContrastRatioConsumer contrastRatioConsumer = new ContrastRatioConsumer(ROOT_DIR + srcPdfPath)) {
+			contrastRatioConsumer.calculateContrastByPages(tree);
+			Assertions.assertEquals(144L, contrastRatioConsumer.getMetricsCounters().get("maxRenderDpi"));
+		}
+		ITree adaptiveDpiTree = JsonToPdfTree.getDocument(SRC_DIR + jsonPdfPath).getTree();
+		ValidationContext context = new ValidationContext();
+		context.getContrastRatioOptions().setAdaptiveDpi(true);
+		try (ContrastRatioConsumer contrastRatioConsumer = new ContrastRatioConsumer(context, ROOT_DIR + srcPdfPath)) {
+			contrastRatioConsumer.calculateContrastByPages(adaptiveDpiTree);
+		}
+		List<Double> contrastRatios = getContrastRatios(tree);
+		List<Double> adaptiveDpiContrastRatios = getContrastRatios(adaptiveDpiTree);
+		Assertions.assertEquals(contrastRatios.size(), adaptiveDpiContrastRatios.size());
+		for (int i = 0; i < contrastRatios.size(); i++) {
+			Assertions.assertEquals(contrastRatios.get(i) >= ratioThreshold,
+			                        adaptiveDpiContrastRatios.get(i) >= ratioThreshold, "text chunk " + i);
+		}
+	}
+
+	@Test
+	void testColorContrastOfOpenDocument() throws IOException {
+		ITree tree = JsonToPdfTree.getDocument(SRC_DIR + "1.4.3-t02-fail-a.json").getTree();
+		ValidationContext context = new ValidationContext();
+		context.getContrastRatioOptions().setMainMemorySize(0);
+		try (ContrastRatioConsumer contrastRatioConsumer = new ContrastRatioConsumer(context,
+				Paths.get(ROOT_DIR + "1.4.3-t02-fail-a.pdf"))) {
+			contrastRatioConsumer.calculateContrastByPages(tree);
+		}
+		ITree documentTree = JsonToPdfTree.getDocument(SRC_DIR + "1.4.3-t02-fail-a.json").getTree();
+		try (PDDocument document = PDDocument.load(new File(ROOT_DIR + "1.4.3-t02-fail-a.pdf"))) {
+			try (ContrastRatioConsumer contrastRatioConsumer = new ContrastRatioConsumer(new ValidationContext(),
+					document)) {
+				contrastRatioConsumer.calculateContrastByPages(documentTree, 2);
+			}
+			Assertions.assertFalse(document.getDocument().isClosed());
+		}
+		Assertions.assertEquals(getContrastRatios(tree), getContrastRatios(documentTree));
+	}
+
+	@Test
+	void testColorContrastOfProvidedRasters() throws IOException {
+		SemanticSpan span = new SemanticSpan();
+		TextChunk textChunk = new TextChunk(new BoundingBox(0, new double[] {10, 50, 60, 70}), "text", 20, 52);
+		textChunk.setFontColor(new double[] {0, 0, 0});
+		span.add(new TextLine(textChunk));
+		span.setPageNumber(0);
+		PageRasterProvider rasterProvider = new PageRasterProvider() {
+			@Override
+			public RenderedPage getPage(int pageNumber, int dpi, Rectangle region) {
+				BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+				Graphics2D graphics = image.createGraphics();
+				graphics.setColor(Color.WHITE);
+				graphics.fillRect(0, 0, 100, 100);
+				graphics.setColor(Color.BLACK);
+				graphics.fillRect(10, 30, 25, 20);
+				graphics.dispose();
+				return new RenderedPage(image, 72);
+			}
+
+			@Override
+			public Dimension getPageSize(int pageNumber, int dpi) {
+				return new Dimension(100 * dpi / 72, 100 * dpi / 72);
+			}
+		};
+		try (ContrastRatioConsumer contrastRatioConsumer = new ContrastRatioConsumer(new ValidationContext(),
+				rasterProvider)) {
+			contrastRatioConsumer.calculateContrastByPages(new SemanticTree(span), 2);
+		}
+		Assertions.assertEquals(21.0, textChunk.getContrastRatio(), 0.0001);
+	}
+
+	@Test
+	void testRenderedRegionsSize() throws IOException {
+		BufferedImage page = new BufferedImage(1224, 1584, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = page.createGraphics();
+		graphics.setColor(Color.WHITE);
+		graphics.fillRect(0, 0, page.getWidth(), page.getHeight());
+		graphics.setColor(Color.BLACK);
+		graphics.fillRect(20, 150, 60, 30);
+		graphics.setColor(Color.GRAY);
+		graphics.fillRect(800, 1450, 40, 20);
+		graphics.dispose();
+		List<Rectangle> regions = new ArrayList<>();
+		PageRasterProvider rasterProvider = new PageRasterProvider() {
+			@Override
+			public RenderedPage getPage(int pageNumber, int dpi, Rectangle region) {
+				if (region == null) {
+					return new RenderedPage(page, dpi);
+				}
+				regions.add(region);
+				BufferedImage image = new BufferedImage(region.width, region.height, BufferedImage.TYPE_INT_RGB);
+				image.setData(page.getData(region).createTranslatedChild(0, 0));
+				return new RenderedPage(image, region.x, region.y, page.getWidth(), page.getHeight(), dpi);
+			}
+
+			@Override
+			public Dimension getPageSize(int pageNumber, int dpi) {
+				return new Dimension(page.getWidth(), page.getHeight());
+			}
+		};
+		ValidationContext context = new ValidationContext();
+		context.getContrastRatioOptions().setRegionsRendering(true);
+		SemanticTree regionsTree = createTwoChunksTree();
+		try (ContrastRatioConsumer contrastRatioConsumer = new ContrastRatioConsumer(context, rasterProvider)) {
+			contrastRatioConsumer.calculateContrastByPages(regionsTree);
+		}
+		Assertions.assertEquals(2, regions.size());
+		Assertions.assertTrue(regions.contains(new Rectangle(10, 140, 100, 40)));
+		Assertions.assertTrue(regions.contains(new Rectangle(780, 1444, 100, 40)));
+		SemanticTree tree = createTwoChunksTree();
+		try (ContrastRatioConsumer contrastRatioConsumer = new ContrastRatioConsumer(new ValidationContext(),
+				rasterProvider)) {
+			contrastRatioConsumer.calculateContrastByPages(tree);
+		}
+		Assertions.assertEquals(getContrastRatios(tree), getContrastRatios(regionsTree));
+		Assertions.assertEquals(21.0, getContrastRatios(regionsTree).get(0), 0.0001);
+	}
+
+	private static SemanticTree createTwoChunksTree() {
+		SemanticSpan root = new SemanticSpan();
+		root.setPageNumber(0);
+		for (double[] boundingBox : new double[][] {{5, 702, 55, 722}, {390, 50, 440, 70}}) {
+			SemanticSpan span = new SemanticSpan();
+			TextChunk textChunk = new TextChunk(new BoundingBox(0, boundingBox), "text", 20, boundingBox[1] + 2);
+			textChunk.setFontColor(new double[] {0, 0, 0});
+			span.add(new TextLine(textChunk));
+			span.setPageNumber(0);
+			root.addChild(span);
+		}
+		return new SemanticTree(root);
+	}
+
+	@Test
+	void testContrastVerdictCache() throws IOException {
+		int[] backgroundColors = {0xFFFFFF, 0x1F4E79};
+		int[] textColors = {0x000000, 0xFFFFFF};
+		BufferedImage image = new BufferedImage(400, 400, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = image.createGraphics();
+		graphics.setColor(Color.WHITE);
+		graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+		List<int[]> words = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			int[] word = {20 + 120 * (i % 3), 20 + 36 * (i / 3), i % 2};
+			words.add(word);
+			graphics.setColor(new Color(backgroundColors[word[2]]));
+			graphics.fillRect(word[0] - 4, word[1] - 4, 88, 28);
+			graphics.setColor(new Color(textColors[word[2]]));
+			// every word of a kind has the same strokes
+			Random random = new Random(word[2]);
+			for (int stroke = 0; stroke < 12; stroke++) {
+				graphics.fillRect(word[0] + 6 * stroke + random.nextInt(2), word[1] + random.nextInt(6),
+				                  2 + random.nextInt(2), 8 + random.nextInt(8));
+			}
+		}
+		graphics.dispose();
+		PageRasterProvider rasterProvider = new PageRasterProvider() {
+			@Override
+			public RenderedPage getPage(int pageNumber, int dpi, Rectangle region) {
+				return new RenderedPage(image, dpi);
+			}
+
+			@Override
+			public Dimension getPageSize(int pageNumber, int dpi) {
+				return new Dimension(image.getWidth(), image.getHeight());
+			}
+		};
+		ValidationContext context = new ValidationContext();
+		context.getContrastRatioOptions().setMemoization(true);
+		try (ContrastRatioConsumer contrastRatioConsumer = new ContrastRatioConsumer(new ValidationContext(),
+				rasterProvider);
+		     ContrastRatioConsumer memoizingConsumer = new ContrastRatioConsumer(context, rasterProvider)) {
+			for (int[] word : words) {
+				TextChunk textChunk = createWordChunk(word, textColors[word[2]], image.getHeight());
+				TextChunk memoizedTextChunk = createWordChunk(word, textColors[word[2]], image.getHeight());
+				contrastRatioConsumer.calculateContrastRation(textChunk, image);
+				memoizingConsumer.calculateContrastRation(memoizedTextChunk, image);
+				Assertions.assertEquals(textChunk.getContrastRatio(), memoizedTextChunk.getContrastRatio());
+				Assertions.assertEquals(Arrays.toString(textChunk.getBackgroundColor()),
+				                        Arrays.toString(memoizedTextChunk.getBackgroundColor()));
+			}
+			Assertions.assertFalse(contrastRatioConsumer.getMetricsCounters().containsKey("contrastVerdictCacheHits"));
+			Assertions.assertEquals(28, memoizingConsumer.getMetricsCounters().get("contrastVerdictCacheHits"));
+			Assertions.assertEquals(2, memoizingConsumer.getMetricsCounters().get("contrastVerdictCacheMisses"));
+		}
+	}
+
+	private static TextChunk createWordChunk(int[] word, int textColor, int imageHeight) {
+		// the image is rendered at 144 dpi, two pixels per point
+		TextChunk textChunk = new TextChunk(new BoundingBox(0, new double[] {word[0] / 2.0,
+		                                    (imageHeight - word[1] - 20) / 2.0, (word[0] + 80) / 2.0,
+		                                    (imageHeight - word[1]) / 2.0}), "word", 10, 0);
+		textChunk.setFontColor(new double[] {((textColor >> 16) & 0xFF) / 255.0, ((textColor >> 8) & 0xFF) / 255.0,
+		                                     (textColor & 0xFF) / 255.0});
+		return textChunk;
+	}
+
+	@Test
+	void testIntegralImages() throws IOException {
+		Random random = new Random(0);
+		int[] backgroundColors = {0xFFFFFF, 0xFFFF00, 0x1F4E79, 0x767676};
+		int[] textColors = {0x000000, 0xFFFFFF, 0xC00000};
+		BufferedImage page = new BufferedImage(1224, 1584, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = page.createGraphics();
+		graphics.setColor(Color.WHITE);
+		graphics.fillRect(0, 0, page.getWidth(), page.getHeight());
+		List<double[]> words = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			double[] word = {20 + 140 * (i % 4), 40 + 18 * i, 80 + random.nextInt(40), 12,
+			                 textColors[random.nextInt(textColors.length)]};
+			words.add(word);
+			graphics.setColor(new Color(backgroundColors[random.nextInt(backgroundColors.length)]));
+			graphics.fillRect((int) (2 * word[0]) - 4, page.getHeight() - (int) (2 * (word[1] + word[3])) - 4,
+			                  (int) (2 * word[2]) + 8, (int) (2 * word[3]) + 8);
+			graphics.setColor(new Color((int) word[4]));
+			for (int stroke = 0; stroke < word[2] / 3; stroke++) {
+				graphics.fillRect((int) (2 * word[0]) + 6 * stroke, page.getHeight() - (int) (2 * (word[1] + word[3])) +
+				                  random.nextInt(8), 2 + random.nextInt(3), 8 + random.nextInt(10));
+			}
+		}
+		graphics.dispose();
+		PageRasterProvider rasterProvider = new PageRasterProvider() {
+			@Override
+			public RenderedPage getPage(int pageNumber, int dpi, Rectangle region) {
+				return new RenderedPage(page, dpi);
+			}
+
+			@Override
+			public Dimension getPageSize(int pageNumber, int dpi) {
+				return new Dimension(page.getWidth(), page.getHeight());
+			}
+		};
+		SemanticTree tree = createFakeBoldTree(words);
+		try (ContrastRatioConsumer contrastRatioConsumer = new ContrastRatioConsumer(new ValidationContext(),
+				rasterProvider)) {
+			contrastRatioConsumer.calculateContrastByPages(tree);
+		}
+		SemanticTree integralImagesTree = createFakeBoldTree(words);
+		ValidationContext context = new ValidationContext();
+		context.getContrastRatioOptions().setIntegralImages(true);
+		try (ContrastRatioConsumer contrastRatioConsumer = new ContrastRatioConsumer(context, rasterProvider)) {
+			contrastRatioConsumer.calculateContrastByPages(integralImagesTree);
+			Assertions.assertTrue(contrastRatioConsumer.getMetricsCounters().get("integralImages") > 0);
+			Assertions.assertTrue(contrastRatioConsumer.getMetricsCounters().get("integralImageChunks") > 0);
+		}
+		Assertions.assertEquals(getContrastRatios(tree), getContrastRatios(integralImagesTree));
+		Assertions.assertEquals(getBackgroundColors(tree), getBackgroundColors(integralImagesTree));
+	}
+
+	/**
+	 * @return tree with every word drawn three times with a small shift, as bold text is often simulated
+	 */
+	private static SemanticTree createFakeBoldTree(List<double[]> words) {
+		SemanticSpan root = new SemanticSpan();
+		root.setPageNumber(0);
+		for (double[] word : words) {
+			for (double shift = 0; shift <= 1; shift += 0.5) {
+				SemanticSpan span = new SemanticSpan();
+				TextChunk textChunk = new TextChunk(new BoundingBox(0, new double[] {word[0] + shift, word[1],
+				                                    word[0] + shift + word[2], word[1] + word[3]}), "word", 12, word[1]);
+				int textColor = (int) word[4];
+				textChunk.setFontColor(new double[] {((textColor >> 16) & 0xFF) / 255.0,
+				                                     ((textColor >> 8) & 0xFF) / 255.0, (textColor & 0xFF) / 255.0});
+				span.add(new TextLine(textChunk));
+				span.setPageNumber(0);
+				root.addChild(span);
+			}
+		}
+		return new SemanticTree(root);
+	}
+
+	private static List<String> getBackgroundColors(ITree tree) {
+		List<String> backgroundColors = new ArrayList<>();
+		for (INode node : tree) {
+			if (node.getChildren().isEmpty() && node instanceof SemanticTextNode) {
+				for (TextChunk chunk : ((SemanticTextNode) node).getTextChunks()) {
+					backgroundColors.add(Arrays.toString(chunk.getBackgroundColor()));
+				}
+			}
+		}
+		return backgroundColors;
+	}
+
+	@Test
+	void testPDFBoxRegionRendering() throws IOException {
+		try (PageRasterProvider rasterProvider = new PDFBoxPageRasterProvider(new File(ROOT_DIR + "1.4.3-t02-fail-a.pdf"),
+				MemoryUsageSetting.setupMainMemoryOnly())) {
+			Rectangle region = new Rectangle(100, 150, 200, 80);
+			RenderedPage renderedRegion = rasterProvider.getPage(0, 144, region);
+			RenderedPage renderedPage = rasterProvider.getPage(0, 144, null);
+			Assertions.assertEquals(region.width, renderedRegion.getImage().getWidth());
+			Assertions.assertEquals(region.height, renderedRegion.getImage().getHeight());
+			Assertions.assertEquals(region.x, renderedRegion.getX());
+			Assertions.assertEquals(region.y, renderedRegion.getY());
+			Assertions.assertEquals(renderedPage.getImage().getWidth(), renderedRegion.getPageWidth());
+			Assertions.assertEquals(renderedPage.getImage().getHeight(), renderedRegion.getPageHeight());
+			assertSamePixels(renderedPage, renderedRegion);
+		}
+	}
+
+	@Test
+	void testPDFBoxBlendModeRegionRendering() throws IOException {
+		try (PDDocument document = new PDDocument()) {
+			PDPage page = new PDPage(PDRectangle.LETTER);
+			document.addPage(page);
+			try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+				contentStream.setNonStrokingColor(new Color(0x1F4E79));
+				contentStream.addRect(50, 500, 300, 200);
+				contentStream.fill();
+				PDExtendedGraphicsState graphicsState = new PDExtendedGraphicsState();
+				graphicsState.setBlendMode(BlendMode.MULTIPLY);
+				graphicsState.setNonStrokingAlphaConstant(0.5f);
+				contentStream.setGraphicsStateParameters(graphicsState);
+				contentStream.setNonStrokingColor(new Color(0xFFC000));
+				contentStream.addRect(150, 450, 300, 200);
+				contentStream.fill();
+			}
+			try (PageRasterProvider rasterProvider = new PDFBoxPageRasterProvider(document)) {
+				RenderedPage renderedPage = rasterProvider.getPage(0, 144, null);
+				assertSamePixels(renderedPage, rasterProvider.getPage(0, 144, new Rectangle(200, 100, 400, 500)));
+				assertSamePixels(renderedPage, rasterProvider.getPage(0, 144, new Rectangle(0, 0, 1224, 1584)));
+			}
+		}
+	}
+
+	private static void assertSamePixels(RenderedPage renderedPage, RenderedPage renderedRegion) {
+		BufferedImage regionImage = renderedRegion.getImage();
+		for (int x = 0; x < regionImage.getWidth(); x++) {
+			for (int y = 0; y < regionImage.getHeight(); y++) {
+				Assertions.assertEquals(renderedPage.getImage().getRGB(renderedRegion.getX() + x, renderedRegion.getY() + y),
+				                        regionImage.getRGB(x, y));
+			}
+		}
+	}
+
+	private static List<Double> getContrastRatios(ITree tree) {
+		List<Double> contrastRatios = new ArrayList<>();
+		for (INode node : tree) {
+			if (node.getChildren().isEmpty() && node instanceof SemanticTextNode) {
+				for (TextColumn textColumn : ((SemanticTextNode) node).getColumns()) {
+					for (TextLine line : textColumn.getLines()) {
+						for (TextChunk chunk : line.getTextChunks()) {
+							contrastRatios.add(chunk.getContrastRatio());
+						}
+					}
+				}
+			}
+		}
+		return contrastRatios;
+	}
+
 	@Test
 	void bBoxWidthZeroValueTest() throws IOException {
 		SemanticSpan nodeToCheck = new SemanticSpan();
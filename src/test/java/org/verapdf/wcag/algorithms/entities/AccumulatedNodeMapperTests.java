@@ -0,0 +1,98 @@
+package org.verapdf.wcag.algorithms.entities;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.verapdf.wcag.algorithms.entities.enums.SemanticType;
+import org.verapdf.wcag.algorithms.entities.geometry.BoundingBox;
+import org.verapdf.wcag.algorithms.entities.maps.AccumulatedNodeMapper;
+import org.verapdf.wcag.algorithms.semanticalgorithms.consumers.SemanticDocumentPreprocessingConsumer;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ValidationContext;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class AccumulatedNodeMapperTests {
+
+	@Test
+	void testDenseNodeIds() {
+		INode root = new SemanticNode(SemanticType.DOCUMENT);
+		for (int i = 0; i < 3; i++) {
+			INode part = new SemanticNode(SemanticType.PART);
+			root.addChild(part);
+			for (int j = 0; j < 4; j++) {
+				part.addChild(new SemanticNode(SemanticType.PARAGRAPH));
+			}
+		}
+		ValidationContext context = new ValidationContext(new Document(new SemanticTree(root)));
+		new SemanticDocumentPreprocessingConsumer(context).setNodeParents();
+		Set<Integer> nodeIds = new HashSet<>();
+		int nodesNumber = 0;
+		for (INode node : context.getDocument().getTree()) {
+			Assertions.assertTrue(nodeIds.add(node.getNodeId()));
+			nodesNumber++;
+		}
+		Assertions.assertEquals(0, root.getNodeId());
+		for (int nodeId = 0; nodeId < nodesNumber; nodeId++) {
+			Assertions.assertTrue(nodeIds.contains(nodeId));
+		}
+	}
+
+	@Test
+	void testNodesWithIds() {
+		AccumulatedNodeMapper mapper = new AccumulatedNodeMapper(2);
+		SemanticNode first = createNode(0);
+		SemanticNode second = createNode(1);
+		SemanticNode far = createNode(100);
+		SemanticNode accumulatedNode = new SemanticNode(SemanticType.PARAGRAPH);
+		Assertions.assertSame(first, mapper.get(first));
+		Assertions.assertNull(mapper.get(null));
+
+		mapper.put(first, accumulatedNode);
+		mapper.put(far, second);
+		Assertions.assertSame(accumulatedNode, mapper.get(first));
+		Assertions.assertSame(second, mapper.get(far));
+		Assertions.assertSame(second, mapper.get(second));
+
+		first.setBoundingBox(new BoundingBox(0, 10, 10, 20, 20));
+		Assertions.assertSame(accumulatedNode, mapper.get(first));
+
+		mapper.put(first, null);
+		Assertions.assertNull(mapper.get(first));
+		mapper.put(first, second);
+		Assertions.assertSame(second, mapper.get(first));
+	}
+
+	@Test
+	void testNodesWithoutIds() {
+		AccumulatedNodeMapper mapper = new AccumulatedNodeMapper();
+		SemanticNode node = new SemanticNode(SemanticType.SPAN);
+		SemanticNode equalNode = new SemanticNode(SemanticType.SPAN);
+		SemanticNode accumulatedNode = new SemanticNode(SemanticType.PARAGRAPH);
+		Assertions.assertEquals(INode.NO_NODE_ID, node.getNodeId());
+
+		mapper.put(node, accumulatedNode);
+		Assertions.assertSame(accumulatedNode, mapper.get(node));
+		Assertions.assertSame(equalNode, mapper.get(equalNode));
+
+		node.setBoundingBox(new BoundingBox(0, 10, 10, 20, 20));
+		Assertions.assertSame(accumulatedNode, mapper.get(node));
+
+		node.setNodeId(3);
+		mapper.put(node, equalNode);
+		Assertions.assertSame(equalNode, mapper.get(node));
+		node.setNodeId(INode.NO_NODE_ID);
+		Assertions.assertSame(node, mapper.get(node));
+	}
+
+	@Test
+	void testDefaultNodeIdMethods() throws NoSuchMethodException {
+		Assertions.assertTrue(INode.class.getMethod("getNodeId").isDefault());
+		Assertions.assertTrue(INode.class.getMethod("setNodeId", int.class).isDefault());
+	}
+
+	private static SemanticNode createNode(int nodeId) {
+		SemanticNode node = new SemanticNode(SemanticType.SPAN);
+		node.setNodeId(nodeId);
+		return node;
+	}
+}
@@ -0,0 +1,89 @@
+package org.verapdf.wcag.algorithms.entities;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.verapdf.wcag.algorithms.entities.geometry.BoundingBox;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+public class BaseObjectTests {
+
+	@Test
+	void testLazyErrorCodes() throws ReflectiveOperationException {
+		BaseObject object = new BaseObject(new BoundingBox(0, 0, 0, 10, 10));
+		Assertions.assertEquals(0, object.getErrorCodesNumber());
+		Assertions.assertFalse(object.hasErrorCode(1000));
+		object.removeErrorCodesAfterIndex(0);
+		Assertions.assertNull(getField(object, "errorCodes"));
+		Assertions.assertNull(getField(object, "errorArguments"));
+	}
+
+	@Test
+	void testEmptyErrorCodes() {
+		BaseObject object = new BaseObject(new BoundingBox(0, 0, 0, 10, 10));
+		Assertions.assertTrue(object.getErrorCodes().isEmpty());
+		Assertions.assertTrue(object.getErrorArguments().isEmpty());
+		Assertions.assertEquals(0, object.getErrorCodesNumber());
+		Assertions.assertFalse(object.hasErrorCode(1000));
+		object.removeErrorCodesAfterIndex(0);
+		Assertions.assertTrue(object.getErrorCodes().isEmpty());
+	}
+
+	@Test
+	void testPopulatedErrorCodes() {
+		BaseObject object = new BaseObject(new BoundingBox(0, 0, 0, 10, 10));
+		for (int errorCode = 1000; errorCode < 1005; errorCode++) {
+			object.addErrorCode(errorCode, Collections.singletonList(errorCode));
+		}
+		Assertions.assertEquals(5, object.getErrorCodesNumber());
+		Assertions.assertTrue(object.hasErrorCode(1004));
+		object.removeErrorCodesAfterIndex(2);
+		Assertions.assertEquals(Arrays.asList(1000, 1001), object.getErrorCodes());
+		Assertions.assertEquals(Arrays.asList(Collections.singletonList(1000), Collections.singletonList(1001)),
+		                        object.getErrorArguments());
+		Assertions.assertFalse(object.hasErrorCode(1004));
+		object.getErrorCodes().add(1005);
+		object.getErrorArguments().add(Collections.emptyList());
+		Assertions.assertTrue(object.hasErrorCode(1005));
+		object.removeErrorCodesAfterIndex(5);
+		Assertions.assertEquals(3, object.getErrorCodesNumber());
+	}
+
+	@Test
+	void testGivenErrorCodes() {
+		List<Integer> errorCodes = new LinkedList<>();
+		List<List<Object>> errorArguments = new LinkedList<>();
+		BaseObject object = new BaseObject(new BoundingBox(), errorCodes, errorArguments);
+		object.addErrorCode(1000, Collections.emptyList());
+		object.addErrorCode(1001, Collections.emptyList());
+		Assertions.assertEquals(Arrays.asList(1000, 1001), errorCodes);
+		Assertions.assertEquals(2, errorArguments.size());
+		object.removeErrorCodesAfterIndex(1);
+		Assertions.assertEquals(Collections.singletonList(1000), errorCodes);
+		Assertions.assertEquals(1, errorArguments.size());
+
+		errorCodes = new ArrayList<>(Collections.singletonList(1000));
+		object = new BaseObject(new BoundingBox(), errorCodes, null);
+		object.addErrorCode(1001, Collections.singletonList(1));
+		Assertions.assertEquals(Arrays.asList(1000, 1001), errorCodes);
+		Assertions.assertEquals(Arrays.asList(Collections.emptyList(), Collections.singletonList(1)),
+		                        object.getErrorArguments());
+
+		errorArguments = new ArrayList<>();
+		object = new BaseObject(new BoundingBox(), null, errorArguments);
+		object.addErrorCode(1000, Collections.singletonList(1));
+		Assertions.assertEquals(Collections.singletonList(1000), object.getErrorCodes());
+		Assertions.assertEquals(Collections.singletonList(Collections.singletonList(1)), errorArguments);
+	}
+
+	private static Object getField(BaseObject object, String name) throws ReflectiveOperationException {
+		Field field = BaseObject.class.getDeclaredField(name);
+		field.setAccessible(true);
+		return field.get(object);
+	}
+}
@@ -0,0 +1,72 @@
+package org.verapdf.wcag.algorithms.entities;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.verapdf.wcag.algorithms.entities.geometry.BoundingBox;
+import org.verapdf.wcag.algorithms.entities.geometry.MultiBoundingBox;
+
+public class BoundingBoxTests {
+
+    @Test
+    public void testPageNumbers() {
+        BoundingBox empty = new BoundingBox();
+        Assertions.assertNull(empty.getPageNumber());
+        Assertions.assertNull(empty.getLastPageNumber());
+        Assertions.assertTrue(empty.isEmpty());
+
+        BoundingBox box = new BoundingBox(5000, 0, 0, 10, 10);
+        Assertions.assertEquals(5000, box.getPageNumber());
+        Assertions.assertTrue(box.isOnePageBoundingBox());
+        empty.union(box);
+        Assertions.assertEquals(box.hashCode(), empty.hashCode());
+
+        box.union(new BoundingBox(5001, 0, 0, 10, 10));
+        Assertions.assertEquals(5001, box.getLastPageNumber());
+        Assertions.assertTrue(box.isSeveralPagesBoundingBox());
+        Assertions.assertNull(box.getRightX(4999));
+
+        box.setLastPageNumber(null);
+        Assertions.assertNull(box.getLastPageNumber());
+        Assertions.assertNotEquals(box.hashCode(), empty.hashCode());
+    }
+
+    @Test
+    public void testSubclassPageNumbers() {
+        PageBoundingBox box = new PageBoundingBox(3, 0, 0, 10, 10);
+        Assertions.assertEquals(3, box.getPageNumber());
+        Assertions.assertTrue(box.overlaps(new BoundingBox(3, 5, 5, 15, 15)));
+
+        box.setPageNumbers(4000, 4000);
+        Assertions.assertEquals(4000, box.getPageNumberValue());
+        Assertions.assertFalse(box.overlaps(new BoundingBox(3, 5, 5, 15, 15)));
+        Assertions.assertTrue(box.overlaps(new BoundingBox(4000, 5, 5, 15, 15)));
+
+        box.union(new BoundingBox(4001, 0, 0, 10, 10));
+        Assertions.assertEquals(4001, box.getLastPageNumber());
+
+        box.setPageNumbers(BoundingBox.NO_PAGE_NUMBER, BoundingBox.NO_PAGE_NUMBER);
+        Assertions.assertNull(box.getPageNumber());
+        Assertions.assertTrue(box.isEmpty());
+
+        MultiBoundingBox multiBox = new MultiBoundingBox(2, 3, 0, 0, 10, 10);
+        Assertions.assertEquals(2, multiBox.getPageNumber());
+        Assertions.assertEquals(3, multiBox.getLastPageNumber());
+        Assertions.assertTrue(multiBox.isSeveralPagesBoundingBox());
+    }
+
+    /**
+     * Subclass setting the page numbers through the primitive setter.
+     */
+    private static class PageBoundingBox extends BoundingBox {
+
+        PageBoundingBox(int pageNumber, double left, double bottom, double right, double top) {
+            super(left, bottom, right, top);
+            setPageNumbers(pageNumber, pageNumber);
+        }
+
+        @Override
+        public void setPageNumbers(int pageNumber, int lastPageNumber) {
+            super.setPageNumbers(pageNumber, lastPageNumber);
+        }
+    }
+}
@@ -86,6 +86,93 @@ class DFSTreeNodeIteratorTests {
         Assertions.assertEquals(expectedList, actualList);
     }
 
+    @Test
+    public void testPreOrderWithNormalTree() {
+        int[] expectedArray = {0, 1, 4, 2, 5, 6, 8, 9, 12, 13, 3, 7, 10, 14, 11};
+        ITree tree = new SemanticTree(createNormalTree());
+        List<Integer> actualList = new ArrayList<>();
+        for (INode iNode : tree.preOrder()) {
+            actualList.add(iNode.getPageNumber());
+        }
+        Assertions.assertEquals(toList(expectedArray), actualList);
+    }
+
+    @Test
+    public void testVisitorWithNormalTree() {
+        ITree tree = new SemanticTree(createNormalTree());
+        List<Integer> entered = new ArrayList<>();
+        List<Integer> exited = new ArrayList<>();
+        List<Integer> depths = new ArrayList<>();
+        tree.accept(new ITreeNodeVisitor() {
+            @Override
+            public boolean enter(INode node, int depth) {
+                entered.add(node.getPageNumber());
+                depths.add(depth);
+                return node.getPageNumber() != 9;
+            }
+
+            @Override
+            public void exit(INode node, int depth) {
+                exited.add(node.getPageNumber());
+            }
+        });
+        Assertions.assertEquals(toList(new int[]{0, 1, 4, 2, 5, 6, 8, 9, 3, 7, 10, 14, 11}), entered);
+        Assertions.assertEquals(toList(new int[]{0, 1, 2, 1, 2, 2, 3, 3, 1, 2, 3, 4, 3}), depths);
+        Assertions.assertEquals(toList(new int[]{4, 1, 5, 8, 9, 6, 2, 14, 10, 11, 7, 3, 0}), exited);
+    }
+
+    @Test
+    public void testWithDeepTree() {
+        int depth = 100000;
+        INode root = new SemanticParagraph(new BoundingBox(0));
+        INode node = root;
+        for (int i = 1; i < depth; ++i) {
+            INode child = new SemanticParagraph(new BoundingBox(0));
+            node.getChildren().add(child);
+            node = child;
+        }
+        ITree tree = new SemanticTree(root);
+        int postOrderNumber = 0;
+        INode first = null;
+        for (INode iNode : tree) {
+            if (first == null) {
+                first = iNode;
+            }
+            postOrderNumber++;
+        }
+        Assertions.assertEquals(depth, postOrderNumber);
+        Assertions.assertSame(node, first);
+        int preOrderNumber = 0;
+        for (INode iNode : tree.preOrder()) {
+            preOrderNumber++;
+        }
+        Assertions.assertEquals(depth, preOrderNumber);
+    }
+
+    private INode createNormalTree() {
+        List<INode> nodeList = new ArrayList<>(15);
+        for (int i = 0; i < 15; ++i) {
+            nodeList.add(new SemanticParagraph(new BoundingBox(i)));
+        }
+        nodeList.get(0).getChildren().addAll(nodeList.subList(1, 4));
+        nodeList.get(1).getChildren().add(nodeList.get(4));
+        nodeList.get(2).getChildren().addAll(nodeList.subList(5, 7));
+        nodeList.get(3).getChildren().add(nodeList.get(7));
+        nodeList.get(6).getChildren().addAll(nodeList.subList(8, 10));
+        nodeList.get(7).getChildren().addAll(nodeList.subList(10, 12));
+        nodeList.get(9).getChildren().addAll(nodeList.subList(12, 14));
+        nodeList.get(10).getChildren().add(nodeList.get(14));
+        return nodeList.get(0);
+    }
+
+    private static List<Integer> toList(int[] array) {
+        List<Integer> list = new ArrayList<>(array.length);
+        for (int number : array) {
+            list.add(number);
+        }
+        return list;
+    }
+
     private List<INode> getDFSResult(INode root) {
         List<INode> result = new ArrayList<>();
         Set<INode> visited = new HashSet<>();
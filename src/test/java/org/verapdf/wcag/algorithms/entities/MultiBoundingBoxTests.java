@@ -0,0 +1,39 @@
+package org.verapdf.wcag.algorithms.entities;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.verapdf.wcag.algorithms.entities.geometry.BoundingBox;
+import org.verapdf.wcag.algorithms.entities.geometry.MultiBoundingBox;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class MultiBoundingBoxTests {
+
+    @Test
+    public void testUnionKeepsBoundingBoxesInOrder() {
+        MultiBoundingBox first = new MultiBoundingBox(new BoundingBox(0, 0, 0, 10, 10));
+        MultiBoundingBox second = new MultiBoundingBox(new BoundingBox(1, 20, 20, 30, 30));
+        second.union(new BoundingBox(1, 40, 40, 50, 50));
+        MultiBoundingBox parent = new MultiBoundingBox(first);
+        parent.union(second);
+        parent.union(new BoundingBox(2, 60, 60, 70, 70));
+
+        List<Double> leftXs = new ArrayList<>();
+        for (BoundingBox boundingBox : parent.getBoundingBoxes()) {
+            leftXs.add(boundingBox.getLeftX());
+        }
+        Assertions.assertEquals(4, parent.getBoundingBoxes().size());
+        Assertions.assertEquals(Arrays.asList(0.0, 20.0, 40.0, 60.0), leftXs);
+        Assertions.assertEquals(40.0, parent.getBoundingBoxes().get(2).getLeftX());
+        Assertions.assertEquals(0, parent.getPageNumber());
+        Assertions.assertEquals(2, parent.getLastPageNumber());
+        Assertions.assertEquals(Double.valueOf(50.0), parent.getRightX(1));
+
+        Assertions.assertEquals(1, first.getBoundingBoxes().size());
+        Assertions.assertEquals(2, second.getBoundingBoxes().size());
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> parent.getBoundingBoxes().add(new BoundingBox()));
+    }
+}
@@ -0,0 +1,324 @@
+package org.verapdf.wcag.algorithms.entities;
+
+import org.verapdf.wcag.algorithms.entities.content.LineChunk;
+import org.verapdf.wcag.algorithms.entities.content.TextChunk;
+import org.verapdf.wcag.algorithms.entities.enums.SemanticType;
+import org.verapdf.wcag.algorithms.entities.geometry.BoundingBox;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.listLabelsDetection.RomanNumber;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds synthetic documents of arbitrary size for stress tests and benchmarks. The same seed and settings
+ * always produce the same document.
+ * <p>
+ * If table of contents is enabled, the first page holds it and its items link to the headings on the other pages.
+ * Every other page starts with a heading followed by paragraphs, bordered tables (with border lines
+ * as page artifacts), borderless tables and lists, nested into the configured number of grouping nodes.
+ */
+public class SyntheticDocumentGenerator {
+
+	public static final double PAGE_WIDTH = 612;
+	public static final double PAGE_HEIGHT = 792;
+
+	private static final double MARGIN = 72;
+	private static final double FONT_SIZE = 10;
+	private static final double HEADING_FONT_SIZE = 16;
+	private static final double LINE_HEIGHT = 1.2 * FONT_SIZE;
+	private static final double BLOCK_GAP = 2 * LINE_HEIGHT;
+	private static final double CHARACTER_WIDTH = 0.5 * FONT_SIZE;
+	private static final double LIST_LABEL_WIDTH = 24;
+	private static final double TABLE_BORDER_WIDTH = 1;
+	private static final double[] TEXT_COLOR = {0, 0, 0};
+	private static final String FONT_NAME = "Synthetic-Regular";
+	private static final String BOLD_FONT_NAME = "Synthetic-Bold";
+	private static final String LINK = "Link";
+
+	private static final String[] WORDS = {"lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing",
+			"elit", "sed", "do", "eiusmod", "tempor", "incididunt", "ut", "labore", "et", "dolore", "magna", "aliqua",
+			"enim", "ad", "minim", "veniam", "quis", "nostrud", "exercitation", "ullamco", "laboris", "nisi",
+			"aliquip", "ex", "ea", "commodo", "consequat"};
+	private static final char[] KOREAN_LETTERS = {'가', '나', '다', '라', '마', '바', '사', '아', '자', '차',
+			'카', '타', '파', '하'};
+
+	public enum ListLabelStyle {
+		BULLET,
+		ARABIC_NUMBERS,
+		UPPER_CASE_ROMAN_NUMBERS,
+		LOWER_CASE_ROMAN_NUMBERS,
+		UPPER_CASE_LETTERS,
+		LOWER_CASE_LETTERS,
+		CIRCLED_ARABIC_NUMBERS,
+		KOREAN_LETTERS
+	}
+
+	private final long seed;
+	private int pagesNumber = 10;
+	private double paragraphDensity = 0.6;
+	private double borderedTablesDensity = 0.1;
+	private double borderlessTablesDensity = 0.1;
+	private double listsDensity = 0.2;
+	private int depth = 1;
+	private boolean tableOfContents = true;
+
+	private Random random;
+	private int objectKeyNumber;
+
+	public SyntheticDocumentGenerator(long seed) {
+		this.seed = seed;
+	}
+
+	public void setPagesNumber(int pagesNumber) {
+		this.pagesNumber = pagesNumber;
+	}
+
+	/**
+	 * Relative frequencies of the content blocks. Each block after the page heading is chosen randomly
+	 * in proportion to them.
+	 */
+	public void setDensities(double paragraphDensity, double borderedTablesDensity, double borderlessTablesDensity,
+	                         double listsDensity) {
+		this.paragraphDensity = paragraphDensity;
+		this.borderedTablesDensity = borderedTablesDensity;
+		this.borderlessTablesDensity = borderlessTablesDensity;
+		this.listsDensity = listsDensity;
+	}
+
+	/**
+	 * @param depth number of grouping nodes between the document node and the page content
+	 */
+	public void setDepth(int depth) {
+		this.depth = depth;
+	}
+
+	public void setTableOfContents(boolean tableOfContents) {
+		this.tableOfContents = tableOfContents;
+	}
+
+	public IDocument generate() {
+		random = new Random(seed);
+		objectKeyNumber = 1;
+		INode documentNode = new SemanticNode(SemanticType.DOCUMENT, nextObjectKeyNumber());
+		INode root = new SemanticNode();
+		root.getChildren().add(documentNode);
+		Document document = new Document(new SemanticTree(root));
+		int firstContentPage = tableOfContents && pagesNumber > 1 ? 1 : 0;
+		INode tocNode = firstContentPage == 1 ? new SemanticNode(SemanticType.TABLE_OF_CONTENT, nextObjectKeyNumber()) : null;
+		if (tocNode != null) {
+			document.getPages().add(new Page(0, null));
+			documentNode.getChildren().add(tocNode);
+		}
+		List<INode> headings = new ArrayList<>();
+		for (int pageNumber = firstContentPage; pageNumber < pagesNumber; pageNumber++) {
+			Page page = new Page(pageNumber, null);
+			document.getPages().add(page);
+			INode parent = documentNode;
+			for (int i = 0; i < depth; i++) {
+				INode part = new SemanticNode(i == 0 ? SemanticType.PART : SemanticType.DIV, nextObjectKeyNumber());
+				parent.getChildren().add(part);
+				parent = part;
+			}
+			headings.add(generatePage(page, parent));
+		}
+		if (tocNode != null) {
+			generateTableOfContents(tocNode, headings);
+		}
+		return document;
+	}
+
+	private INode generatePage(Page page, INode parent) {
+		int pageNumber = page.getPageNumber();
+		double top = PAGE_HEIGHT - MARGIN;
+		INode heading = new SemanticNode(SemanticType.HEADING, nextObjectKeyNumber());
+		heading.getChildren().add(createSpan(pageNumber, MARGIN, top - HEADING_FONT_SIZE, "Section " + (pageNumber + 1),
+				BOLD_FONT_NAME, HEADING_FONT_SIZE));
+		parent.getChildren().add(heading);
+		top -= HEADING_FONT_SIZE + BLOCK_GAP;
+		double densitiesSum = paragraphDensity + borderedTablesDensity + borderlessTablesDensity + listsDensity;
+		while (densitiesSum > 0) {
+			double block = random.nextDouble() * densitiesSum;
+			double bottom;
+			if ((block -= paragraphDensity) < 0) {
+				bottom = generateParagraph(pageNumber, parent, top);
+			} else if ((block -= borderedTablesDensity) < 0) {
+				bottom = generateTable(page, parent, top, true);
+			} else if ((block -= borderlessTablesDensity) < 0) {
+				bottom = generateTable(page, parent, top, false);
+			} else {
+				bottom = generateList(pageNumber, parent, top);
+			}
+			if (bottom < 0) {
+				break;
+			}
+			top = bottom - BLOCK_GAP;
+		}
+		return heading;
+	}
+
+	private double generateParagraph(int pageNumber, INode parent, double top) {
+		int linesNumber = 2 + random.nextInt(6);
+		if (top - linesNumber * LINE_HEIGHT < MARGIN) {
+			return -1;
+		}
+		INode paragraph = new SemanticNode(SemanticType.PARAGRAPH, nextObjectKeyNumber());
+		for (int i = 0; i < linesNumber; i++) {
+			top -= LINE_HEIGHT;
+			double width = i == linesNumber - 1 ? (PAGE_WIDTH - 2 * MARGIN) / 2 : PAGE_WIDTH - 2 * MARGIN;
+			paragraph.getChildren().add(createSpan(pageNumber, MARGIN, top, generateText(width), FONT_NAME, FONT_SIZE));
+		}
+		parent.getChildren().add(paragraph);
+		return top;
+	}
+
+	private double generateTable(Page page, INode parent, double top, boolean bordered) {
+		int pageNumber = page.getPageNumber();
+		int rowsNumber = 2 + random.nextInt(6);
+		int columnsNumber = 2 + random.nextInt(4);
+		double rowHeight = 2 * LINE_HEIGHT;
+		double columnWidth = (PAGE_WIDTH - 2 * MARGIN) / columnsNumber;
+		if (top - rowsNumber * rowHeight < MARGIN) {
+			return -1;
+		}
+		INode table = new SemanticNode(SemanticType.TABLE, nextObjectKeyNumber());
+		for (int row = 0; row < rowsNumber; row++) {
+			INode tableRow = new SemanticNode(SemanticType.TABLE_ROW, nextObjectKeyNumber());
+			double baseLine = top - (row + 1) * rowHeight + 0.5 * (rowHeight - FONT_SIZE);
+			for (int column = 0; column < columnsNumber; column++) {
+				INode cell = new SemanticNode(row == 0 ? SemanticType.TABLE_HEADER : SemanticType.TABLE_CELL,
+						nextObjectKeyNumber());
+				cell.setAttributesDictionary(new AttributesDictionary());
+				double left = MARGIN + column * columnWidth + 0.5 * FONT_SIZE;
+				cell.getChildren().add(createSpan(pageNumber, left, baseLine, generateText(columnWidth - FONT_SIZE),
+						row == 0 ? BOLD_FONT_NAME : FONT_NAME, FONT_SIZE));
+				tableRow.getChildren().add(cell);
+			}
+			table.getChildren().add(tableRow);
+		}
+		parent.getChildren().add(table);
+		double bottom = top - rowsNumber * rowHeight;
+		if (bordered) {
+			double right = MARGIN + columnsNumber * columnWidth;
+			for (int row = 0; row <= rowsNumber; row++) {
+				double y = top - row * rowHeight;
+				page.getArtifacts().add(new LineChunk(pageNumber, MARGIN, y, right, y, TABLE_BORDER_WIDTH));
+			}
+			for (int column = 0; column <= columnsNumber; column++) {
+				double x = MARGIN + column * columnWidth;
+				page.getArtifacts().add(new LineChunk(pageNumber, x, bottom, x, top, TABLE_BORDER_WIDTH));
+			}
+		}
+		return bottom;
+	}
+
+	private double generateList(int pageNumber, INode parent, double top) {
+		int itemsNumber = 2 + random.nextInt(8);
+		if (top - itemsNumber * LINE_HEIGHT < MARGIN) {
+			return -1;
+		}
+		ListLabelStyle style = ListLabelStyle.values()[random.nextInt(ListLabelStyle.values().length)];
+		INode list = new SemanticNode(SemanticType.LIST, nextObjectKeyNumber());
+		for (int i = 0; i < itemsNumber; i++) {
+			top -= LINE_HEIGHT;
+			INode label = new SemanticNode(SemanticType.LIST_LABEL, nextObjectKeyNumber());
+			label.getChildren().add(createSpan(pageNumber, MARGIN, top, getListLabel(style, i + 1), FONT_NAME, FONT_SIZE));
+			INode body = new SemanticNode(SemanticType.LIST_BODY, nextObjectKeyNumber());
+			double left = MARGIN + LIST_LABEL_WIDTH;
+			body.getChildren().add(createSpan(pageNumber, left, top, generateText(PAGE_WIDTH - MARGIN - left),
+					FONT_NAME, FONT_SIZE));
+			INode item = new SemanticNode(SemanticType.LIST_ITEM, nextObjectKeyNumber());
+			item.getChildren().add(label);
+			item.getChildren().add(body);
+			list.getChildren().add(item);
+		}
+		parent.getChildren().add(list);
+		return top;
+	}
+
+	private void generateTableOfContents(INode tocNode, List<INode> headings) {
+		double top = PAGE_HEIGHT - MARGIN;
+		for (INode heading : headings) {
+			top -= LINE_HEIGHT;
+			if (top < MARGIN) {
+				break;
+			}
+			SemanticTextNode headingText = (SemanticTextNode) heading.getChildren().get(0);
+			int destinationPageNumber = headingText.getPageNumber();
+			String title = headingText.getValue();
+			String pageLabel = String.valueOf(destinationPageNumber + 1);
+			double pageLabelLeft = PAGE_WIDTH - MARGIN - pageLabel.length() * CHARACTER_WIDTH;
+			double titleRight = MARGIN + title.length() * CHARACTER_WIDTH;
+			int dotsNumber = Math.max(0, (int) ((pageLabelLeft - titleRight) / CHARACTER_WIDTH) - 1);
+			INode link = new SemanticNode(SemanticType.LINK, nextObjectKeyNumber());
+			link.getChildren().add(createSpan(0, MARGIN, top, title, FONT_NAME, FONT_SIZE));
+			link.getChildren().add(createSpan(0, titleRight, top, " " + repeat('.', dotsNumber) + pageLabel,
+					FONT_NAME, FONT_SIZE));
+			link.getChildren().add(new SemanticAnnot(new AnnotationNode(LINK, new BoundingBox(0, MARGIN,
+					top - 0.25 * FONT_SIZE, PAGE_WIDTH - MARGIN, top + FONT_SIZE), destinationPageNumber,
+					heading.getObjectKeyNumber())));
+			INode tocItem = new SemanticNode(SemanticType.TABLE_OF_CONTENT_ITEM, nextObjectKeyNumber());
+			tocItem.getChildren().add(link);
+			tocNode.getChildren().add(tocItem);
+		}
+	}
+
+	private SemanticSpan createSpan(int pageNumber, double left, double baseLine, String value, String fontName,
+	                                double fontSize) {
+		double characterWidth = CHARACTER_WIDTH * fontSize / FONT_SIZE;
+		List<Double> symbolEnds = new ArrayList<>(value.length() + 1);
+		for (int i = 0; i <= value.length(); i++) {
+			symbolEnds.add(left + i * characterWidth);
+		}
+		BoundingBox boundingBox = new BoundingBox(pageNumber, left, baseLine - 0.25 * fontSize,
+				left + value.length() * characterWidth, baseLine + 0.75 * fontSize);
+		return new SemanticSpan(new TextChunk(boundingBox, value, fontName, fontSize,
+				BOLD_FONT_NAME.equals(fontName) ? 700 : 400, 0, baseLine, TEXT_COLOR, symbolEnds, 0));
+	}
+
+	private String generateText(double width) {
+		int maxLength = (int) (width / CHARACTER_WIDTH);
+		StringBuilder text = new StringBuilder(WORDS[random.nextInt(WORDS.length)]);
+		while (true) {
+			String word = WORDS[random.nextInt(WORDS.length)];
+			if (text.length() + word.length() + 1 > maxLength) {
+				break;
+			}
+			text.append(' ').append(word);
+		}
+		return text.toString();
+	}
+
+	private static String getListLabel(ListLabelStyle style, int number) {
+		switch (style) {
+			case ARABIC_NUMBERS:
+				return number + ".";
+			case UPPER_CASE_ROMAN_NUMBERS:
+				return new RomanNumber(number) + ".";
+			case LOWER_CASE_ROMAN_NUMBERS:
+				return new RomanNumber(number).toString().toLowerCase() + ")";
+			case UPPER_CASE_LETTERS:
+				return (char) ('A' + number - 1) + ".";
+			case LOWER_CASE_LETTERS:
+				return (char) ('a' + number - 1) + ")";
+			case CIRCLED_ARABIC_NUMBERS:
+				return String.valueOf((char) ('①' + number - 1));
+			case KOREAN_LETTERS:
+				return KOREAN_LETTERS[number - 1] + ".";
+			default:
+				return "•";
+		}
+	}
+
+	private static String repeat(char symbol, int number) {
+		StringBuilder result = new StringBuilder(number);
+		for (int i = 0; i < number; i++) {
+			result.append(symbol);
+		}
+		return result.toString();
+	}
+
+	private int nextObjectKeyNumber() {
+		return objectKeyNumber++;
+	}
+}
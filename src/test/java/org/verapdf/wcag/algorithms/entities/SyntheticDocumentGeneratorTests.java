@@ -0,0 +1,65 @@
+package org.verapdf.wcag.algorithms.entities;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.verapdf.wcag.algorithms.entities.enums.SemanticType;
+import org.verapdf.wcag.algorithms.entities.tables.TableBorderBuilder;
+import org.verapdf.wcag.algorithms.semanticalgorithms.consumers.LinesPreprocessingConsumer;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.StaticContainers;
+
+import java.util.List;
+
+class SyntheticDocumentGeneratorTests {
+
+    @Test
+    public void testGenerationIsDeterministic() {
+        Assertions.assertEquals(describe(generate(7)), describe(generate(7)));
+        Assertions.assertNotEquals(describe(generate(7)), describe(generate(8)));
+    }
+
+    @Test
+    public void testBorderedTablesAreDetected() {
+        SyntheticDocumentGenerator generator = new SyntheticDocumentGenerator(3);
+        generator.setPagesNumber(5);
+        generator.setDensities(0, 1, 0, 0);
+        generator.setTableOfContents(false);
+        IDocument document = generator.generate();
+        int tablesNumber = 0;
+        for (INode node : document.getTree()) {
+            if (node.getInitialSemanticType() == SemanticType.TABLE) {
+                tablesNumber++;
+            }
+        }
+        StaticContainers.updateContainers(document);
+        int tableBordersNumber = 0;
+        for (List<TableBorderBuilder> pageTableBorders : new LinesPreprocessingConsumer().getTableBorders()) {
+            tableBordersNumber += pageTableBorders.size();
+        }
+        Assertions.assertTrue(tablesNumber > 0);
+        Assertions.assertEquals(tablesNumber, tableBordersNumber);
+    }
+
+    private static IDocument generate(long seed) {
+        SyntheticDocumentGenerator generator = new SyntheticDocumentGenerator(seed);
+        generator.setPagesNumber(30);
+        generator.setDepth(3);
+        return generator.generate();
+    }
+
+    private static String describe(IDocument document) {
+        StringBuilder description = new StringBuilder();
+        document.getTree().accept((node, depth) -> {
+            description.append(depth).append(' ').append(node.getInitialSemanticType());
+            if (node instanceof SemanticTextNode) {
+                description.append(' ').append(((SemanticTextNode) node).getValue())
+                           .append(' ').append(node.getBoundingBox());
+            }
+            description.append('\n');
+            return true;
+        });
+        for (IPage page : document.getPages()) {
+            description.append(page.getPageNumber()).append(' ').append(page.getArtifacts().size()).append('\n');
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,111 @@
+package org.verapdf.wcag.algorithms.entities;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.verapdf.wcag.algorithms.entities.content.LineChunk;
+import org.verapdf.wcag.algorithms.entities.geometry.BoundingBox;
+import org.verapdf.wcag.algorithms.entities.geometry.Vertex;
+import org.verapdf.wcag.algorithms.entities.tables.TableBorderBuilder;
+import org.verapdf.wcag.algorithms.entities.tables.TableBordersCollection;
+import org.verapdf.wcag.algorithms.entities.tables.tableBorders.TableBorder;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ValidationContext;
+
+import java.util.*;
+
+public class TableBordersCollectionTests {
+
+    private static final long SEED = 20211018L;
+
+    @Test
+    void testLookupMatchesLinearScan() {
+        Random random = new Random(SEED);
+        List<TableBorderBuilder> builders = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            for (int j = 0; j < 6; j++) {
+                builders.add(createBuilder(10 + 90 * i + random.nextInt(20), 10 + 120 * j + random.nextInt(20),
+                        20 + random.nextInt(60), 20 + random.nextInt(80)));
+            }
+        }
+        TableBordersCollection collection = createCollection(builders);
+        SortedSet<TableBorder> borders = collection.getTableBorders(0);
+        Assertions.assertEquals(builders.size(), borders.size());
+        for (int i = 0; i < 1000; i++) {
+            double x = random.nextInt(600);
+            double y = random.nextInt(800);
+            BoundingBox box = new BoundingBox(0, x, y, x + random.nextInt(30), y + random.nextInt(30));
+            Assertions.assertSame(findLinear(borders, box), collection.getTableBorder(box));
+        }
+    }
+
+    @Test
+    void testInvalidate() {
+        TableBordersCollection collection = createCollection(Arrays.asList(createBuilder(0, 0, 50, 50),
+                createBuilder(100, 0, 50, 50)));
+        SortedSet<TableBorder> borders = collection.getTableBorders(0);
+        TableBorder first = borders.first();
+        TableBorder second = borders.last();
+        BoundingBox firstBox = new BoundingBox(0, 10, 10, 20, 20);
+        BoundingBox secondBox = new BoundingBox(0, 110, 10, 120, 20);
+        BoundingBox thirdBox = new BoundingBox(0, 210, 10, 220, 20);
+        Assertions.assertSame(first, collection.getTableBorder(firstBox));
+        Assertions.assertNull(collection.getTableBorder(thirdBox));
+
+        TableBorder third = createCollection(Collections.singletonList(createBuilder(200, 0, 50, 50)))
+                .getTableBorders(0).first();
+        borders.remove(first);
+        borders.add(third);
+        collection.invalidate();
+        Assertions.assertEquals(2, borders.size());
+        Assertions.assertNull(collection.getTableBorder(firstBox));
+        Assertions.assertSame(second, collection.getTableBorder(secondBox));
+        Assertions.assertSame(third, collection.getTableBorder(thirdBox));
+
+        borders.headSet(third).clear();
+        collection.invalidate();
+        Assertions.assertNull(collection.getTableBorder(secondBox));
+        Assertions.assertSame(third, collection.getTableBorder(thirdBox));
+
+        collection.getTableBorders().add(new TreeSet<>(new TableBorder.TableBordersComparator()));
+        collection.invalidate();
+        Assertions.assertEquals(2, collection.getTableBorders().size());
+        Assertions.assertNull(collection.getTableBorder(new BoundingBox(1, 210, 10, 220, 20)));
+    }
+
+    private static TableBorder findLinear(SortedSet<TableBorder> borders, BoundingBox box) {
+        for (TableBorder border : borders) {
+            if (border.getBoundingBox().contains(box, TableBorder.TABLE_BORDER_EPSILON, TableBorder.TABLE_BORDER_EPSILON)) {
+                return border;
+            }
+        }
+        return null;
+    }
+
+    private static TableBordersCollection createCollection(List<TableBorderBuilder> builders) {
+        return new TableBordersCollection(Collections.singletonList(new ArrayList<>(builders)), new ValidationContext());
+    }
+
+    private static TableBorderBuilder createBuilder(double x, double y, double width, double height) {
+        List<LineChunk> horizontalLines = new ArrayList<>();
+        List<LineChunk> verticalLines = new ArrayList<>();
+        for (int i = 0; i <= 2; i++) {
+            horizontalLines.add(new LineChunk(0, x, y + i * height / 2, x + width, y + i * height / 2, 1.0));
+            verticalLines.add(new LineChunk(0, x + i * width / 2, y, x + i * width / 2, y + height, 1.0));
+        }
+        TableBorderBuilder builder = new TableBorderBuilder(horizontalLines.get(0));
+        for (LineChunk line : horizontalLines.subList(1, horizontalLines.size())) {
+            builder.addLine(line);
+        }
+        for (LineChunk line : verticalLines) {
+            builder.addLine(line);
+        }
+        for (LineChunk horizontalLine : horizontalLines) {
+            for (LineChunk verticalLine : verticalLines) {
+                Vertex vertex = LineChunk.getIntersectionVertex(horizontalLine, verticalLine);
+                if (vertex != null) {
+                    builder.addVertex(vertex);
+                }
+            }
+        }
+        return builder;
+    }
+}
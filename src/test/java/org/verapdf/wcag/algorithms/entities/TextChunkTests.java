@@ -0,0 +1,29 @@
+package org.verapdf.wcag.algorithms.entities;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.verapdf.wcag.algorithms.entities.content.TextChunk;
+import org.verapdf.wcag.algorithms.entities.geometry.BoundingBox;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.TextChunkUtils;
+
+import java.util.Arrays;
+
+public class TextChunkTests {
+
+	@Test
+	public void testUnionSymbolEnds() {
+		TextChunk first = new TextChunk(new BoundingBox(0, 0, 0, 20, 10), "ab", "font", 10, 400, 0, 0,
+		                                new double[]{0}, Arrays.asList(0.0, 5.0, 20.0), 0);
+		TextChunk second = new TextChunk(new BoundingBox(0, 20, 0, 30, 10), "c", "font", 10, 400, 0, 0,
+		                                 new double[]{0}, Arrays.asList(20.0, 30.0), 0);
+		TextChunk union = TextChunkUtils.unionTextChunks(first, second);
+		Assertions.assertEquals(Arrays.asList(0.0, 5.0, 20.0, 30.0), union.getSymbolEnds());
+		Assertions.assertEquals(4, union.getSymbolEndsNumber());
+		Assertions.assertEquals(Double.valueOf(10.0), union.getSymbolWidth(2));
+		Assertions.assertNull(union.getSymbolWidth(3));
+		Assertions.assertEquals(3, first.getSymbolEndsNumber());
+
+		union.getSymbolEnds().add(40.0);
+		Assertions.assertEquals(40.0, union.getSymbolEnd(4));
+	}
+}
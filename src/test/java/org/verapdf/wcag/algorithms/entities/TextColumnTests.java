@@ -0,0 +1,104 @@
+package org.verapdf.wcag.algorithms.entities;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.verapdf.wcag.algorithms.entities.content.TextBlock;
+import org.verapdf.wcag.algorithms.entities.content.TextChunk;
+import org.verapdf.wcag.algorithms.entities.content.TextColumn;
+import org.verapdf.wcag.algorithms.entities.content.TextLine;
+import org.verapdf.wcag.algorithms.entities.geometry.BoundingBox;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class TextColumnTests {
+
+	@Test
+	void testLinesOfSeveralBlocks() {
+		List<TextLine> lines = new ArrayList<>();
+		TextColumn column = new TextColumn();
+		for (int blockIndex = 0; blockIndex < 4; blockIndex++) {
+			TextBlock block = new TextBlock();
+			for (int lineIndex = 0; lineIndex < blockIndex; lineIndex++) {
+				TextLine line = createLine(lines.size());
+				block.add(line);
+				lines.add(line);
+			}
+			column.getBlocks().add(block);
+		}
+		List<TextLine> columnLines = column.getLines();
+		Assertions.assertEquals(lines.size(), columnLines.size());
+		for (int i = 0; i < lines.size(); i++) {
+			Assertions.assertSame(lines.get(i), columnLines.get(i));
+		}
+		Assertions.assertEquals(lines, toList(column.getTextLines()));
+		columnLines.add(createLine(lines.size()));
+		Assertions.assertEquals(lines, column.getLines());
+
+		TextLine line = createLine(lines.size());
+		column.getLastTextBlock().add(line);
+		lines.add(line);
+		Assertions.assertEquals(lines, column.getLines());
+		Assertions.assertEquals(lines, toList(column.getTextLines()));
+	}
+
+	@Test
+	void testEmptyLines() {
+		TextColumn column = new TextColumn();
+		Assertions.assertTrue(column.getLines().isEmpty());
+		Assertions.assertFalse(column.getTextLines().iterator().hasNext());
+		column.getBlocks().add(new TextBlock());
+		column.getBlocks().add(new TextBlock());
+		Assertions.assertTrue(column.getLines().isEmpty());
+		Assertions.assertFalse(column.getTextLines().iterator().hasNext());
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> column.getLines().get(0));
+	}
+
+	@Test
+	void testTextChunksOfSeveralBlocks() {
+		List<TextChunk> chunks = new ArrayList<>();
+		List<TextColumn> columns = new ArrayList<>();
+		for (int columnIndex = 0; columnIndex < 3; columnIndex++) {
+			TextColumn column = new TextColumn();
+			column.getBlocks().add(new TextBlock());
+			for (int blockIndex = 0; blockIndex < 2; blockIndex++) {
+				TextBlock block = new TextBlock();
+				block.add(new TextLine());
+				for (int lineIndex = 0; lineIndex <= columnIndex; lineIndex++) {
+					TextLine line = createLine(chunks.size());
+					line.add(createChunk(chunks.size() + 1));
+					block.add(line);
+					chunks.addAll(line.getTextChunks());
+				}
+				column.getBlocks().add(block);
+			}
+			columns.add(column);
+		}
+		SemanticTextNode textNode = new SemanticTextNode(new BoundingBox(0), columns);
+		Assertions.assertEquals(chunks, toList(textNode.getTextChunks()));
+
+		SemanticTextNode emptyNode = new SemanticTextNode(new BoundingBox(0),
+		                                                  Arrays.asList(new TextColumn(), columns.get(0)));
+		columns.get(0).getBlocks().clear();
+		Assertions.assertEquals(Collections.emptyList(), toList(emptyNode.getTextChunks()));
+		Assertions.assertFalse(new SemanticTextNode().getTextChunks().iterator().hasNext());
+	}
+
+	private static <T> List<T> toList(Iterable<T> iterable) {
+		List<T> list = new ArrayList<>();
+		for (T element : iterable) {
+			list.add(element);
+		}
+		return list;
+	}
+
+	private static TextLine createLine(int index) {
+		return new TextLine(createChunk(index));
+	}
+
+	private static TextChunk createChunk(int index) {
+		return new TextChunk(new BoundingBox(0, 10 * index, 0, 10 * index + 5, 10), "chunk" + index, 10, 0);
+	}
+}
@@ -1,6 +1,7 @@
 package org.verapdf.wcag.algorithms.semanticalgorithms;
 
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -11,10 +12,19 @@ import org.verapdf.wcag.algorithms.entities.JsonToPdfTree;
 import org.verapdf.wcag.algorithms.entities.enums.SemanticType;
 import org.verapdf.wcag.algorithms.entities.maps.SemanticTypeMapper;
 import org.verapdf.wcag.algorithms.semanticalgorithms.consumers.AccumulatedNodeConsumer;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ValidationContext;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.WCAGProgressStatus;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.WCAGStageMetrics;
+
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.StaticContainers;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Stream;
 
 class AccumulatedNodeSemanticsCheckerTests {
@@ -132,6 +142,84 @@ class AccumulatedNodeSemanticsCheckerTests {
 		testTreeStructure(tree);
 	}
 
+	@Test
+	void testStageMetrics() throws IOException {
+		ValidationContext context = new ValidationContext(JsonToPdfTree.getDocument("/files/paragraphs/lwg_footnote.json"));
+		List<WCAGStageMetrics> pushedMetrics = new ArrayList<>();
+		context.getWCAGValidationInfo().addStageMetricsListener(pushedMetrics::add);
+		new AccumulatedNodeSemanticChecker().checkSemanticDocument(context, null);
+		List<WCAGStageMetrics> stageMetrics = context.getWCAGValidationInfo().getStageMetrics();
+		Assertions.assertEquals(pushedMetrics, stageMetrics);
+		Assertions.assertEquals(10, stageMetrics.size());
+		Assertions.assertEquals(WCAGProgressStatus.LINES_PREPROCESSING, stageMetrics.get(0).getProgressStatus());
+		Assertions.assertEquals(WCAGProgressStatus.DOCUMENT_POSTPROCESSING, stageMetrics.get(9).getProgressStatus());
+		for (WCAGStageMetrics metrics : stageMetrics) {
+			Assertions.assertTrue(metrics.getWallTimeNanos() >= 0);
+		}
+		WCAGStageMetrics preprocessingMetrics = stageMetrics.get(1);
+		Assertions.assertEquals(WCAGProgressStatus.DOCUMENT_PREPROCESSING, preprocessingMetrics.getProgressStatus());
+		Assertions.assertTrue(preprocessingMetrics.getVisitedNodesNumber() > 0);
+		Assertions.assertEquals(context.getTextChunksNumber(), preprocessingMetrics.getCounters().get("textChunks"));
+	}
+
+	@Test
+	void testConcurrentDocuments() throws Exception {
+		String firstPath = "/files/tables/PDFUA-Ref-2-07_FormalDocument.json";
+		String secondPath = "/files/lists/PDFUA-Ref-2-06_Brochure.json";
+		String firstExpected = checkDocument(firstPath);
+		String secondExpected = checkDocument(secondPath);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			for (int i = 0; i < 4; i++) {
+				Future<String> first = executor.submit((Callable<String>) () -> checkDocument(firstPath));
+				Future<String> second = executor.submit((Callable<String>) () -> checkDocument(secondPath));
+				Assertions.assertEquals(firstExpected, first.get());
+				Assertions.assertEquals(secondExpected, second.get());
+			}
+			Assertions.assertFalse(executor.submit(StaticContainers::hasContext).get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void testUnboundContext() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Assertions.assertTrue(executor.submit(() -> StaticContainers.getWCAGValidationInfo() == null &&
+			                                            StaticContainers.getDocument() == null &&
+			                                            StaticContainers.getGroupCounter() == null &&
+			                                            !StaticContainers.hasContext()).get());
+			Assertions.assertTrue(executor.submit(() -> {
+				StaticContainers.setStructElementsNumber(5L);
+				return StaticContainers.hasContext() && StaticContainers.getStructElementsNumber() == 5L &&
+				       StaticContainers.getWCAGValidationInfo() != null;
+			}).get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void testSetDocumentRebuildsLines() throws IOException {
+		ValidationContext context = new ValidationContext();
+		IDocument document = JsonToPdfTree.getDocument("/files/tables/PDFUA-Ref-2-07_FormalDocument.json");
+		context.setDocument(document);
+		Assertions.assertSame(document, context.getDocument());
+		Assertions.assertFalse(context.getLinesCollection().getHorizontalLines(0).isEmpty());
+	}
+
+	private static String checkDocument(String jsonPdfPath) throws IOException {
+		ValidationContext context = new ValidationContext(JsonToPdfTree.getDocument(jsonPdfPath));
+		new AccumulatedNodeSemanticChecker().checkSemanticDocument(context, null);
+		StringBuilder result = new StringBuilder();
+		for (INode node : context.getDocument().getTree()) {
+			result.append(node.getSemanticType()).append(' ').append(node.getCorrectSemanticScore()).append(' ')
+			      .append(node.getErrorCodes()).append(' ').append(node.getRecognizedStructureId()).append('\n');
+		}
+		return result.toString();
+	}
+
 	private void testTreeStructure(ITree tree) {
 		for (INode node : tree) {
 			if (node.getInitialSemanticType() != null && SemanticTypeMapper.containsType(node.getInitialSemanticType())
@@ -0,0 +1,289 @@
+package org.verapdf.wcag.algorithms.semanticalgorithms;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.verapdf.wcag.algorithms.entities.content.TextChunk;
+import org.verapdf.wcag.algorithms.entities.geometry.BoundingBox;
+import org.verapdf.wcag.algorithms.semanticalgorithms.consumers.ContrastRatioConsumer;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ValidationContext;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.ColorHistogram;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.NodeUtils;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.PageRasterProvider;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.RenderedPage;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.*;
+import java.util.List;
+
+public class ColorHistogramTests {
+
+	private static final long SEED = 20211018L;
+	private static final int[] IMAGE_TYPES = {BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_INT_ARGB,
+	                                          BufferedImage.TYPE_3BYTE_BGR};
+	private static final double LUMINOSITY_DIFFERENCE = 0.001;
+
+	@Test
+	void testRegionsAgainstReference() {
+		Random random = new Random(SEED);
+		ColorHistogram histogram = new ColorHistogram();
+		for (int i = 0; i < 300; i++) {
+			BufferedImage image = generateImage(random, IMAGE_TYPES[i % IMAGE_TYPES.length], 40, 30);
+			if (random.nextBoolean()) {
+				image = image.getSubimage(random.nextInt(10), random.nextInt(10), 30, 20);
+			}
+			int x = random.nextInt(image.getWidth());
+			int y = random.nextInt(image.getHeight());
+			int width = random.nextInt(image.getWidth() - x) + 1;
+			int height = random.nextInt(image.getHeight() - y) + 1;
+			histogram.compute(image, x, y, width, height);
+			Map<Color, DataPoint> expected = getImageColorMap(image.getSubimage(x, y, width, height));
+			Assertions.assertEquals(expected.size(), histogram.size(), "image " + i);
+			for (int index = 0; index < histogram.size(); index++) {
+				DataPoint dataPoint = expected.get(new Color(histogram.getColor(index)));
+				Assertions.assertNotNull(dataPoint);
+				Assertions.assertEquals(dataPoint.totalOccurrence, histogram.getCount(index), "image " + i);
+				Assertions.assertEquals(dataPoint.value, histogram.getRelativeLuminosity(index), "image " + i);
+			}
+		}
+		Assertions.assertThrows(IllegalArgumentException.class,
+		                        () -> histogram.compute(new BufferedImage(2, 2, BufferedImage.TYPE_INT_RGB), 1, 1, 2, 1));
+	}
+
+	@Test
+	void testContrastRatioAgainstReference() {
+		Random random = new Random(SEED);
+		ContrastRatioConsumer consumer = new ContrastRatioConsumer(new ValidationContext(), new PageRasterProvider() {
+			@Override
+			public RenderedPage getPage(int pageNumber, int dpi, Rectangle region) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public Dimension getPageSize(int pageNumber, int dpi) {
+				throw new UnsupportedOperationException();
+			}
+		});
+		for (int i = 0; i < 500; i++) {
+			int width = 2 * (2 + random.nextInt(15));
+			int height = 2 * (2 + random.nextInt(10));
+			BufferedImage image = generateImage(random, IMAGE_TYPES[i % IMAGE_TYPES.length], width, height);
+			TextChunk textChunk = new TextChunk(new BoundingBox(0, new double[]{0, 0, width / 2, height / 2}),
+			                                    "a", 8, 0);
+			int paletteColor = image.getRGB(random.nextInt(width), random.nextInt(height)) & 0xFFFFFF;
+			switch (random.nextInt(3)) {
+				case 0:
+					textChunk.setFontColor(new double[]{((paletteColor >> 16) & 0xFF) / 255.0,
+					                                    ((paletteColor >> 8) & 0xFF) / 255.0,
+					                                    (paletteColor & 0xFF) / 255.0});
+					break;
+				case 1:
+					textChunk.setFontColor(new double[]{random.nextDouble(), random.nextDouble(),
+					                                    random.nextDouble()});
+					break;
+				default:
+					break;
+			}
+			Color textColor = getTextColor(textChunk.getFontColor());
+			Map<Color, DataPoint> imageColorMap = getImageColorMap(image);
+			consumer.calculateContrastRation(textChunk, image);
+			Assertions.assertEquals(getContrastRatio(consumer, imageColorMap, textColor),
+			                        textChunk.getContrastRatio(), "image " + i);
+			if (textColor != null && hasUniqueTopFrequencies(imageColorMap)) {
+				Assertions.assertEquals(Arrays.toString(getBackgroundColor(imageColorMap, textColor)),
+				                        Arrays.toString(textChunk.getBackgroundColor()), "image " + i);
+			}
+		}
+	}
+
+	/**
+	 * @return image filled with a few colors of different luminosities, some of them more frequent than others
+	 */
+	private static BufferedImage generateImage(Random random, int type, int width, int height) {
+		int colorsNumber = 1 + random.nextInt(5);
+		List<Integer> palette = new ArrayList<>();
+		Set<Double> luminosities = new HashSet<>();
+		while (palette.size() < colorsNumber) {
+			int rgb = random.nextInt(0x1000000);
+			if (luminosities.add(relativeLuminosity(new Color(rgb)))) {
+				palette.add(rgb);
+			}
+		}
+		BufferedImage image = new BufferedImage(width, height, type);
+		for (int x = 0; x < width; x++) {
+			for (int y = 0; y < height; y++) {
+				int index = Math.min(random.nextInt(colorsNumber), random.nextInt(colorsNumber));
+				image.setRGB(x, y, 0xFF000000 | palette.get(index));
+			}
+		}
+		return image;
+	}
+
+	private static boolean hasUniqueTopFrequencies(Map<Color, DataPoint> colorMap) {
+		List<Integer> sortedOccurrences = new ArrayList<>();
+		for (DataPoint dataPoint : colorMap.values()) {
+			sortedOccurrences.add(dataPoint.totalOccurrence);
+		}
+		Collections.sort(sortedOccurrences, Collections.reverseOrder());
+		for (int i = 0; i < Math.min(2, sortedOccurrences.size() - 1); i++) {
+			if (sortedOccurrences.get(i).equals(sortedOccurrences.get(i + 1))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/*
+	 * Contrast ratio calculation as it was implemented before the color histogram:
+	 * colors are collected into a map and luminosities are sorted in a tree set.
+	 */
+
+	private static double getContrastRatio(ContrastRatioConsumer consumer, Map<Color, DataPoint> imageColorMap,
+	                                       Color textColor) {
+		double textLuminosity = 0;
+		double approximatedTextLuminosity = 0;
+		if (textColor != null) {
+			textLuminosity = relativeLuminosity(textColor);
+			approximatedTextLuminosity = textLuminosity;
+			double diff = 1.0;
+			for (DataPoint dp : new TreeSet<>(imageColorMap.values())) {
+				double luminosity = dp.value;
+				double currentDifference = Math.abs(luminosity - textLuminosity);
+				if (currentDifference <= diff) {
+					approximatedTextLuminosity = luminosity;
+					diff = currentDifference;
+				}
+			}
+		}
+
+		double[] contrastColors = get2MostPresentElements(new ArrayList<>(new TreeSet<>(imageColorMap.values())));
+		if (Math.abs(approximatedTextLuminosity - contrastColors[0]) <= LUMINOSITY_DIFFERENCE) {
+			if (contrastColors[1] == -1) {
+				if (textColor != null && Math.abs(contrastColors[0] - textLuminosity) > LUMINOSITY_DIFFERENCE) {
+					contrastColors[1] = textLuminosity;
+				} else {
+					return 1;
+				}
+			}
+			return consumer.getContrastRatio(approximatedTextLuminosity, contrastColors[1]);
+		} else if ((Math.abs(approximatedTextLuminosity - contrastColors[1]) <= LUMINOSITY_DIFFERENCE) ||
+		           textColor != null) {
+			return consumer.getContrastRatio(approximatedTextLuminosity, contrastColors[0]);
+		} else {
+			return consumer.getContrastRatio(contrastColors[0], contrastColors[1]);
+		}
+	}
+
+	private static double[] getBackgroundColor(Map<Color, DataPoint> colorMap, Color textColor) {
+		Color backgroundColor = null;
+		if (colorMap.size() == 1) {
+			Color color = colorMap.keySet().iterator().next();
+			if (!textColor.equals(color)) {
+				backgroundColor = color;
+			}
+		} else {
+			List<Integer> sortedOccurrences = new ArrayList<>();
+			for (DataPoint dataPoint : colorMap.values()) {
+				sortedOccurrences.add(dataPoint.totalOccurrence);
+			}
+			Collections.sort(sortedOccurrences);
+			int firstFrequency = sortedOccurrences.get(sortedOccurrences.size() - 1);
+			int secondFrequency = sortedOccurrences.get(sortedOccurrences.size() - 2);
+			Color firstColor = null;
+			Color secondColor = null;
+			for (Map.Entry<Color, DataPoint> entry : colorMap.entrySet()) {
+				if (firstColor == null && entry.getValue().totalOccurrence == firstFrequency) {
+					firstColor = entry.getKey();
+				}
+				if (secondColor == null && entry.getValue().totalOccurrence == secondFrequency) {
+					secondColor = entry.getKey();
+				}
+			}
+			if (firstColor != null && !NodeUtils.hasSimilarBackgroundColor(textColor, firstColor)) {
+				backgroundColor = firstColor;
+			} else if (secondColor != null && !NodeUtils.hasSimilarBackgroundColor(textColor, secondColor)) {
+				backgroundColor = secondColor;
+			}
+		}
+		if (backgroundColor == null) {
+			return null;
+		}
+		float[] components = backgroundColor.getColorComponents(null);
+		return new double[]{components[0], components[1], components[2]};
+	}
+
+	private static double[] get2MostPresentElements(List<DataPoint> source) {
+		double absoluteMaxPresent = -1;
+		double secondMaxPresent = -1;
+		int max = 0;
+		int secondMax = 0;
+		for (DataPoint dataPoint : source) {
+			if (dataPoint.totalOccurrence >= max) {
+				secondMaxPresent = absoluteMaxPresent;
+				secondMax = max;
+				absoluteMaxPresent = dataPoint.value;
+				max = dataPoint.totalOccurrence;
+			} else if (dataPoint.totalOccurrence >= secondMax) {
+				secondMax = dataPoint.totalOccurrence;
+				secondMaxPresent = dataPoint.value;
+			}
+		}
+		return new double[]{absoluteMaxPresent, secondMaxPresent};
+	}
+
+	private static Map<Color, DataPoint> getImageColorMap(BufferedImage bim) {
+		Map<Color, DataPoint> colorMap = new HashMap<>();
+		for (int i = 0; i < bim.getWidth(); i++) {
+			for (int j = 0; j < bim.getHeight(); j++) {
+				int rgb = bim.getRGB(i, j);
+				Color color = new Color((rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF, rgb & 0xFF);
+				DataPoint dataPoint = colorMap.get(color);
+				if (dataPoint != null) {
+					dataPoint.totalOccurrence++;
+				} else {
+					colorMap.put(color, new DataPoint(relativeLuminosity(color)));
+				}
+			}
+		}
+		return colorMap;
+	}
+
+	private static Color getTextColor(double[] colorComponentArray) {
+		if (colorComponentArray == null) {
+			return null;
+		}
+		return new Color(convertDoubleColorValueToRgbInteger(colorComponentArray[0]),
+		                 convertDoubleColorValueToRgbInteger(colorComponentArray[1]),
+		                 convertDoubleColorValueToRgbInteger(colorComponentArray[2]));
+	}
+
+	private static int convertDoubleColorValueToRgbInteger(double value) {
+		return Math.max(0, Math.min(255, (int) Math.floor(value * 256)));
+	}
+
+	private static double relativeLuminosity(Color color) {
+		return 0.2126 * normalizeColorComponent(color.getRed()) + 0.7152 * normalizeColorComponent(color.getGreen()) +
+		       0.0722 * normalizeColorComponent(color.getBlue());
+	}
+
+	private static double normalizeColorComponent(int colorComponent) {
+		double doubleColorComponent = colorComponent / 255.;
+		return doubleColorComponent < 0.03928 ? doubleColorComponent / 12.92 :
+		       Math.pow(((doubleColorComponent + 0.055) / 1.055), 2.4);
+	}
+
+	private static class DataPoint implements Comparable<DataPoint> {
+
+		private final double value;
+		private int totalOccurrence = 1;
+
+		private DataPoint(double value) {
+			this.value = value;
+		}
+
+		@Override
+		public int compareTo(DataPoint o) {
+			return Double.compare(this.value, o.value);
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package org.verapdf.wcag.algorithms.semanticalgorithms;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.ColorHistogram;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.ColorIntegralImage;
+
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class ColorIntegralImageTests {
+
+	@Test
+	public void testRegionsColors() {
+		Random random = new Random(0);
+		int[] colors = {0x000000, 0xFFFFFF, 0x767676};
+		BufferedImage image = new BufferedImage(30, 20, BufferedImage.TYPE_INT_RGB);
+		for (int x = 0; x < 30; x++) {
+			for (int y = 0; y < 20; y++) {
+				image.setRGB(x, y, colors[random.nextInt(colors.length)]);
+			}
+		}
+		ColorIntegralImage integralImage = new ColorIntegralImage();
+		Assertions.assertTrue(integralImage.compute(image));
+		ColorHistogram histogram = new ColorHistogram();
+		ColorHistogram integralHistogram = new ColorHistogram();
+		int filledRegionsNumber = 0;
+		for (int i = 0; i < 100; i++) {
+			int x = random.nextInt(30);
+			int y = random.nextInt(20);
+			int width = random.nextInt(30 - x) + 1;
+			int height = random.nextInt(20 - y) + 1;
+			histogram.compute(image, x, y, width, height);
+			if (integralImage.fill(integralHistogram, x, y, width, height)) {
+				Assertions.assertEquals(getCounts(histogram), getCounts(integralHistogram));
+				filledRegionsNumber++;
+			}
+		}
+		Assertions.assertTrue(filledRegionsNumber > 0);
+	}
+
+	@Test
+	public void testSubregionTables() {
+		Random random = new Random(1);
+		int[] colors = {0x000000, 0xFFFFFF, 0x767676, 0x1F4E79};
+		BufferedImage image = new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB);
+		for (int x = 0; x < 40; x++) {
+			for (int y = 0; y < 30; y++) {
+				image.setRGB(x, y, colors[y < 15 ? random.nextInt(2) : random.nextInt(colors.length)]);
+			}
+		}
+		image.setRGB(0, 0, 0xFF0000);
+		ColorIntegralImage integralImage = new ColorIntegralImage();
+		Assertions.assertFalse(integralImage.compute(image));
+		Assertions.assertTrue(integralImage.compute(image, 5, 3, 30, 25));
+		Assertions.assertTrue(integralImage.contains(image, 5, 3, 30, 25));
+		Assertions.assertFalse(integralImage.contains(image, 4, 3, 30, 25));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> integralImage.fill(new ColorHistogram(), 4, 3, 2, 2));
+		ColorHistogram histogram = new ColorHistogram();
+		ColorHistogram integralHistogram = new ColorHistogram();
+		int filledRegionsNumber = 0;
+		for (int i = 0; i < 200; i++) {
+			int x = 5 + random.nextInt(30);
+			int y = 3 + random.nextInt(25);
+			int width = random.nextInt(35 - x) + 1;
+			int height = random.nextInt(28 - y) + 1;
+			histogram.compute(image, x, y, width, height);
+			if (integralImage.fill(integralHistogram, x, y, width, height)) {
+				Assertions.assertEquals(getCounts(histogram), getCounts(integralHistogram));
+				filledRegionsNumber++;
+			}
+		}
+		Assertions.assertTrue(filledRegionsNumber > 0);
+	}
+
+	@Test
+	public void testTooManyColors() {
+		BufferedImage image = new BufferedImage(ColorIntegralImage.MAX_COLORS_NUMBER + 1, 1,
+		                                        BufferedImage.TYPE_INT_RGB);
+		for (int x = 0; x < image.getWidth(); x++) {
+			image.setRGB(x, 0, x);
+		}
+		ColorIntegralImage integralImage = new ColorIntegralImage();
+		Assertions.assertFalse(integralImage.compute(image));
+		Assertions.assertFalse(integralImage.isComputedFor(image));
+	}
+
+	private static Map<Integer, Integer> getCounts(ColorHistogram histogram) {
+		Map<Integer, Integer> counts = new HashMap<>();
+		for (int i = 0; i < histogram.size(); i++) {
+			counts.put(histogram.getColor(i), histogram.getCount(i));
+		}
+		return counts;
+	}
+}
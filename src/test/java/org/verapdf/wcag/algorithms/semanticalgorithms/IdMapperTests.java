@@ -0,0 +1,88 @@
+package org.verapdf.wcag.algorithms.semanticalgorithms;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.IdMapper;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class IdMapperTests {
+
+	private static final long SEED = 20211018L;
+
+	@Test
+	void testRandomPutsAgainstReference() {
+		Random random = new Random(SEED);
+		for (int sequence = 0; sequence < 200; sequence++) {
+			int idsNumber = 2 + random.nextInt(sequence < 100 ? 10 : 300);
+			IdMapper mapper = new IdMapper();
+			ReferenceIdMapper reference = new ReferenceIdMapper();
+			int putsNumber = random.nextInt(4 * idsNumber);
+			for (int put = 0; put < putsNumber; put++) {
+				Long key = (long) random.nextInt(idsNumber);
+				Long value = (long) random.nextInt(idsNumber);
+				mapper.put(key, value);
+				reference.put(key, value);
+			}
+			for (long id = -1; id <= idsNumber; id++) {
+				Assertions.assertEquals(reference.get(id), mapper.get(id), "sequence " + sequence + ", id " + id);
+			}
+		}
+	}
+
+	@Test
+	void testChains() {
+		IdMapper mapper = new IdMapper();
+		mapper.put(1L, 2L);
+		mapper.put(2L, 3L);
+		mapper.put(3L, 4L);
+		Assertions.assertEquals(Long.valueOf(4L), mapper.get(1L));
+		Assertions.assertEquals(Long.valueOf(4L), mapper.get(2L));
+		Assertions.assertEquals(Long.valueOf(4L), mapper.get(3L));
+		Assertions.assertNull(mapper.get(4L));
+
+		mapper.put(2L, 5L);
+		Assertions.assertEquals(Long.valueOf(4L), mapper.get(1L));
+		Assertions.assertEquals(Long.valueOf(5L), mapper.get(2L));
+
+		mapper.put(null, 1L);
+		mapper.put(1L, null);
+		Assertions.assertNull(mapper.get(null));
+		Assertions.assertEquals(Long.valueOf(4L), mapper.get(1L));
+	}
+
+	@Test
+	void testLargeIds() {
+		IdMapper mapper = new IdMapper();
+		for (long id = 0; id < 10000; id++) {
+			mapper.put(Long.MAX_VALUE - id, id % 7);
+		}
+		for (long id = 0; id < 10000; id++) {
+			Assertions.assertEquals(Long.valueOf(id % 7), mapper.get(Long.MAX_VALUE - id));
+		}
+	}
+
+	/**
+	 * IdMapper as it was implemented before the disjoint-set forest.
+	 */
+	private static class ReferenceIdMapper {
+
+		private final Map<Long, Long> map = new HashMap<>();
+
+		public void put(Long key, Long value) {
+			Long newValue = map.getOrDefault(value, value);
+			map.put(key, newValue);
+			for (Map.Entry<Long, Long> entry : map.entrySet()) {
+				if (entry.getValue().equals(key)) {
+					map.put(entry.getKey(), newValue);
+				}
+			}
+		}
+
+		public Long get(Long key) {
+			return map.get(key);
+		}
+	}
+}
@@ -0,0 +1,174 @@
+package org.verapdf.wcag.algorithms.semanticalgorithms;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.verapdf.wcag.algorithms.entities.Document;
+import org.verapdf.wcag.algorithms.entities.Page;
+import org.verapdf.wcag.algorithms.entities.SemanticNode;
+import org.verapdf.wcag.algorithms.entities.SemanticTree;
+import org.verapdf.wcag.algorithms.entities.content.LineChunk;
+import org.verapdf.wcag.algorithms.entities.geometry.Vertex;
+import org.verapdf.wcag.algorithms.entities.tables.TableBorderBuilder;
+import org.verapdf.wcag.algorithms.semanticalgorithms.consumers.LinesPreprocessingConsumer;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ValidationContext;
+
+import java.util.*;
+
+public class LinesPreprocessingTests {
+
+    private static final long SEED = 20211018L;
+    private static final int DOCUMENTS_NUMBER = 300;
+    private static final double[] LINE_WIDTHS = {0.5, 1.0, 2.0, 4.0};
+
+    @Test
+    void testRandomTableBordersAgainstReference() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < DOCUMENTS_NUMBER; i++) {
+            Document document = generateDocument(random);
+            List<TableBorderBuilder> expected = findReferenceTableBorders(new ValidationContext(document));
+            List<TableBorderBuilder> actual = new LinesPreprocessingConsumer(new ValidationContext(document))
+                    .getTableBorders().get(0);
+            Assertions.assertEquals(describe(expected), describe(actual), "document " + i);
+        }
+    }
+
+    private static Document generateDocument(Random random) {
+        Page page = new Page(0, null);
+        int tablesNumber = 1 + random.nextInt(4);
+        for (int table = 0; table < tablesNumber; table++) {
+            double left = random.nextInt(400);
+            double bottom = random.nextInt(600);
+            int rows = 1 + random.nextInt(5);
+            int columns = 1 + random.nextInt(5);
+            double[] xs = new double[columns + 1];
+            double[] ys = new double[rows + 1];
+            xs[0] = left;
+            for (int i = 1; i <= columns; i++) {
+                xs[i] = xs[i - 1] + 5 + random.nextInt(40);
+            }
+            ys[0] = bottom;
+            for (int i = 1; i <= rows; i++) {
+                ys[i] = ys[i - 1] + 5 + random.nextInt(20);
+            }
+            double width = LINE_WIDTHS[random.nextInt(LINE_WIDTHS.length)];
+            for (double y : ys) {
+                addLine(page, random, xs[0] - jitter(random), y, xs[columns] + jitter(random), y, width);
+            }
+            for (double x : xs) {
+                addLine(page, random, x, ys[0] - jitter(random), x, ys[rows] + jitter(random), width);
+            }
+        }
+        int straysNumber = random.nextInt(10);
+        for (int i = 0; i < straysNumber; i++) {
+            double x = random.nextInt(500);
+            double y = random.nextInt(700);
+            double length = 2 + random.nextInt(60);
+            double width = LINE_WIDTHS[random.nextInt(LINE_WIDTHS.length)];
+            if (random.nextBoolean()) {
+                addLine(page, random, x, y, x + length, y, width);
+            } else {
+                addLine(page, random, x, y, x, y + length, width);
+            }
+        }
+        Document document = new Document(new SemanticTree(new SemanticNode()));
+        document.getPages().add(page);
+        return document;
+    }
+
+    private static double jitter(Random random) {
+        return random.nextInt(5) - 2.5;
+    }
+
+    private static void addLine(Page page, Random random, double startX, double startY, double endX, double endY,
+                                double width) {
+        if (random.nextInt(6) == 0) {
+            double gap = random.nextInt(3) * width;
+            double middleX = 0.5 * (startX + endX);
+            double middleY = 0.5 * (startY + endY);
+            double dx = startX == endX ? 0 : gap;
+            double dy = startX == endX ? gap : 0;
+            page.getArtifacts().add(new LineChunk(0, startX, startY, middleX, middleY, width));
+            page.getArtifacts().add(new LineChunk(0, middleX + dx, middleY + dy, endX, endY, width));
+        } else {
+            page.getArtifacts().add(new LineChunk(0, startX, startY, endX, endY, width));
+        }
+    }
+
+    private static String describe(List<TableBorderBuilder> borders) {
+        List<String> descriptions = new ArrayList<>();
+        for (TableBorderBuilder border : borders) {
+            List<String> vertexes = new ArrayList<>();
+            for (Vertex vertex : border.getVertexes()) {
+                vertexes.add(vertex.getX() + ":" + vertex.getY() + ":" + vertex.getRadius());
+            }
+            Collections.sort(vertexes);
+            descriptions.add(border.getBoundingBox() + " " + border.getHorizontalLinesNumber() + " " +
+                    border.getVerticalLinesNumber() + " " + vertexes);
+        }
+        Collections.sort(descriptions);
+        return String.join("\n", descriptions);
+    }
+
+    /**
+     * Table borders detection as it was implemented before the sweep line and union-find rewrite:
+     * every line is compared against the perpendicular lines of every builder, then builders are merged pairwise.
+     */
+    private static List<TableBorderBuilder> findReferenceTableBorders(ValidationContext context) {
+        List<TableBorderBuilder> tableBorders = new ArrayList<>();
+        Set<LineChunk> set = new HashSet<>(context.getLinesCollection().getHorizontalLines(0));
+        set.addAll(context.getLinesCollection().getVerticalLines(0));
+        set.addAll(context.getLinesCollection().getSquares(0));
+        for (LineChunk line : set) {
+            if (line.getWidth() > 5.0) {
+                continue;
+            }
+            boolean separateTableBorder = true;
+            for (TableBorderBuilder border : tableBorders) {
+                boolean isCross = false;
+                if (line.isHorizontalLine()) {
+                    for (LineChunk verticalLine : border.getVerticalLines()) {
+                        Vertex vv = LineChunk.getIntersectionVertex(line, verticalLine);
+                        if (vv != null) {
+                            border.addVertex(vv);
+                            isCross = true;
+                        }
+                    }
+                } else if (line.isVerticalLine()) {
+                    for (LineChunk horizontalLine : border.getHorizontalLines()) {
+                        Vertex vv = LineChunk.getIntersectionVertex(horizontalLine, line);
+                        if (vv != null) {
+                            border.addVertex(vv);
+                            isCross = true;
+                        }
+                    }
+                }
+                if (isCross) {
+                    border.addLine(line);
+                    separateTableBorder = false;
+                    break;
+                }
+            }
+            if (separateTableBorder) {
+                tableBorders.add(new TableBorderBuilder(line));
+            }
+        }
+        for (int i = tableBorders.size() - 2; i >= 0; i--) {
+            TableBorderBuilder border = tableBorders.get(i);
+            List<Integer> indexes = new LinkedList<>();
+            for (int j = tableBorders.size() - 1; j > i; j--) {
+                if (border.isConnectedBorder(tableBorders.get(j))) {
+                    indexes.add(j);
+                }
+            }
+            for (Integer index : indexes) {
+                border.mergeBorder(tableBorders.get(index));
+                tableBorders.remove((int) index);
+            }
+        }
+        tableBorders.removeIf(border -> border.getVertexesNumber() <= 2 || border.getHorizontalLinesNumber() == 0 ||
+                border.getVerticalLinesNumber() == 0);
+        tableBorders.removeIf(border -> (border.getHorizontalLinesNumber() <= 2 && border.getVerticalLinesNumber() <= 1) ||
+                (border.getHorizontalLinesNumber() <= 1 && border.getVerticalLinesNumber() <= 2));
+        return tableBorders;
+    }
+}
@@ -0,0 +1,60 @@
+package org.verapdf.wcag.algorithms.semanticalgorithms;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.RenderedPage;
+import org.verapdf.wcag.algorithms.semanticalgorithms.utils.RenderedPagesCache;
+
+import java.awt.image.BufferedImage;
+
+public class RenderedPagesCacheTests {
+
+	@Test
+	public void testLeastRecentlyUsedEviction() {
+		RenderedPage page = createPage(BufferedImage.TYPE_INT_RGB, 144);
+		long pageSize = RenderedPagesCache.getSize(page.getImage());
+		Assertions.assertEquals(400, pageSize);
+
+		RenderedPagesCache cache = new RenderedPagesCache(2 * pageSize);
+		cache.put(0, page);
+		cache.put(1, createPage(BufferedImage.TYPE_INT_RGB, 144));
+		Assertions.assertSame(page, cache.get(0));
+		cache.put(2, createPage(BufferedImage.TYPE_INT_RGB, 144));
+
+		Assertions.assertTrue(cache.contains(0));
+		Assertions.assertFalse(cache.contains(1));
+		Assertions.assertTrue(cache.contains(2));
+		Assertions.assertNull(cache.get(1));
+		Assertions.assertEquals(2 * pageSize, cache.getSize());
+		Assertions.assertEquals(1, cache.getHitsNumber());
+		Assertions.assertEquals(1, cache.getMissesNumber());
+		Assertions.assertEquals(1, cache.getEvictionsNumber());
+	}
+
+	@Test
+	public void testPageExceedingBudget() {
+		RenderedPagesCache cache = new RenderedPagesCache(100);
+		cache.put(0, createPage(BufferedImage.TYPE_INT_RGB, 144));
+		cache.put(1, createPage(BufferedImage.TYPE_3BYTE_BGR, 144));
+
+		Assertions.assertEquals(1, cache.getPagesNumber());
+		Assertions.assertTrue(cache.contains(1));
+		Assertions.assertEquals(300, cache.getSize());
+	}
+
+	@Test
+	public void testResolutionEvictedWithPage() {
+		RenderedPagesCache cache = new RenderedPagesCache(400);
+		cache.put(0, createPage(BufferedImage.TYPE_INT_RGB, 72));
+		Assertions.assertEquals(72, cache.get(0).getDpi());
+		cache.put(1, createPage(BufferedImage.TYPE_INT_RGB, 144));
+		Assertions.assertNull(cache.get(0));
+		cache.put(0, createPage(BufferedImage.TYPE_INT_RGB, 96));
+		Assertions.assertEquals(96, cache.get(0).getDpi());
+		Assertions.assertEquals(400, cache.getSize());
+	}
+
+	private static RenderedPage createPage(int imageType, int dpi) {
+		return new RenderedPage(new BufferedImage(10, 10, imageType), dpi);
+	}
+}
@@ -9,15 +9,19 @@ import org.verapdf.wcag.algorithms.entities.INode;
 import org.verapdf.wcag.algorithms.entities.ITree;
 import org.verapdf.wcag.algorithms.entities.JsonToPdfTree;
 import org.verapdf.wcag.algorithms.entities.tables.tableBorders.TableBorder;
+import org.verapdf.wcag.algorithms.entities.tables.tableBorders.TableBorderCell;
 import org.verapdf.wcag.algorithms.entities.tables.TableBorderBuilder;
 import org.verapdf.wcag.algorithms.entities.tables.TableBordersCollection;
 import org.verapdf.wcag.algorithms.semanticalgorithms.consumers.*;
 import org.verapdf.wcag.algorithms.semanticalgorithms.containers.StaticContainers;
+import org.verapdf.wcag.algorithms.semanticalgorithms.containers.ValidationContext;
 import org.verapdf.wcag.algorithms.semanticalgorithms.utils.TableUtils;
 
 import java.io.IOException;
 import java.util.List;
 import java.util.SortedSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -112,6 +116,89 @@ public class TableBordersTests {
         }
     }
 
+    @ParameterizedTest(name = "{index}: ({0}) => {0}")
+    @MethodSource("tableBorderDetectionTestParams")
+    void testParallelTableBorderDetection(String filename, int[][] list, int[][] listN, int[][] listM,
+                                          boolean semanticIsValid, boolean initialSemanticIsValid) throws IOException {
+        StaticContainers.updateContainers(JsonToPdfTree.getDocument("/files/tables/" + filename + ".json"));
+        List<List<TableBorderBuilder>> sequentialBorders = new LinesPreprocessingConsumer().getTableBorders();
+
+        StaticContainers.updateContainers(JsonToPdfTree.getDocument("/files/tables/" + filename + ".json"));
+        LinesPreprocessingConsumer linesPreprocessingConsumer = new LinesPreprocessingConsumer();
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            linesPreprocessingConsumer.findTableBorders(executorService);
+        } finally {
+            executorService.shutdown();
+        }
+        List<List<TableBorderBuilder>> parallelBorders = linesPreprocessingConsumer.getTableBorders();
+
+        Assertions.assertEquals(sequentialBorders.size(), parallelBorders.size());
+        for (int pageNumber = 0; pageNumber < sequentialBorders.size(); pageNumber++) {
+            List<TableBorderBuilder> expected = sequentialBorders.get(pageNumber);
+            List<TableBorderBuilder> actual = parallelBorders.get(pageNumber);
+            Assertions.assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                Assertions.assertEquals(expected.get(i).getBoundingBox().toString(), actual.get(i).getBoundingBox().toString());
+                Assertions.assertEquals(expected.get(i).getHorizontalLinesNumber(), actual.get(i).getHorizontalLinesNumber());
+                Assertions.assertEquals(expected.get(i).getVerticalLinesNumber(), actual.get(i).getVerticalLinesNumber());
+                Assertions.assertEquals(expected.get(i).getVertexesNumber(), actual.get(i).getVertexesNumber());
+            }
+        }
+    }
+
+    static Stream<Arguments> parallelTableBordersCollectionTestParams() {
+        return Stream.of(
+                Arguments.of("TLC2-Tables"),
+                Arguments.of("PDFUA-Ref-2-05_BookChapter-german")
+        );
+    }
+
+    @ParameterizedTest(name = "{index}: ({0}) => {0}")
+    @MethodSource("parallelTableBordersCollectionTestParams")
+    void testParallelTableBordersCollection(String filename) throws IOException {
+        ValidationContext sequentialContext = new ValidationContext(
+                JsonToPdfTree.getDocument("/files/tables/" + filename + ".json"));
+        LinesPreprocessingConsumer sequentialConsumer = new LinesPreprocessingConsumer(sequentialContext);
+        sequentialConsumer.findTableBorders();
+        TableBordersCollection sequentialCollection = new TableBordersCollection(
+                sequentialConsumer.getTableBorders(), sequentialContext);
+
+        ValidationContext parallelContext = new ValidationContext(
+                JsonToPdfTree.getDocument("/files/tables/" + filename + ".json"));
+        LinesPreprocessingConsumer parallelConsumer = new LinesPreprocessingConsumer(parallelContext);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            parallelConsumer.findTableBorders(executorService);
+        } finally {
+            executorService.shutdown();
+        }
+        TableBordersCollection parallelCollection = new TableBordersCollection(
+                parallelConsumer.getTableBorders(), parallelContext);
+
+        Assertions.assertTrue(sequentialCollection.getTableBorders().size() > 1);
+        Assertions.assertEquals(describe(sequentialCollection), describe(parallelCollection));
+    }
+
+    private static String describe(TableBordersCollection collection) {
+        StringBuilder result = new StringBuilder();
+        for (SortedSet<TableBorder> borders : collection.getTableBorders()) {
+            for (TableBorder border : borders) {
+                result.append(border.getRecognizedStructureId()).append(' ').append(border.getBoundingBox())
+                      .append(' ').append(border.getNumberOfRows()).append('x').append(border.getNumberOfColumns());
+                for (int rowNumber = 0; rowNumber < border.getNumberOfRows(); rowNumber++) {
+                    for (TableBorderCell cell : border.getRow(rowNumber).getCells()) {
+                        result.append(' ').append(cell.getRowNumber()).append(',').append(cell.getColNumber())
+                              .append(',').append(cell.getRowSpan()).append(',').append(cell.getColSpan());
+                    }
+                }
+                result.append('\n');
+            }
+            result.append("--\n");
+        }
+        return result.toString();
+    }
+
     private void testTableTreeStructure(ITree tree) {
         for (INode node : tree) {
             if (TableUtils.isTableNode(node)) {